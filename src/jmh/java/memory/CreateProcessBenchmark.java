@@ -0,0 +1,57 @@
+package memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de criar (e encerrar) um processo com paginação antecipada, variando memória, página e processo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateProcessBenchmark {
+    @Param({"1048576", "67108864"})
+    public int physicalMemorySize;
+
+    @Param({"256", "4096"})
+    public int pageSize;
+
+    @Param({"4096", "1048576"})
+    public int processSize;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public PhysicalMemoryBackend backend;
+
+    private MemoryManager manager;
+    private int nextPid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = MemoryManager.builder(physicalMemorySize, pageSize, processSize)
+                .physicalMemoryBackend(backend)
+                .build();
+    }
+
+    @Benchmark
+    public Process createAndDestroy() {
+        int pid = nextPid++;
+        Process process = manager.createProcess(pid, processSize);
+        manager.destroyProcess(pid);
+        return process;
+    }
+}
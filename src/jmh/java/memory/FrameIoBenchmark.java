@@ -0,0 +1,70 @@
+package memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leitura e escrita de quadros inteiros, com e sem alocação, em cada armazenamento de memória física.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameIoBenchmark {
+    private static final long MEMORY_SIZE = 1L << 24;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public PhysicalMemoryBackend backend;
+
+    @Param({"256", "4096"})
+    public int frameSize;
+
+    private PhysicalMemory memory;
+    private byte[] page;
+    private byte[] buffer;
+    private int frameCount;
+    private int nextFrame;
+
+    @Setup
+    public void setUp() {
+        memory = PhysicalMemory.create(backend, MEMORY_SIZE, frameSize);
+        frameCount = memory.getNumberOfFrames();
+        page = new byte[frameSize];
+        buffer = new byte[frameSize];
+    }
+
+    @Benchmark
+    public byte[] readFrame() {
+        return memory.readFrame(nextFrame());
+    }
+
+    @Benchmark
+    public byte[] readInto() {
+        memory.readInto(nextFrame(), buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public void writeFrame() {
+        memory.writeFrame(nextFrame(), page);
+    }
+
+    private int nextFrame() {
+        int frame = nextFrame;
+        nextFrame = frame + 1 == frameCount ? 0 : frame + 1;
+        return frame;
+    }
+}
@@ -0,0 +1,39 @@
+package memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de construir e povoar a memória lógica de um processo com cada estratégia de conteúdo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogicalMemoryBenchmark {
+    @Param({"4096", "1048576", "16777216"})
+    public int processSize;
+
+    @Param({"4096"})
+    public int pageSize;
+
+    @Param({"RANDOM", "ZERO_FILL", "SEEDED"})
+    public PageContent.Strategy strategy;
+
+    @Benchmark
+    public LogicalMemory fill() {
+        return new LogicalMemory(processSize, pageSize, new PageContent(strategy, 42));
+    }
+}
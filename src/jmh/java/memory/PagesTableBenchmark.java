@@ -0,0 +1,62 @@
+package memory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consultas {@link PagesTable#getPageFrame(int)} em ordem aleatória nas tabelas linear e esparsa.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagesTableBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"dense", "sparse"})
+    public String layout;
+
+    @Param({"1024", "1048576"})
+    public int pageCount;
+
+    private PagesTable table;
+    private int[] pages;
+
+    @Setup
+    public void setUp() {
+        table = "dense".equals(layout) ? PagesTable.dense(pageCount) : PagesTable.sparse(pageCount);
+        for (int page = 0; page < pageCount; page++) {
+            table.mapPageToFrame(page, page);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        pages = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            pages[i] = random.nextInt(pageCount);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long getPageFrame() {
+        long sum = 0;
+        for (int page : pages) {
+            sum += table.getPageFrame(page);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package memory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leituras por endereço virtual, com acessos concentrados (acertos na TLB) ou espalhados (faltas),
+ * com e sem métricas ativadas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationBenchmark {
+    private static final int ACCESSES = 1024;
+    private static final int PAGE_SIZE = 4096;
+    private static final int PROCESS_SIZE = 1 << 24;
+
+    @Param({"8", "4096"})
+    public int distinctPages;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private MemoryManager manager;
+    private int[] addresses;
+
+    @Setup
+    public void setUp() {
+        MemoryManager.Builder builder = MemoryManager.builder(1 << 25, PAGE_SIZE, PROCESS_SIZE);
+        if (metrics) {
+            builder.metrics();
+        }
+        manager = builder.build();
+        manager.createProcess(1, PROCESS_SIZE);
+        SplittableRandom random = new SplittableRandom(42);
+        addresses = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++) {
+            addresses[i] = random.nextInt(distinctPages) * PAGE_SIZE + random.nextInt(PAGE_SIZE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCESSES)
+    public long read() {
+        long sum = 0;
+        for (int address : addresses) {
+            sum += manager.read(1, address);
+        }
+        return sum;
+    }
+}
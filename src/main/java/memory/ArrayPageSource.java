@@ -0,0 +1,80 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Mantém o processo inteiro em um vetor preenchido na criação. Acima de {@link #PARALLEL_FILL_THRESHOLD}
+ * bytes o preenchimento é dividido em blocos gerados em paralelo; cada bloco tem semente derivada do seu
+ * índice, então o resultado não depende da quantidade de threads.
+ */
+final class ArrayPageSource implements PageSource {
+    static final int PARALLEL_FILL_THRESHOLD = 4 * 1024 * 1024;
+    private static final int FILL_CHUNK_SIZE = 1024 * 1024;
+
+    private final byte[] data;
+    private final int pageSize;
+
+    ArrayPageSource(int size, int pageSize, long seed) {
+        this(size, pageSize);
+
+        int chunks = (size + FILL_CHUNK_SIZE - 1) / FILL_CHUNK_SIZE;
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (size >= PARALLEL_FILL_THRESHOLD) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        chunkIndexes.forEach(chunk -> {
+            int start = chunk * FILL_CHUNK_SIZE;
+            int length = Math.min(FILL_CHUNK_SIZE, size - start);
+            fillRandom(LogicalMemory.derivedSeed(seed, chunk), ByteBuffer.wrap(data, start, length), length);
+        });
+    }
+
+    /**
+     * Cria o vetor zerado, para ser preenchido página a página.
+     */
+    ArrayPageSource(int size, int pageSize) {
+        this.data = new byte[size];
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Escreve {@code length} bytes pseudoaleatórios em {@code target}, oito de cada vez.
+     */
+    static void fillRandom(long seed, ByteBuffer target, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int words = length >>> 3;
+        for (int i = 0; i < words; i++) {
+            target.putLong(random.nextLong());
+        }
+        int remaining = length & 7;
+        if (remaining > 0) {
+            long last = random.nextLong();
+            for (int i = 0; i < remaining; i++) {
+                target.put((byte) (last >>> (i * 8)));
+            }
+        }
+    }
+
+    @Override
+    public boolean read(int pageNumber, ByteBuffer target, int length) {
+        target.put(data, pageNumber * pageSize, length);
+        return true;
+    }
+
+    @Override
+    public void write(int pageNumber, byte[] source, int offset, int length) {
+        System.arraycopy(source, offset, data, pageNumber * pageSize, length);
+    }
+
+    @Override
+    public boolean isStored(int pageNumber) {
+        return true;
+    }
+
+    @Override
+    public long getBackingBytes() {
+        return data.length;
+    }
+}
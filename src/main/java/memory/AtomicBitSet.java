@@ -0,0 +1,70 @@
+package memory;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto de bits de tamanho fixo que aceita escritas concorrentes sem trava, usado para marcar quadros.
+ * Ligar um bit que já está ligado custa apenas uma leitura.
+ */
+final class AtomicBitSet {
+    private final AtomicLongArray words;
+
+    AtomicBitSet(int size) {
+        this.words = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    void set(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((words.get(word) & bit) == 0) {
+            words.getAndAccumulate(word, bit, (current, mask) -> current | mask);
+        }
+    }
+
+    void clear(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((words.get(word) & bit) != 0) {
+            words.getAndAccumulate(word, ~bit, (current, mask) -> current & mask);
+        }
+    }
+
+    /**
+     * Desliga o bit e informa se ele estava ligado.
+     */
+    boolean getAndClear(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((words.get(word) & bit) == 0) {
+            return false;
+        }
+        return (words.getAndAccumulate(word, ~bit, (current, mask) -> current & mask) & bit) != 0;
+    }
+
+    boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Retorna uma cópia dos bits ligados, sem alterá-los.
+     */
+    BitSet copy() {
+        long[] snapshot = new long[words.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = words.get(i);
+        }
+        return BitSet.valueOf(snapshot);
+    }
+
+    /**
+     * Retorna os bits ligados e desliga todos.
+     */
+    BitSet drain() {
+        long[] snapshot = new long[words.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = words.getAndSet(i, 0L);
+        }
+        return BitSet.valueOf(snapshot);
+    }
+}
@@ -0,0 +1,31 @@
+package memory;
+
+/**
+ * Ocupação de um banco de memória física.
+ *
+ * @param bank             índice do banco
+ * @param firstFrame       primeiro quadro do banco
+ * @param frameCount       quadros do banco
+ * @param freeFrames       quadros livres no momento
+ * @param largestFreeRange maior intervalo contíguo de quadros livres do banco
+ * @param allocations      quadros alocados no banco desde a criação do gerenciador
+ * @param stolen           alocações atendidas pelo banco porque o banco pedido estava cheio
+ */
+public record BankStatistics(int bank, int firstFrame, int frameCount, int freeFrames, int largestFreeRange,
+                             long allocations, long stolen) {
+
+    /**
+     * @return fração dos quadros do banco em uso, entre 0 e 1
+     */
+    public double utilization() {
+        return frameCount == 0 ? 0.0 : (double) (frameCount - freeFrames) / frameCount;
+    }
+
+    /**
+     * @return índice de fragmentação do banco: 0 quando seus quadros livres formam um único intervalo
+     * @see MemoryManager#getFragmentationIndex()
+     */
+    public double fragmentationIndex() {
+        return freeFrames == 0 ? 0.0 : 1.0 - (double) largestFreeRange / freeFrames;
+    }
+}
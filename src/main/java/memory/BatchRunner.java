@@ -0,0 +1,283 @@
+package memory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Executa comandos do simulador lidos de um arquivo ou da entrada padrão, um por linha, e escreve um
+ * registro por resultado no formato escolhido. Linhas vazias e iniciadas por {@code #} são ignoradas.
+ *
+ * <pre>
+ * create PID TAMANHO [random|zero|seeded:SEMENTE]
+ * map PID ARQUIVO
+ * destroy PID
+ * fork PID_PAI PID_FILHO
+ * grow PID PAGINAS
+ * shrink PID PAGINAS
+ * compact [QUADROS_POR_PASSO]
+ * read PID ENDERECO
+ * write PID ENDERECO VALOR
+ * translate PID ENDERECO
+ * table PID
+ * dump [PRIMEIRO_QUADRO [QUANTIDADE]]
+ * stats
+ * </pre>
+ *
+ * <p>Cada comando produz um registro {@code result} com a linha de origem, o comando, {@code ok} ou
+ * {@code error}, o valor obtido e a mensagem de erro. {@code table}, {@code dump} e {@code stats} produzem
+ * antes registros {@code page}, {@code frame} e {@code stat}. Um comando com erro não interrompe o lote.
+ */
+public class BatchRunner {
+    private static final int DEFAULT_COMPACTION_STEP = 32;
+
+    private final MemoryManager manager;
+    private final OutputFormat format;
+    private final MemoryDumper dumper;
+    private final MemoryCompactor compactor;
+
+    public BatchRunner(MemoryManager manager, OutputFormat format) {
+        if (manager == null || format == null) {
+            throw new IllegalArgumentException("Memory manager and output format cannot be null");
+        }
+        this.manager = manager;
+        this.format = format;
+        this.dumper = new MemoryDumper(manager);
+        this.compactor = new MemoryCompactor(manager);
+    }
+
+    /**
+     * Executa todos os comandos de {@code input}.
+     *
+     * @return quantidade de comandos que terminaram com erro
+     */
+    public int run(Reader input, Writer output) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+        int failures = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = trimmed.split("\\s+");
+            String command = tokens[0].toLowerCase(Locale.ROOT);
+            try {
+                String value = execute(command, tokens, output);
+                writeResult(output, lineNumber, command, true, value, "");
+            } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException ex) {
+                failures++;
+                writeResult(output, lineNumber, command, false, "",
+                        Objects.toString(ex.getMessage(), ex.getClass().getSimpleName()));
+            }
+        }
+        output.flush();
+        return failures;
+    }
+
+    private String execute(String command, String[] tokens, Writer output) throws IOException {
+        return switch (command) {
+            case "create" -> {
+                expectArguments(tokens, 2, 3);
+                PageContent content = tokens.length == 4 ? parseContent(tokens[3]) : PageContent.random();
+                yield String.valueOf(manager.createProcess(intArg(tokens, 1), intArg(tokens, 2), content).getPageCount());
+            }
+            case "map" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.createProcess(intArg(tokens, 1), Path.of(tokens[2])).getPageCount());
+            }
+            case "destroy" -> {
+                expectArguments(tokens, 1, 1);
+                manager.destroyProcess(intArg(tokens, 1));
+                yield "";
+            }
+            case "fork" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.forkProcess(intArg(tokens, 1), intArg(tokens, 2)).getPageCount());
+            }
+            case "grow" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.growProcess(intArg(tokens, 1), intArg(tokens, 2)).getPageCount());
+            }
+            case "shrink" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.shrinkProcess(intArg(tokens, 1), intArg(tokens, 2)).getPageCount());
+            }
+            case "compact" -> {
+                expectArguments(tokens, 0, 1);
+                int migrationsPerStep = tokens.length > 1 ? intArg(tokens, 1) : DEFAULT_COMPACTION_STEP;
+                int migrated = 0;
+                CompactionReport report;
+                do {
+                    report = compactor.step(migrationsPerStep);
+                    migrated += report.framesMigrated();
+                } while (!report.complete());
+                yield String.valueOf(migrated);
+            }
+            case "read" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.read(intArg(tokens, 1), intArg(tokens, 2)) & 0xFF);
+            }
+            case "write" -> {
+                expectArguments(tokens, 3, 3);
+                manager.write(intArg(tokens, 1), intArg(tokens, 2), (byte) intArg(tokens, 3));
+                yield "";
+            }
+            case "translate" -> {
+                expectArguments(tokens, 2, 2);
+                yield String.valueOf(manager.translate(intArg(tokens, 1), intArg(tokens, 2)));
+            }
+            case "table" -> {
+                expectArguments(tokens, 1, 1);
+                yield String.valueOf(writeTable(intArg(tokens, 1), output));
+            }
+            case "dump" -> {
+                expectArguments(tokens, 0, 2);
+                int frames = manager.getPhysicalMemory().getNumberOfFrames();
+                int first = tokens.length > 1 ? intArg(tokens, 1) : 0;
+                int count = tokens.length > 2 ? intArg(tokens, 2) : frames - first;
+                dumper.dump(output, first, count, format);
+                yield String.valueOf(count);
+            }
+            case "stats" -> {
+                expectArguments(tokens, 0, 0);
+                writeStats(output);
+                yield "";
+            }
+            default -> throw new IllegalArgumentException("Unknown command: " + command);
+        };
+    }
+
+    private int writeTable(int pid, Writer output) throws IOException {
+        Process process = manager.findProcess(pid)
+                .orElseThrow(() -> new IllegalArgumentException("Process with PID " + pid + " does not exist"));
+        PagesTable table = process.getPagesTable();
+        for (int page = 0; page < table.size(); page++) {
+            int frame = table.isMapped(page) ? table.getPageFrame(page) : PagesTable.UNMAPPED;
+            switch (format) {
+                case TEXT -> output.write("Página " + page + " -> Quadro " + frame + '\n');
+                case CSV -> output.write("page," + pid + ',' + page + ',' + frame + '\n');
+                case JSON -> output.write("{\"type\":\"page\",\"pid\":" + pid + ",\"page\":" + page
+                        + ",\"frame\":" + frame + "}\n");
+            }
+        }
+        return table.size();
+    }
+
+    private void writeStats(Writer output) throws IOException {
+        writeStat(output, "processes", String.valueOf(manager.listProcesses().size()));
+        writeStat(output, "freeMemoryPercentage", String.valueOf(manager.getFreeMemoryPercentage()));
+        writeStat(output, "fragmentationIndex", String.valueOf(manager.getFragmentationIndex()));
+        writeStat(output, "pageFaults", String.valueOf(manager.getPageFaults()));
+        writeStat(output, "evictions", String.valueOf(manager.getEvictions()));
+        writeStat(output, "droppedPages", String.valueOf(manager.getDroppedPages()));
+        writeStat(output, "readaheadPages", String.valueOf(manager.getReadaheadPages()));
+        writeStat(output, "tlbHits", String.valueOf(manager.getTlbHits()));
+        writeStat(output, "tlbMisses", String.valueOf(manager.getTlbMisses()));
+        if (manager.getBankCount() > 1) {
+            for (BankStatistics bank : manager.getBankStatistics()) {
+                writeStat(output, "bank" + bank.bank() + "Utilization", String.valueOf(bank.utilization()));
+                writeStat(output, "bank" + bank.bank() + "Stolen", String.valueOf(bank.stolen()));
+            }
+        }
+        Optional<CompressedSwapTier> compressedSwap = manager.getCompressedSwap();
+        if (compressedSwap.isPresent()) {
+            CompressedSwapTier tier = compressedSwap.get();
+            writeStat(output, "compressedPages", String.valueOf(tier.getStoredPages()));
+            writeStat(output, "compressedBytes", String.valueOf(tier.getCompressedBytes()));
+            writeStat(output, "compressionRatio", String.valueOf(tier.getCompressionRatio()));
+            writeStat(output, "decompressionP99Nanos", String.valueOf(tier.getDecompressionLatency().getPercentile(0.99)));
+        }
+    }
+
+    private void writeStat(Writer output, String name, String value) throws IOException {
+        switch (format) {
+            case TEXT -> output.write(name + ": " + value + '\n');
+            case CSV -> output.write("stat," + name + ',' + value + '\n');
+            case JSON -> output.write("{\"type\":\"stat\",\"name\":\"" + name + "\",\"value\":" + value + "}\n");
+        }
+    }
+
+    private void writeResult(Writer output, int lineNumber, String command, boolean ok, String value, String message)
+            throws IOException {
+        String status = ok ? "ok" : "error";
+        switch (format) {
+            case TEXT -> output.write("linha " + lineNumber + ": " + command + ' ' + status
+                    + (value.isEmpty() ? "" : " " + value) + (message.isEmpty() ? "" : " - " + message) + '\n');
+            case CSV -> output.write("result," + lineNumber + ',' + csv(command) + ',' + status + ',' + value + ','
+                    + csv(message) + '\n');
+            case JSON -> output.write("{\"type\":\"result\",\"line\":" + lineNumber + ",\"command\":" + json(command)
+                    + ",\"status\":\"" + status + "\",\"value\":" + (value.isEmpty() ? "null" : value)
+                    + ",\"message\":" + (message.isEmpty() ? "null" : json(message)) + "}\n");
+        }
+    }
+
+    private static PageContent parseContent(String token) {
+        if (token.equals("random")) {
+            return PageContent.random();
+        }
+        if (token.equals("zero")) {
+            return PageContent.zeroFill();
+        }
+        if (token.startsWith("seeded:")) {
+            try {
+                return PageContent.seeded(Long.parseLong(token.substring("seeded:".length())));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid seed: " + token);
+            }
+        }
+        throw new IllegalArgumentException("Unknown page content: " + token);
+    }
+
+    private static void expectArguments(String[] tokens, int min, int max) {
+        int arguments = tokens.length - 1;
+        if (arguments < min || arguments > max) {
+            throw new IllegalArgumentException("Wrong number of arguments for " + tokens[0]);
+        }
+    }
+
+    private static int intArg(String[] tokens, int index) {
+        try {
+            return Integer.parseInt(tokens[index]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Not an integer: " + tokens[index]);
+        }
+    }
+
+    private static String csv(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static String json(String text) {
+        StringBuilder builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,83 @@
+package memory;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Lê traces no formato binário produzido por {@link BinaryTraceWriter}.
+ */
+public class BinaryTraceReader implements TraceReader {
+    private final DataInputStream input;
+    private TraceEventType type;
+    private int pid;
+    private int argument;
+    private byte value;
+
+    public BinaryTraceReader(InputStream input) {
+        this.input = new DataInputStream(input);
+        try {
+            byte[] header = this.input.readNBytes(BinaryTraceWriter.MAGIC.length);
+            if (!Arrays.equals(header, BinaryTraceWriter.MAGIC)) {
+                throw new IllegalArgumentException("Not a binary trace");
+            }
+            int version = this.input.readUnsignedByte();
+            if (version != BinaryTraceWriter.VERSION) {
+                throw new IllegalArgumentException("Unsupported binary trace version: " + version);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read trace header", ex);
+        }
+    }
+
+    @Override
+    public boolean next() {
+        try {
+            int code = input.read();
+            if (code < 0) {
+                return false;
+            }
+            type = TraceEventType.fromCode(code);
+            pid = input.readInt();
+            argument = type == TraceEventType.EXIT ? 0 : input.readInt();
+            value = type == TraceEventType.WRITE ? input.readByte() : 0;
+            return true;
+        } catch (EOFException ex) {
+            throw new IllegalArgumentException("Binary trace ends in the middle of an event", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read trace", ex);
+        }
+    }
+
+    @Override
+    public TraceEventType type() {
+        return type;
+    }
+
+    @Override
+    public int pid() {
+        return pid;
+    }
+
+    @Override
+    public int argument() {
+        return argument;
+    }
+
+    @Override
+    public byte value() {
+        return value;
+    }
+
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close trace", ex);
+        }
+    }
+}
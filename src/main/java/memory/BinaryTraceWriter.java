@@ -0,0 +1,76 @@
+package memory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Grava traces no formato binário compacto: cabeçalho {@code PGTR} seguido da versão e, por evento,
+ * a letra do tipo e os inteiros em big-endian (PID, argumento e, em escritas, o byte gravado).
+ */
+public class BinaryTraceWriter implements AutoCloseable {
+    static final byte[] MAGIC = {'P', 'G', 'T', 'R'};
+    static final int VERSION = 1;
+
+    private final DataOutputStream output;
+
+    public BinaryTraceWriter(Path trace) {
+        try {
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(trace), 1 << 16));
+            output.write(MAGIC);
+            output.writeByte(VERSION);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create trace " + trace, ex);
+        }
+    }
+
+    public void create(int pid, int processSize) {
+        write(TraceEventType.CREATE, pid, processSize, (byte) 0);
+    }
+
+    public void exit(int pid) {
+        write(TraceEventType.EXIT, pid, 0, (byte) 0);
+    }
+
+    public void read(int pid, int virtualAddress) {
+        write(TraceEventType.READ, pid, virtualAddress, (byte) 0);
+    }
+
+    public void write(int pid, int virtualAddress, byte value) {
+        write(TraceEventType.WRITE, pid, virtualAddress, value);
+    }
+
+    /**
+     * Copia o evento corrente de outro trace, permitindo converter traces em texto para binário.
+     */
+    public void copy(TraceReader reader) {
+        write(reader.type(), reader.pid(), reader.argument(), reader.value());
+    }
+
+    private void write(TraceEventType type, int pid, int argument, byte value) {
+        try {
+            output.writeByte(type.code());
+            output.writeInt(pid);
+            if (type != TraceEventType.EXIT) {
+                output.writeInt(argument);
+            }
+            if (type == TraceEventType.WRITE) {
+                output.writeByte(value);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write trace event", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            output.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close trace", ex);
+        }
+    }
+}
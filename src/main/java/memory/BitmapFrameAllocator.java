@@ -0,0 +1,189 @@
+package memory;
+
+import java.util.BitSet;
+
+/**
+ * Alocador de quadros baseado em mapa de bits: cada bit ligado indica um quadro em uso.
+ * A busca por quadros livres percorre palavras de 64 bits com {@link BitSet#nextClearBit(int)},
+ * partindo do ponto da última alocação para não varrer repetidamente a região já ocupada.
+ */
+public class BitmapFrameAllocator implements FrameAllocator {
+    private final BitSet used;
+    private final int frameCount;
+    private int freeCount;
+    private int searchStart;
+
+    public BitmapFrameAllocator(int frameCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        this.used = new BitSet(frameCount);
+        this.frameCount = frameCount;
+        this.freeCount = frameCount;
+    }
+
+    @Override
+    public int allocate() {
+        if (freeCount == 0) {
+            return NO_FRAME;
+        }
+        int frame = used.nextClearBit(searchStart);
+        if (frame >= frameCount) {
+            frame = used.nextClearBit(0);
+        }
+        used.set(frame);
+        freeCount--;
+        searchStart = frame + 1;
+        return frame;
+    }
+
+    @Override
+    public int allocateContiguous(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        if (count > freeCount) {
+            return NO_FRAME;
+        }
+        int start = used.nextClearBit(0);
+        while (start + count <= frameCount) {
+            int end = used.nextSetBit(start);
+            if (end < 0 || end >= start + count) {
+                used.set(start, start + count);
+                freeCount -= count;
+                return start;
+            }
+            start = used.nextClearBit(end);
+        }
+        return NO_FRAME;
+    }
+
+    /**
+     * Percorre o mapa uma única vez, marcando cada trecho livre inteiro com uma só operação.
+     */
+    @Override
+    public boolean allocateBatch(int count, int[] frames) {
+        if (count > freeCount) {
+            return false;
+        }
+        int filled = 0;
+        int start = used.nextClearBit(0);
+        while (filled < count) {
+            int end = used.nextSetBit(start);
+            if (end < 0 || end > frameCount) {
+                end = frameCount;
+            }
+            end = Math.min(end, start + count - filled);
+            for (int frame = start; frame < end; frame++) {
+                frames[filled++] = frame;
+            }
+            used.set(start, end);
+            start = used.nextClearBit(end);
+        }
+        freeCount -= count;
+        searchStart = count == 0 ? searchStart : frames[count - 1] + 1;
+        return true;
+    }
+
+    @Override
+    public int allocateAligned(int count) {
+        return allocateAligned(count, 0);
+    }
+
+    /**
+     * Como {@link #allocateAligned(int)}, considerando que o índice 0 deste mapa é o quadro {@code firstFrame}
+     * da memória, para que faixas de um alocador maior respeitem o alinhamento global.
+     */
+    int allocateAligned(int count, int firstFrame) {
+        if (count <= 0 || (count & (count - 1)) != 0) {
+            throw new IllegalArgumentException("Aligned frame count must be a power of two");
+        }
+        if (count > freeCount) {
+            return NO_FRAME;
+        }
+        int start = alignUp(used.nextClearBit(0), count, firstFrame);
+        while (start + (long) count <= frameCount) {
+            int end = used.nextSetBit(start);
+            if (end < 0 || end >= start + count) {
+                used.set(start, start + count);
+                freeCount -= count;
+                return start;
+            }
+            start = alignUp(used.nextClearBit(end), count, firstFrame);
+        }
+        return NO_FRAME;
+    }
+
+    private static int alignUp(int index, int alignment, int firstFrame) {
+        long frame = (long) firstFrame + index;
+        long aligned = (frame + alignment - 1) & -(long) alignment;
+        return (int) Math.min(aligned - firstFrame, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void reserve(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        if (used.get(frameNumber)) {
+            throw new IllegalStateException("Frame " + frameNumber + " is already in use");
+        }
+        used.set(frameNumber);
+        freeCount--;
+    }
+
+    @Override
+    public void release(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        if (!used.get(frameNumber)) {
+            throw new IllegalStateException("Frame " + frameNumber + " is already free");
+        }
+        used.clear(frameNumber);
+        freeCount++;
+        if (frameNumber < searchStart) {
+            searchStart = frameNumber;
+        }
+    }
+
+    @Override
+    public void releaseRange(int firstFrame, int count) {
+        for (int frame = firstFrame; frame < firstFrame + count; frame++) {
+            release(frame);
+        }
+    }
+
+    @Override
+    public boolean isFree(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        return !used.get(frameNumber);
+    }
+
+    @Override
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    @Override
+    public int getLargestFreeRange() {
+        int largest = 0;
+        int start = used.nextClearBit(0);
+        while (start < frameCount && frameCount - start > largest) {
+            int end = used.nextSetBit(start);
+            if (end < 0 || end > frameCount) {
+                end = frameCount;
+            }
+            largest = Math.max(largest, end - start);
+            start = used.nextClearBit(end);
+        }
+        return largest;
+    }
+
+    private void validateFrameNumber(int frameNumber) {
+        if (frameNumber < 0 || frameNumber >= frameCount) {
+            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package memory;
+
+/**
+ * Algoritmo do relógio (segunda chance): o ponteiro percorre os quadros residentes em círculo,
+ * limpando o bit de referência dos quadros acessados e despejando o primeiro que já estiver limpo.
+ */
+public class ClockReplacementPolicy implements ReplacementPolicy {
+    private boolean[] resident;
+    private boolean[] referenced;
+    private int residentCount;
+    private int hand;
+
+    @Override
+    public void initialize(int frameCount) {
+        resident = new boolean[frameCount];
+        referenced = new boolean[frameCount];
+    }
+
+    @Override
+    public void pageLoaded(int frameNumber, int pid, int pageNumber) {
+        if (!resident[frameNumber]) {
+            resident[frameNumber] = true;
+            residentCount++;
+        }
+        referenced[frameNumber] = true;
+    }
+
+    @Override
+    public void pageAccessed(int frameNumber, int pid, int pageNumber) {
+        referenced[frameNumber] = true;
+    }
+
+    @Override
+    public void frameReleased(int frameNumber) {
+        if (resident[frameNumber]) {
+            resident[frameNumber] = false;
+            residentCount--;
+        }
+        referenced[frameNumber] = false;
+    }
+
+    @Override
+    public void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        boolean wasReferenced = referenced[fromFrame];
+        frameReleased(fromFrame);
+        pageLoaded(toFrame, pid, pageNumber);
+        referenced[toFrame] = wasReferenced;
+    }
+
+    @Override
+    public int selectVictim() {
+        if (residentCount == 0) {
+            throw new IllegalStateException("No resident frame available for replacement");
+        }
+        while (true) {
+            int frame = hand;
+            hand = (hand + 1) % resident.length;
+            if (!resident[frame]) {
+                continue;
+            }
+            if (!referenced[frame]) {
+                return frame;
+            }
+            referenced[frame] = false;
+        }
+    }
+}
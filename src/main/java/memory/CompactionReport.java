@@ -0,0 +1,17 @@
+package memory;
+
+/**
+ * Resultado de uma compactação da memória física. A fragmentação é medida dentro de cada banco, onde a
+ * compactação atua, e ponderada pelos quadros livres de cada um; o índice de cada banco está em
+ * {@link BankStatistics#fragmentationIndex()}.
+ *
+ * @param framesMigrated      quadros em uso copiados para quadros livres
+ * @param steps               passos executados, cada um com a trava de escrita
+ * @param fragmentationBefore índice de fragmentação antes do primeiro passo
+ * @param fragmentationAfter  índice de fragmentação depois do último passo
+ * @param complete            {@code true} quando a passada por todos os bancos terminou
+ * @see MemoryManager#getBankFragmentationIndex()
+ */
+public record CompactionReport(int framesMigrated, int steps, double fragmentationBefore, double fragmentationAfter,
+                               boolean complete) {
+}
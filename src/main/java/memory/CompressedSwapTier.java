@@ -0,0 +1,155 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Camada de troca comprimida em memória, consultada antes da {@link SwapSpace} em arquivo. Cada página
+ * despejada é comprimida com {@link Deflater} e guardada em um vetor do tamanho exato do resultado;
+ * páginas que não diminuem ou que não cabem na capacidade restante são recusadas e seguem para o arquivo.
+ * A próxima falta de página descomprime o slot direto no quadro, sem acesso a disco.
+ */
+public class CompressedSwapTier {
+    /**
+     * Valor retornado por {@link #store(ByteBuffer)} quando a página não é aceita.
+     */
+    static final int NO_SLOT = -1;
+    private static final int INITIAL_SLOTS = 64;
+
+    private final int pageSize;
+    private final long capacity;
+    private final Deflater deflater;
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] compressionBuffer;
+    private final BitSet usedSlots = new BitSet();
+    private final LatencyHistogram decompressionLatency = new LatencyHistogram();
+    private byte[][] slots = new byte[INITIAL_SLOTS][];
+    private int storedPages;
+    private long compressedBytes;
+    private long rejectedPages;
+
+    /**
+     * @param capacity bytes comprimidos que a camada pode guardar
+     * @param level    nível do {@link Deflater}; níveis baixos comprimem mais rápido
+     */
+    CompressedSwapTier(int pageSize, long capacity, int level) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Swap page size must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Compressed swap capacity must be positive");
+        }
+        this.pageSize = pageSize;
+        this.capacity = capacity;
+        this.deflater = new Deflater(level, true);
+        this.compressionBuffer = new byte[pageSize];
+    }
+
+    /**
+     * Comprime os bytes restantes do buffer, no máximo uma página.
+     *
+     * @return slot utilizado, ou {@link #NO_SLOT} quando a página não diminui ou não há espaço
+     */
+    synchronized int store(ByteBuffer pageData) {
+        if (pageData.remaining() > pageSize) {
+            throw new IllegalArgumentException("Page data larger than swap slot");
+        }
+        deflater.reset();
+        deflater.setInput(pageData);
+        deflater.finish();
+        int length = deflater.deflate(compressionBuffer);
+        if (!deflater.finished() || length >= pageSize || compressedBytes + length > capacity) {
+            rejectedPages++;
+            return NO_SLOT;
+        }
+        int slot = usedSlots.nextClearBit(0);
+        if (slot == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[slot] = Arrays.copyOf(compressionBuffer, length);
+        usedSlots.set(slot);
+        storedPages++;
+        compressedBytes += length;
+        return slot;
+    }
+
+    /**
+     * Descomprime o slot no buffer, que deve ter exatamente uma página restante.
+     */
+    synchronized void load(int slot, ByteBuffer destination) {
+        validateSlot(slot);
+        if (destination.remaining() != pageSize) {
+            throw new IllegalArgumentException("Destination must have the swap page size");
+        }
+        long start = System.nanoTime();
+        inflater.reset();
+        inflater.setInput(slots[slot]);
+        try {
+            while (destination.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(destination) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Compressed swap slot " + slot + " is corrupted", ex);
+        }
+        if (destination.hasRemaining()) {
+            throw new IllegalStateException("Compressed swap slot " + slot + " is truncated");
+        }
+        decompressionLatency.record(System.nanoTime() - start);
+    }
+
+    synchronized void free(int slot) {
+        validateSlot(slot);
+        compressedBytes -= slots[slot].length;
+        slots[slot] = null;
+        usedSlots.clear(slot);
+        storedPages--;
+    }
+
+    /**
+     * @return páginas guardadas no momento
+     */
+    public synchronized int getStoredPages() {
+        return storedPages;
+    }
+
+    /**
+     * @return bytes ocupados pelas páginas comprimidas guardadas
+     */
+    public synchronized long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return razão entre o tamanho original e o comprimido das páginas guardadas (0 quando vazia)
+     */
+    public synchronized double getCompressionRatio() {
+        return compressedBytes == 0 ? 0.0 : (double) storedPages * pageSize / compressedBytes;
+    }
+
+    /**
+     * @return páginas recusadas por não diminuírem ou por falta de espaço, enviadas ao arquivo de troca
+     */
+    public synchronized long getRejectedPages() {
+        return rejectedPages;
+    }
+
+    public LatencyHistogram getDecompressionLatency() {
+        return decompressionLatency;
+    }
+
+    private void validateSlot(int slot) {
+        if (slot < 0 || !usedSlots.get(slot)) {
+            throw new IllegalArgumentException("Invalid compressed swap slot: " + slot);
+        }
+    }
+}
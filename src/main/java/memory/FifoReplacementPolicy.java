@@ -0,0 +1,38 @@
+package memory;
+
+/**
+ * Despeja a página carregada há mais tempo, independentemente de acessos posteriores.
+ */
+public class FifoReplacementPolicy implements ReplacementPolicy {
+    private FrameList queue;
+
+    @Override
+    public void initialize(int frameCount) {
+        queue = new FrameList(frameCount);
+    }
+
+    @Override
+    public void pageLoaded(int frameNumber, int pid, int pageNumber) {
+        queue.addLast(frameNumber);
+    }
+
+    @Override
+    public void pageAccessed(int frameNumber, int pid, int pageNumber) {
+        // a ordem de chegada não muda com os acessos
+    }
+
+    @Override
+    public void frameReleased(int frameNumber) {
+        queue.remove(frameNumber);
+    }
+
+    @Override
+    public void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        queue.replace(fromFrame, toFrame);
+    }
+
+    @Override
+    public int selectVictim() {
+        return queue.first();
+    }
+}
@@ -0,0 +1,68 @@
+package memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lê as páginas de um arquivo mapeado com {@link FileChannel#map}, como o {@code mmap} de uma imagem
+ * executável: nada é lido na criação e cada página vai do arquivo direto para o quadro quando carregada.
+ * O mapeamento é somente leitura, então uma página ainda não alterada sempre pode ser relida.
+ */
+final class FilePageSource implements PageSource {
+    private final MappedByteBuffer mapping;
+    private final int pageSize;
+
+    private FilePageSource(MappedByteBuffer mapping, int pageSize) {
+        this.mapping = mapping;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @throws UncheckedIOException quando o arquivo não pode ser mapeado
+     */
+    static FilePageSource open(Path file, int pageSize) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new FilePageSource(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), pageSize);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not map " + file, ex);
+        }
+    }
+
+    int size() {
+        return mapping.capacity();
+    }
+
+    @Override
+    public boolean read(int pageNumber, ByteBuffer target, int length) {
+        target.put(mapping.slice(pageNumber * pageSize, length));
+        return true;
+    }
+
+    @Override
+    public void write(int pageNumber, byte[] source, int offset, int length) {
+        throw new IllegalStateException("File-backed page " + pageNumber + " is read-only");
+    }
+
+    /**
+     * Snapshots guardam as páginas do arquivo, para não depender de ele continuar igual até a restauração.
+     */
+    @Override
+    public boolean isStored(int pageNumber) {
+        return true;
+    }
+
+    @Override
+    public boolean isReloadable(int pageNumber) {
+        return true;
+    }
+
+    @Override
+    public long getBackingBytes() {
+        return 0;
+    }
+}
@@ -0,0 +1,94 @@
+package memory;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de páginas linear: um {@code int} por página, indexado diretamente pelo número da página.
+ * Ao crescer, a capacidade ao menos dobra, para que crescimentos sucessivos custem tempo amortizado constante.
+ */
+public class FlatPagesTable implements PagesTable {
+    private int[] frames;
+    private int pageCount;
+
+    public FlatPagesTable(int pageCount) {
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        this.frames = new int[pageCount];
+        this.pageCount = pageCount;
+        Arrays.fill(this.frames, UNMAPPED);
+    }
+
+    @Override
+    public void mapPageToFrame(int pageNumber, int frameNumber) {
+        validatePageNumber(pageNumber);
+        validateFrameNumber(frameNumber);
+        frames[pageNumber] = frameNumber;
+    }
+
+    @Override
+    public int unmapPage(int pageNumber) {
+        validatePageNumber(pageNumber);
+        int previous = frames[pageNumber];
+        frames[pageNumber] = UNMAPPED;
+        return previous;
+    }
+
+    @Override
+    public int getPageFrame(int pageNumber) {
+        validatePageNumber(pageNumber);
+        int frameNumber = frames[pageNumber];
+        if (frameNumber == UNMAPPED) {
+            throw new IllegalStateException("Page " + pageNumber + " is not mapped to any frame");
+        }
+        return frameNumber;
+    }
+
+    @Override
+    public boolean isMapped(int pageNumber) {
+        validatePageNumber(pageNumber);
+        return frames[pageNumber] != UNMAPPED;
+    }
+
+    @Override
+    public int size() {
+        return pageCount;
+    }
+
+    @Override
+    public void resize(int pageCount) {
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        if (pageCount > frames.length) {
+            int capacity = (int) Math.min(Math.max(pageCount, 2L * frames.length), Integer.MAX_VALUE);
+            int previousCapacity = frames.length;
+            frames = Arrays.copyOf(frames, capacity);
+            Arrays.fill(frames, previousCapacity, capacity, UNMAPPED);
+        } else if (pageCount < this.pageCount) {
+            Arrays.fill(frames, pageCount, this.pageCount, UNMAPPED);
+        }
+        this.pageCount = pageCount;
+    }
+
+    @Override
+    public void forEachMapping(MappingVisitor visitor) {
+        for (int page = 0; page < pageCount; page++) {
+            if (frames[page] != UNMAPPED) {
+                visitor.visit(page, frames[page]);
+            }
+        }
+    }
+
+    private void validatePageNumber(int pageNumber) {
+        if (pageNumber < 0 || pageNumber >= pageCount) {
+            throw new IllegalArgumentException("Invalid page number: " + pageNumber);
+        }
+    }
+
+    private static void validateFrameNumber(int frameNumber) {
+        if (frameNumber < 0) {
+            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package memory;
+
+/**
+ * Controla quais quadros da memória física estão livres.
+ */
+public interface FrameAllocator {
+    /**
+     * Valor retornado quando não há quadros livres que atendam ao pedido.
+     */
+    int NO_FRAME = -1;
+
+    /**
+     * Reserva um quadro livre.
+     *
+     * @return número do quadro, ou {@link #NO_FRAME} quando a memória está cheia
+     */
+    int allocate();
+
+    /**
+     * Reserva {@code count} quadros consecutivos.
+     *
+     * @return primeiro quadro do intervalo, ou {@link #NO_FRAME} quando não existe intervalo livre desse tamanho
+     */
+    int allocateContiguous(int count);
+
+    /**
+     * Marca um quadro específico como em uso, como ao reconstruir um estado salvo.
+     *
+     * @throws IllegalStateException quando o quadro já está em uso
+     */
+    void reserve(int frameNumber);
+
+    /**
+     * Reserva {@code count} quadros consecutivos cujo primeiro quadro é múltiplo de {@code count},
+     * como exigem as páginas grandes.
+     *
+     * @param count quantidade de quadros, potência de dois
+     * @return primeiro quadro do intervalo, ou {@link #NO_FRAME} quando não existe intervalo alinhado livre
+     */
+    int allocateAligned(int count);
+
+    /**
+     * Reserva {@code count} quadros quaisquer em uma única operação, gravando-os em {@code frames}:
+     * ou todos são reservados, ou nenhum.
+     *
+     * @return {@code false} quando não há quadros livres suficientes
+     */
+    default boolean allocateBatch(int count, int[] frames) {
+        for (int i = 0; i < count; i++) {
+            frames[i] = allocate();
+            if (frames[i] == NO_FRAME) {
+                for (int j = 0; j < i; j++) {
+                    release(frames[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void release(int frameNumber);
+
+    void releaseRange(int firstFrame, int count);
+
+    boolean isFree(int frameNumber);
+
+    /**
+     * @return quantidade de quadros livres, em O(1)
+     */
+    int getFreeCount();
+
+    int getFrameCount();
+
+    /**
+     * @return tamanho do maior intervalo de quadros livres consecutivos que um único pedido poderia obter
+     */
+    int getLargestFreeRange();
+}
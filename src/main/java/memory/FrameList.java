@@ -0,0 +1,112 @@
+package memory;
+
+import java.util.Arrays;
+
+/**
+ * Lista duplamente encadeada intrusiva de números de quadro, com inserção, remoção e
+ * movimentação para o fim em O(1) e sem objetos por nó.
+ */
+class FrameList {
+    private static final int NONE = -1;
+
+    private final int[] previous;
+    private final int[] next;
+    private final boolean[] linked;
+    private int head = NONE;
+    private int tail = NONE;
+    private int size;
+
+    FrameList(int frameCount) {
+        this.previous = new int[frameCount];
+        this.next = new int[frameCount];
+        this.linked = new boolean[frameCount];
+        Arrays.fill(previous, NONE);
+        Arrays.fill(next, NONE);
+    }
+
+    void addLast(int frame) {
+        if (linked[frame]) {
+            remove(frame);
+        }
+        previous[frame] = tail;
+        next[frame] = NONE;
+        if (tail == NONE) {
+            head = frame;
+        } else {
+            next[tail] = frame;
+        }
+        tail = frame;
+        linked[frame] = true;
+        size++;
+    }
+
+    void moveToLast(int frame) {
+        if (linked[frame] && tail != frame) {
+            addLast(frame);
+        }
+    }
+
+    /**
+     * Coloca {@code replacement}, que não pode estar na lista, na posição de {@code frame}.
+     */
+    void replace(int frame, int replacement) {
+        if (!linked[frame]) {
+            return;
+        }
+        int before = previous[frame];
+        int after = next[frame];
+        if (before == NONE) {
+            head = replacement;
+        } else {
+            next[before] = replacement;
+        }
+        if (after == NONE) {
+            tail = replacement;
+        } else {
+            previous[after] = replacement;
+        }
+        previous[replacement] = before;
+        next[replacement] = after;
+        linked[replacement] = true;
+        previous[frame] = NONE;
+        next[frame] = NONE;
+        linked[frame] = false;
+    }
+
+    void remove(int frame) {
+        if (!linked[frame]) {
+            return;
+        }
+        int before = previous[frame];
+        int after = next[frame];
+        if (before == NONE) {
+            head = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            tail = before;
+        } else {
+            previous[after] = before;
+        }
+        previous[frame] = NONE;
+        next[frame] = NONE;
+        linked[frame] = false;
+        size--;
+    }
+
+    /**
+     * @return primeiro quadro da lista
+     * @throws IllegalStateException quando a lista está vazia
+     */
+    int first() {
+        if (head == NONE) {
+            throw new IllegalStateException("No resident frame available for replacement");
+        }
+        return head;
+    }
+
+    int size() {
+        return size;
+    }
+}
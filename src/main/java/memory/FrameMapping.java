@@ -0,0 +1,13 @@
+package memory;
+
+/**
+ * Conteúdo de um quadro em uso segundo a tabela invertida do {@link MemoryManager}.
+ *
+ * @param pid        processo dono; em quadros compartilhados, um dos processos que o mapeiam
+ * @param page       página do dono guardada no quadro
+ * @param dirty      se a página foi alterada desde que foi carregada
+ * @param referenced se o quadro foi acessado desde a última amostragem do {@link MemoryReclaimer}
+ * @param shared     se mais de uma página aponta para o quadro
+ */
+public record FrameMapping(int pid, int page, boolean dirty, boolean referenced, boolean shared) {
+}
@@ -0,0 +1,142 @@
+package memory;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tabela de páginas invertida: para cada quadro, o PID dono, a página que ele guarda e bits de estado,
+ * empacotados em um único {@code long} para que cada entrada seja lida e trocada atomicamente. Permite
+ * ir do quadro à página sem percorrer a tabela de páginas do processo.
+ *
+ * <p>Quadros compartilhados registram apenas um dos processos que os mapeiam, com o bit {@link #SHARED};
+ * os demais ficam no {@link ReverseMap}.
+ */
+final class FrameTable {
+    static final int DIRTY = 1;
+    static final int REFERENCED = 1 << 1;
+    static final int SHARED = 1 << 2;
+
+    /** Páginas por processo que cabem em uma entrada. */
+    static final int MAX_PAGES = 1 << 29;
+
+    private static final int FLAGS_SHIFT = 29;
+    private static final long PAGE_MASK = MAX_PAGES - 1;
+    private static final long FREE = pack(-1, 0, 0);
+
+    private final AtomicLongArray entries;
+
+    FrameTable(int frameCount) {
+        this.entries = new AtomicLongArray(frameCount);
+        for (int frame = 0; frame < frameCount; frame++) {
+            entries.set(frame, FREE);
+        }
+    }
+
+    /**
+     * Registra o quadro como a página {@code page} de {@code pid}, sem bits de estado.
+     */
+    void map(int frame, int pid, int page) {
+        map(frame, pid, page, 0);
+    }
+
+    void map(int frame, int pid, int page, int flags) {
+        entries.set(frame, pack(pid, page, flags));
+    }
+
+    /**
+     * Troca o dono registrado de um quadro compartilhado, mantendo os bits de estado.
+     */
+    void reassign(int frame, int pid, int page) {
+        entries.getAndUpdate(frame, entry -> pack(pid, page, 0) | (entry & ~(PAGE_MASK | -1L << 32)));
+    }
+
+    /**
+     * Passa a entrada, com dono, página e bits de estado, de {@code from} para {@code to} e libera {@code from}.
+     */
+    void move(int from, int to) {
+        entries.set(to, entries.get(from));
+        entries.set(from, FREE);
+    }
+
+    void clear(int frame) {
+        entries.set(frame, FREE);
+    }
+
+    /**
+     * @return PID dono do quadro, ou -1 quando livre
+     */
+    int owner(int frame) {
+        return (int) (entries.get(frame) >> 32);
+    }
+
+    /**
+     * @return página guardada no quadro, ou {@link PagesTable#UNMAPPED} quando livre
+     */
+    int page(int frame) {
+        long entry = entries.get(frame);
+        return entry >> 32 < 0 ? PagesTable.UNMAPPED : (int) (entry & PAGE_MASK);
+    }
+
+    boolean hasFlag(int frame, int flag) {
+        return (entries.get(frame) & ((long) flag << FLAGS_SHIFT)) != 0;
+    }
+
+    void setFlags(int frame, int flags) {
+        long bits = (long) flags << FLAGS_SHIFT;
+        if ((entries.get(frame) & bits) != bits) {
+            entries.getAndAccumulate(frame, bits, (current, mask) -> current | mask);
+        }
+    }
+
+    /**
+     * Liga os bits apenas se o quadro ainda guarda a página {@code page} de {@code pid} ou é compartilhado,
+     * para que um acesso já desatualizado não marque um quadro liberado, migrado ou reaproveitado.
+     *
+     * @return {@code true} quando o quadro ainda correspondia ao acesso
+     */
+    boolean setFlagsIfMapped(int frame, int pid, int page, int flags) {
+        long bits = (long) flags << FLAGS_SHIFT;
+        long sharedBit = (long) SHARED << FLAGS_SHIFT;
+        long mapping = pack(pid, page, 0);
+        long entry;
+        do {
+            entry = entries.get(frame);
+            if ((entry & sharedBit) == 0 && (entry & (-1L << 32 | PAGE_MASK)) != mapping) {
+                return false;
+            }
+            if ((entry & bits) == bits) {
+                return true;
+            }
+        } while (!entries.compareAndSet(frame, entry, entry | bits));
+        return true;
+    }
+
+    void clearFlags(int frame, int flags) {
+        long bits = (long) flags << FLAGS_SHIFT;
+        if ((entries.get(frame) & bits) != 0) {
+            entries.getAndAccumulate(frame, ~bits, (current, mask) -> current & mask);
+        }
+    }
+
+    /**
+     * Retorna os quadros com o bit {@code flag} ligado e o desliga em todos.
+     */
+    BitSet drain(int flag) {
+        BitSet drained = new BitSet(entries.length());
+        for (int frame = 0; frame < entries.length(); frame++) {
+            if (hasFlag(frame, flag)) {
+                clearFlags(frame, flag);
+                drained.set(frame);
+            }
+        }
+        return drained;
+    }
+
+    int size() {
+        return entries.length();
+    }
+
+    private static long pack(int pid, int page, int flags) {
+        return ((long) pid << 32) | ((long) flags << FLAGS_SHIFT) | page;
+    }
+}
@@ -0,0 +1,60 @@
+package memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gera cada página sob demanda, sem guardar o processo: páginas zeradas ou derivadas de uma semente
+ * são reconstruídas a cada leitura. Só as páginas escritas ganham um vetor próprio.
+ */
+final class GeneratedPageSource implements PageSource {
+    private final int size;
+    private final int pageSize;
+    private final boolean zeroFill;
+    private final long seed;
+    private final byte[][] writtenPages;
+    private long backingBytes;
+
+    GeneratedPageSource(int size, int pageSize, int numberOfPages, PageContent content) {
+        this.size = size;
+        this.pageSize = pageSize;
+        this.zeroFill = content.strategy() == PageContent.Strategy.ZERO_FILL;
+        this.seed = content.seed();
+        this.writtenPages = new byte[numberOfPages][];
+    }
+
+    @Override
+    public boolean read(int pageNumber, ByteBuffer target, int length) {
+        byte[] written = writtenPages[pageNumber];
+        if (written != null) {
+            target.put(written, 0, length);
+            return true;
+        }
+        if (zeroFill) {
+            return false;
+        }
+        ArrayPageSource.fillRandom(LogicalMemory.derivedSeed(seed, pageNumber), target, length);
+        return true;
+    }
+
+    @Override
+    public synchronized void write(int pageNumber, byte[] source, int offset, int length) {
+        byte[] page = writtenPages[pageNumber];
+        if (page == null) {
+            page = new byte[Math.min(pageSize, size - pageNumber * pageSize)];
+            read(pageNumber, ByteBuffer.wrap(page), page.length);
+            writtenPages[pageNumber] = page;
+            backingBytes += page.length;
+        }
+        System.arraycopy(source, offset, page, 0, length);
+    }
+
+    @Override
+    public boolean isStored(int pageNumber) {
+        return writtenPages[pageNumber] != null;
+    }
+
+    @Override
+    public synchronized long getBackingBytes() {
+        return backingBytes;
+    }
+}
@@ -0,0 +1,49 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Memória física armazenada em um único vetor de bytes no heap.
+ */
+public class HeapPhysicalMemory extends PhysicalMemory {
+    private final byte[] physicalMemory;
+
+    public HeapPhysicalMemory(long size, int frameSize) {
+        super(size, frameSize);
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Heap physical memory must fit in a single array; use the off-heap backend");
+        }
+        this.physicalMemory = new byte[(int) size];
+    }
+
+    @Override
+    protected byte get(long address) {
+        return physicalMemory[(int) address];
+    }
+
+    @Override
+    protected void put(long address, byte value) {
+        physicalMemory[(int) address] = value;
+    }
+
+    @Override
+    protected void get(long address, byte[] destination, int offset, int length) {
+        System.arraycopy(physicalMemory, (int) address, destination, offset, length);
+    }
+
+    @Override
+    protected void put(long address, byte[] source, int offset, int length) {
+        System.arraycopy(source, offset, physicalMemory, (int) address, length);
+    }
+
+    @Override
+    protected void fill(long address, int length, byte value) {
+        Arrays.fill(physicalMemory, (int) address, (int) address + length, value);
+    }
+
+    @Override
+    protected ByteBuffer slice(long address, int length) {
+        return ByteBuffer.wrap(physicalMemory, (int) address, length).slice();
+    }
+}
@@ -0,0 +1,90 @@
+package memory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Fornece páginas grandes (intervalos alinhados de quadros) sobre um {@link FrameAllocator}. Uma parte
+ * pode ser reservada na criação, antes que a memória se fragmente; páginas grandes liberadas voltam à
+ * reserva até completá-la. Quando faltam quadros comuns, uma região reservada é dividida e devolvida ao
+ * alocador.
+ */
+final class HugePagePool {
+    private final FrameAllocator allocator;
+    private final int framesPerHugePage;
+    private final int reservedTarget;
+    private final Deque<Integer> reserved = new ArrayDeque<>();
+
+    /**
+     * @throws IllegalArgumentException quando não há memória contígua para as páginas reservadas
+     */
+    HugePagePool(FrameAllocator allocator, int framesPerHugePage, int reservedHugePages) {
+        this.allocator = allocator;
+        this.framesPerHugePage = framesPerHugePage;
+        this.reservedTarget = reservedHugePages;
+        for (int i = 0; i < reservedHugePages; i++) {
+            int firstFrame = allocator.allocateAligned(framesPerHugePage);
+            if (firstFrame == FrameAllocator.NO_FRAME) {
+                throw new IllegalArgumentException("Cannot reserve " + reservedHugePages + " huge pages");
+            }
+            reserved.addLast(firstFrame);
+        }
+    }
+
+    int getFramesPerHugePage() {
+        return framesPerHugePage;
+    }
+
+    /**
+     * @return primeiro quadro da página grande, ou {@link FrameAllocator#NO_FRAME}
+     */
+    synchronized int allocate() {
+        Integer firstFrame = reserved.pollFirst();
+        return firstFrame != null ? firstFrame : allocator.allocateAligned(framesPerHugePage);
+    }
+
+    /**
+     * Devolve uma página grande, que volta à reserva se ela estiver abaixo do tamanho configurado.
+     */
+    synchronized void release(int firstFrame) {
+        if (reserved.size() < reservedTarget) {
+            reserved.addLast(firstFrame);
+        } else {
+            allocator.releaseRange(firstFrame, framesPerHugePage);
+        }
+    }
+
+    /**
+     * Divide uma região reservada, devolvendo seus quadros ao alocador para uso como páginas comuns.
+     *
+     * @return {@code false} quando não há região reservada
+     */
+    synchronized boolean split() {
+        Integer firstFrame = reserved.pollLast();
+        if (firstFrame == null) {
+            return false;
+        }
+        allocator.releaseRange(firstFrame, framesPerHugePage);
+        return true;
+    }
+
+    /**
+     * Libera a região reservada que contém o quadro, se houver, para que ele possa ser reservado individualmente.
+     */
+    synchronized void claim(int frameNumber) {
+        Iterator<Integer> regions = reserved.iterator();
+        while (regions.hasNext()) {
+            int firstFrame = regions.next();
+            if (frameNumber >= firstFrame && frameNumber < firstFrame + framesPerHugePage) {
+                regions.remove();
+                allocator.releaseRange(firstFrame, framesPerHugePage);
+                return;
+            }
+        }
+    }
+
+    synchronized int getReservedFrames() {
+        return reserved.size() * framesPerHugePage;
+    }
+}
@@ -0,0 +1,61 @@
+package memory;
+
+/**
+ * Despeja a página com menos acessos desde que foi carregada. Empates favorecem o menor número de quadro.
+ */
+public class LfuReplacementPolicy implements ReplacementPolicy {
+    private boolean[] resident;
+    private long[] accessCounts;
+    private int residentCount;
+
+    @Override
+    public void initialize(int frameCount) {
+        resident = new boolean[frameCount];
+        accessCounts = new long[frameCount];
+    }
+
+    @Override
+    public void pageLoaded(int frameNumber, int pid, int pageNumber) {
+        if (!resident[frameNumber]) {
+            resident[frameNumber] = true;
+            residentCount++;
+        }
+        accessCounts[frameNumber] = 0;
+    }
+
+    @Override
+    public void pageAccessed(int frameNumber, int pid, int pageNumber) {
+        accessCounts[frameNumber]++;
+    }
+
+    @Override
+    public void frameReleased(int frameNumber) {
+        if (resident[frameNumber]) {
+            resident[frameNumber] = false;
+            residentCount--;
+        }
+        accessCounts[frameNumber] = 0;
+    }
+
+    @Override
+    public void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        long accesses = accessCounts[fromFrame];
+        frameReleased(fromFrame);
+        pageLoaded(toFrame, pid, pageNumber);
+        accessCounts[toFrame] = accesses;
+    }
+
+    @Override
+    public int selectVictim() {
+        if (residentCount == 0) {
+            throw new IllegalStateException("No resident frame available for replacement");
+        }
+        int victim = -1;
+        for (int frame = 0; frame < resident.length; frame++) {
+            if (resident[frame] && (victim < 0 || accessCounts[frame] < accessCounts[victim])) {
+                victim = frame;
+            }
+        }
+        return victim;
+    }
+}
@@ -1,16 +1,25 @@
 package memory;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Random;
 
 /**
- * Representa a memória lógica de um processo. O conteúdo é armazenado em bytes
- * e dividido em páginas de tamanho fixo, que posteriormente podem ser mapeadas
- * para quadros da memória física.
+ * Representa a memória lógica de um processo. O conteúdo é dividido em páginas de tamanho fixo, que
+ * posteriormente podem ser mapeadas para quadros da memória física. A forma de povoar as páginas é
+ * definida por um {@link PageContent}: um vetor aleatório preenchido na criação, páginas zeradas sob
+ * demanda ou páginas geradas a partir de uma semente e reconstruídas quando necessárias.
+ *
+ * <p>Uma memória lógica não muda de tamanho: {@link #resize(int)} produz outra que compartilha a origem
+ * das páginas existentes e guarda à parte apenas as páginas acrescentadas ao fim.
  */
 public class LogicalMemory {
-    private final byte[] logicalMemory;
+    private final int size;
     private final int pageSize;
+    private final PageContent content;
+    private final PageSource source;
+    private final int sourcePages;
+    private final byte[][] appendedPages;
 
     /**
      * Cria a memória lógica de um processo e a preenche com valores aleatórios.
@@ -19,42 +28,250 @@ public class LogicalMemory {
      * @param pageSize      tamanho configurado da página (e do quadro)
      */
     public LogicalMemory(int processLength, int pageSize) {
-        if (processLength <= 0) {
+        this(processLength, pageSize, PageContent.random());
+    }
+
+    /**
+     * Cria a memória lógica de um processo com o conteúdo indicado.
+     *
+     * @param processLength tamanho do processo em bytes
+     * @param pageSize      tamanho configurado da página (e do quadro)
+     * @param content       estratégia de povoamento das páginas
+     */
+    public LogicalMemory(int processLength, int pageSize, PageContent content) {
+        this(processLength, pageSize, content, createSource(processLength, pageSize, content, true));
+    }
+
+    /**
+     * Cria a memória lógica com o conteúdo de {@code file}, mapeado sem leitura antecipada: cada página é
+     * lida do arquivo apenas quando copiada para um quadro. Suas páginas são somente leitura.
+     *
+     * @throws java.io.UncheckedIOException quando o arquivo não pode ser mapeado
+     */
+    public static LogicalMemory fromFile(Path file, int pageSize) {
+        FilePageSource source = FilePageSource.open(file, pageSize);
+        if (source.size() == 0) {
             throw new IllegalArgumentException("Process length must be positive");
         }
-        this.logicalMemory = new byte[processLength];
+        return new LogicalMemory(source.size(), pageSize, new PageContent(PageContent.Strategy.FILE, 0L), source);
+    }
+
+    /**
+     * Cria a memória lógica sem gerar conteúdo aleatório, para que as páginas armazenadas sejam
+     * restauradas com {@link #writePage(int, byte[])}.
+     */
+    static LogicalMemory forRestore(int processLength, int pageSize, PageContent content) {
+        return new LogicalMemory(processLength, pageSize, content, createSource(processLength, pageSize, content, false));
+    }
+
+    private LogicalMemory(int processLength, int pageSize, PageContent content, PageSource source) {
+        this(processLength, pageSize, content, source, (processLength + pageSize - 1) / pageSize, new byte[0][]);
+    }
+
+    /**
+     * @param sourcePages   páginas iniciais servidas por {@code source}
+     * @param appendedPages páginas seguintes, cada uma guardada só depois de escrita ({@code null} quando zerada)
+     */
+    private LogicalMemory(int processLength, int pageSize, PageContent content, PageSource source,
+                          int sourcePages, byte[][] appendedPages) {
+        this.size = processLength;
         this.pageSize = pageSize;
+        this.content = content;
+        this.source = source;
+        this.sourcePages = sourcePages;
+        this.appendedPages = appendedPages;
+    }
 
-        fillWithRandomData();
+    /**
+     * Retorna a memória lógica com {@code pageCount} páginas. Páginas acrescentadas começam zeradas e
+     * ocupam espaço apenas quando escritas; as existentes continuam vindo da mesma origem, sem cópia. Ao
+     * crescer, o tamanho passa a ser múltiplo da página e a última página incompleta, se houver, é a única
+     * copiada. Ao diminuir, as páginas removidas deixam de ser acessíveis e voltam zeradas se a memória
+     * crescer de novo.
+     *
+     * @throws IllegalArgumentException quando {@code pageCount} não é positivo
+     */
+    LogicalMemory resize(int pageCount) {
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        int pages = getNumberOfPages();
+        if (pageCount <= pages) {
+            int retainedSourcePages = Math.min(sourcePages, pageCount);
+            return new LogicalMemory((int) Math.min(size, (long) pageCount * pageSize), pageSize, content, source,
+                    retainedSourcePages, Arrays.copyOf(appendedPages, pageCount - retainedSourcePages));
+        }
+        int grownSourcePages = sourcePages;
+        byte[][] grownPages;
+        int tail = size % pageSize;
+        if (tail != 0) {
+            // a página incompleta passa a ser acrescentada, para que o restante dela seja zero e possa ser escrito
+            grownSourcePages = pages - 1;
+            grownPages = new byte[pageCount - grownSourcePages][];
+            grownPages[0] = new byte[pageSize];
+            readPage(grownSourcePages, ByteBuffer.wrap(grownPages[0]));
+        } else {
+            grownPages = Arrays.copyOf(appendedPages, pageCount - sourcePages);
+        }
+        return new LogicalMemory(pageCount * pageSize, pageSize, content, source, grownSourcePages, grownPages);
     }
 
-    private void fillWithRandomData() {
-        Random random = new Random();
-        random.nextBytes(this.logicalMemory);
+    private static PageSource createSource(int processLength, int pageSize, PageContent content, boolean populate) {
+        if (processLength <= 0) {
+            throw new IllegalArgumentException("Process length must be positive");
+        }
+        if (content == null) {
+            throw new IllegalArgumentException("Page content cannot be null");
+        }
+        if (content.strategy() == PageContent.Strategy.FILE) {
+            if (populate) {
+                throw new IllegalArgumentException("File-backed content requires a file");
+            }
+            return new ArrayPageSource(processLength, pageSize);
+        }
+        if (content.strategy() != PageContent.Strategy.RANDOM) {
+            int numberOfPages = (processLength + pageSize - 1) / pageSize;
+            return new GeneratedPageSource(processLength, pageSize, numberOfPages, content);
+        }
+        return populate
+                ? new ArrayPageSource(processLength, pageSize, content.seed())
+                : new ArrayPageSource(processLength, pageSize);
     }
 
     public int getSize() {
-        return this.logicalMemory.length;
+        return this.size;
+    }
+
+    public PageContent getPageContent() {
+        return content;
     }
 
     /**
      * Retorna o número de páginas lógicas necessárias para armazenar os bytes do processo.
      */
     public int getNumberOfPages() {
-        return (this.logicalMemory.length + pageSize - 1) / this.pageSize;
+        return (this.size + pageSize - 1) / this.pageSize;
     }
 
     /**
      * Retorna uma cópia dos bytes que pertencem à página lógica informada.
      */
     public byte[] readPage(int pageNumber) {
+        byte[] page = new byte[pageLength(pageNumber)];
+        readContent(pageNumber, ByteBuffer.wrap(page), page.length);
+        return page;
+    }
+
+    /**
+     * Sobrescreve o início da página lógica com {@code data}. O novo conteúdo vale para as próximas
+     * cargas da página; quadros que já a contêm não são alterados.
+     */
+    public void writePage(int pageNumber, byte[] data) {
+        int length = pageLength(pageNumber);
+        if (data == null) {
+            throw new IllegalArgumentException("Page data cannot be null");
+        }
+        if (data.length > length) {
+            throw new IllegalArgumentException("Page data larger than page " + pageNumber);
+        }
+        if (pageNumber < sourcePages) {
+            source.write(pageNumber, data, 0, data.length);
+            return;
+        }
+        synchronized (appendedPages) {
+            // páginas acrescentadas podem ser compartilhadas com a memória de que esta foi derivada
+            int index = pageNumber - sourcePages;
+            byte[] page = appendedPages[index] == null ? new byte[pageSize] : appendedPages[index].clone();
+            System.arraycopy(data, 0, page, 0, data.length);
+            appendedPages[index] = page;
+        }
+    }
+
+    /**
+     * Copia a página lógica diretamente para o quadro da memória física, sem vetor intermediário.
+     */
+    public void copyPageToFrame(int pageNumber, PhysicalMemory physicalMemory, int frameNumber) {
+        int length = pageLength(pageNumber);
+        ByteBuffer frame = physicalMemory.frameBuffer(frameNumber);
+        if (!readContent(pageNumber, frame, length)) {
+            physicalMemory.clearFrame(frameNumber);
+        } else if (length < frame.capacity()) {
+            physicalMemory.fill(physicalMemory.getFrameStartAddress(frameNumber) + length,
+                    frame.capacity() - length, (byte) 0);
+        }
+    }
+
+    /**
+     * Escreve a página em {@code target}, a partir da posição atual, sem alocar.
+     *
+     * @return quantidade de bytes escritos
+     */
+    int readPage(int pageNumber, ByteBuffer target) {
+        int length = pageLength(pageNumber);
+        if (!readContent(pageNumber, target, length)) {
+            for (int i = 0; i < length; i++) {
+                target.put((byte) 0);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return {@code true} quando a página não pode ser regenerada e precisa ser salva junto com o processo
+     */
+    boolean isPageStored(int pageNumber) {
+        if (pageNumber < sourcePages) {
+            return source.isStored(pageNumber);
+        }
+        // a semente geraria conteúdo para páginas que, acrescentadas, começaram zeradas
+        return appendedPages[pageNumber - sourcePages] != null || content.strategy() == PageContent.Strategy.SEEDED;
+    }
+
+    /**
+     * @return {@code true} quando a página pode ser relida da origem, sem ter sido alterada desde a criação
+     */
+    boolean isPageReloadable(int pageNumber) {
+        return pageNumber < sourcePages && source.isReloadable(pageNumber);
+    }
+
+    /**
+     * Bytes efetivamente mantidos em memória para este processo.
+     */
+    long getBackingBytes() {
+        long appendedBytes = 0;
+        for (byte[] page : appendedPages) {
+            appendedBytes += page == null ? 0 : page.length;
+        }
+        return source.getBackingBytes() + appendedBytes;
+    }
+
+    private boolean readContent(int pageNumber, ByteBuffer target, int length) {
+        if (pageNumber < sourcePages) {
+            return source.read(pageNumber, target, length);
+        }
+        byte[] page = appendedPages[pageNumber - sourcePages];
+        if (page == null) {
+            return false;
+        }
+        target.put(page, 0, length);
+        return true;
+    }
+
+    private int pageLength(int pageNumber) {
         if (pageNumber < 0 || pageNumber >= getNumberOfPages()) {
             throw new IllegalArgumentException("Invalid logical page: " + pageNumber);
         }
-
-        int start = pageNumber * pageSize;
-        int endExclusive = Math.min(start + pageSize, logicalMemory.length);
-        return Arrays.copyOfRange(logicalMemory, start, endExclusive);
+        return Math.min(pageSize, size - pageNumber * pageSize);
     }
 
+    /**
+     * Deriva uma semente independente para a página (ou bloco) {@code index}, espalhando os bits para que
+     * índices vizinhos não produzam sequências deslocadas uma da outra.
+     */
+    static long derivedSeed(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
 }
@@ -0,0 +1,38 @@
+package memory;
+
+/**
+ * Despeja a página acessada há mais tempo. Cada acesso move o quadro para o fim da lista.
+ */
+public class LruReplacementPolicy implements ReplacementPolicy {
+    private FrameList recency;
+
+    @Override
+    public void initialize(int frameCount) {
+        recency = new FrameList(frameCount);
+    }
+
+    @Override
+    public void pageLoaded(int frameNumber, int pid, int pageNumber) {
+        recency.addLast(frameNumber);
+    }
+
+    @Override
+    public void pageAccessed(int frameNumber, int pid, int pageNumber) {
+        recency.moveToLast(frameNumber);
+    }
+
+    @Override
+    public void frameReleased(int frameNumber) {
+        recency.remove(frameNumber);
+    }
+
+    @Override
+    public void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        recency.replace(fromFrame, toFrame);
+    }
+
+    @Override
+    public int selectVictim() {
+        return recency.first();
+    }
+}
@@ -1,20 +1,139 @@
 package memory;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
 
 /**
- * Ponto de entrada em linha de comando para o simulador de paginação.
+ * Ponto de entrada em linha de comando para o simulador de paginação. Sem argumentos abre o menu
+ * interativo; com {@code --batch} executa comandos de um arquivo (ou {@code -} para a entrada padrão)
+ * por meio do {@link BatchRunner}:
+ *
+ * <pre>
+ * java -jar simulador.jar --batch comandos.txt --physical-memory 65536 --page-size 256 \
+ *     --max-process-size 4096 [--format csv|json|text] [--demand fifo|lru|clock|lfu] [--off-heap]
+ *     [--compressed-swap BYTES] [--banks N [--placement local|interleave|preferred:BANCO]]
+ * </pre>
+ *
+ * O processo termina com código 1 se algum comando falhar e 2 se os argumentos forem inválidos.
  */
 public class Main {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(runBatch(args));
+        }
         try (Scanner scanner = new Scanner(System.in)) {
             MemoryManager memoryManager = configureMemoryManager(scanner);
             runMenu(scanner, memoryManager);
         }
     }
 
+    private static int runBatch(String[] args) {
+        Map<String, String> options;
+        MemoryManager.Builder builder;
+        OutputFormat format;
+        try {
+            options = parseOptions(args);
+            builder = MemoryManager.builder(
+                    Long.parseLong(requireOption(options, "--physical-memory")),
+                    Integer.parseInt(requireOption(options, "--page-size")),
+                    Integer.parseInt(requireOption(options, "--max-process-size")));
+            format = OutputFormat.valueOf(options.getOrDefault("--format", "csv").toUpperCase(Locale.ROOT));
+            if (options.containsKey("--demand")) {
+                builder.demandPaging(replacementPolicy(options.get("--demand")));
+            }
+            if (options.containsKey("--banks")) {
+                builder.banks(Integer.parseInt(options.get("--banks")),
+                        placement(options.getOrDefault("--placement", "local")));
+            }
+            if (options.containsKey("--compressed-swap")) {
+                builder.compressedSwap(Long.parseLong(options.get("--compressed-swap")));
+            }
+            if (options.containsKey("--off-heap")) {
+                builder.physicalMemoryBackend(PhysicalMemoryBackend.OFF_HEAP);
+            }
+            requireOption(options, "--batch");
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Argumentos inválidos: " + ex.getMessage());
+            System.err.println("Uso: --batch ARQUIVO|- --physical-memory N --page-size N --max-process-size N"
+                    + " [--format csv|json|text] [--demand fifo|lru|clock|lfu] [--off-heap] [--compressed-swap BYTES]"
+                    + " [--banks N [--placement local|interleave|preferred:BANCO]]");
+            return 2;
+        }
+
+        String source = options.get("--batch");
+        try (MemoryManager memoryManager = builder.build();
+             Reader input = source.equals("-")
+                     ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                     : Files.newBufferedReader(Path.of(source), StandardCharsets.UTF_8)) {
+            Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                    OUTPUT_BUFFER_SIZE);
+            int failures = new BatchRunner(memoryManager, format).run(input, output);
+            return failures == 0 ? 0 : 1;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not run batch " + source, ex);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--off-heap")) {
+                options.put(option, "");
+            } else if (option.startsWith("--") && i + 1 < args.length) {
+                options.put(option, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + option);
+            }
+        }
+        return options;
+    }
+
+    private static String requireOption(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option " + name);
+        }
+        return value;
+    }
+
+    private static ReplacementPolicy replacementPolicy(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "fifo" -> new FifoReplacementPolicy();
+            case "lru" -> new LruReplacementPolicy();
+            case "clock" -> new ClockReplacementPolicy();
+            case "lfu" -> new LfuReplacementPolicy();
+            default -> throw new IllegalArgumentException("Unknown replacement policy: " + name);
+        };
+    }
+
+    private static Placement placement(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("preferred:")) {
+            return Placement.preferred(Integer.parseInt(normalized.substring("preferred:".length())));
+        }
+        return switch (normalized) {
+            case "local" -> Placement.local();
+            case "interleave" -> Placement.interleave();
+            default -> throw new IllegalArgumentException("Unknown placement: " + name);
+        };
+    }
+
     private static MemoryManager configureMemoryManager(Scanner scanner) {
         System.out.println("=== Configuração do simulador ===");
         while (true) {
@@ -41,8 +160,10 @@ public class Main {
                 case 1 -> handleVisualizarMemoria(memoryManager);
                 case 2 -> handleCriarProcesso(scanner, memoryManager);
                 case 3 -> handleVisualizarTabela(scanner, memoryManager);
-                case 4 -> running = false;
-                default -> System.out.println("Opção inválida. Escolha entre 1 e 4.");
+                case 4 -> handleEncerrarProcesso(scanner, memoryManager);
+                case 5 -> handleDuplicarProcesso(scanner, memoryManager);
+                case 6 -> running = false;
+                default -> System.out.println("Opção inválida. Escolha entre 1 e 6.");
             }
         }
         System.out.println("Simulador encerrado.");
@@ -53,19 +174,20 @@ public class Main {
         System.out.println("1 - Visualizar memória física");
         System.out.println("2 - Criar processo");
         System.out.println("3 - Visualizar tabela de páginas de um processo");
-        System.out.println("4 - Sair");
+        System.out.println("4 - Encerrar processo");
+        System.out.println("5 - Duplicar processo (fork)");
+        System.out.println("6 - Sair");
     }
 
     private static void handleVisualizarMemoria(MemoryManager memoryManager) {
         System.out.printf("Memória livre: %.2f%%%n", memoryManager.getFreeMemoryPercentage());
-        PhysicalMemory physicalMemory = memoryManager.getPhysicalMemory();
-        int totalFrames = physicalMemory.getNumberOfFrames();
-
-        for (int frame = 0; frame < totalFrames; frame++) {
-            int ownerPid = memoryManager.getFrameOwner(frame);
-            String ownerLabel = ownerPid < 0 ? "livre" : "PID " + ownerPid;
-            byte[] frameData = physicalMemory.readFrame(frame);
-            System.out.printf("Quadro %d [%s]: %s%n", frame, ownerLabel, formatFrameData(frameData));
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE);
+        try {
+            new MemoryDumper(memoryManager).dumpAll(output, OutputFormat.TEXT);
+            output.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write memory dump", ex);
         }
     }
 
@@ -116,16 +238,28 @@ public class Main {
         }
     }
 
-    private static String formatFrameData(byte[] frameData) {
-        StringBuilder builder = new StringBuilder("[");
-        for (int i = 0; i < frameData.length; i++) {
-            builder.append(String.format("%02X", frameData[i] & 0xFF));
-            if (i < frameData.length - 1) {
-                builder.append(' ');
-            }
+    private static void handleEncerrarProcesso(Scanner scanner, MemoryManager memoryManager) {
+        int pid = readPositiveInt(scanner, "Informe o PID do processo: ");
+        if (memoryManager.findProcess(pid).isEmpty()) {
+            System.out.println("Processo não encontrado.");
+            return;
+        }
+
+        memoryManager.destroyProcess(pid);
+        System.out.printf("Processo %d encerrado. Memória livre: %.2f%%%n", pid, memoryManager.getFreeMemoryPercentage());
+    }
+
+    private static void handleDuplicarProcesso(Scanner scanner, MemoryManager memoryManager) {
+        int parentPid = readPositiveInt(scanner, "Informe o PID do processo pai: ");
+        int childPid = readPositiveInt(scanner, "Informe o PID do processo filho: ");
+
+        try {
+            Process child = memoryManager.forkProcess(parentPid, childPid);
+            System.out.printf("Processo %d criado a partir de %d, compartilhando %d páginas.%n",
+                    childPid, parentPid, child.getPageCount());
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Falha ao duplicar processo: " + ex.getMessage());
         }
-        builder.append(']');
-        return builder.toString();
     }
 
     private static int readPositiveInt(Scanner scanner, String prompt) {
@@ -0,0 +1,126 @@
+package memory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Compacta a memória física aos poucos para refazer intervalos contíguos de quadros livres, necessários às
+ * alocações contíguas e alinhadas. Em cada banco, um cursor procura quadros livres a partir do início e
+ * outro procura quadros em uso a partir do fim; a página do quadro do fim é copiada para o quadro livre e
+ * as tabelas de páginas, a tabela invertida, a TLB e a política de substituição passam a usar o novo
+ * quadro. Quando os cursores se encontram, os quadros livres do banco estão todos juntos no fim. Quadros de
+ * páginas grandes e páginas grandes reservadas não são movidos.
+ *
+ * <p>Cada passo move no máximo a quantidade pedida de quadros com a trava de escrita; entre um passo e
+ * outro as traduções e alocações seguem normalmente e a passada continua de onde parou.
+ */
+public class MemoryCompactor {
+    private final MemoryManager manager;
+    private final int[] freeCursor;
+    private final int[] migrateCursor;
+    private final List<BankStatistics> banks;
+    private int bank;
+    private long totalFramesMigrated;
+
+    public MemoryCompactor(MemoryManager manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Memory manager cannot be null");
+        }
+        this.manager = manager;
+        this.banks = manager.getBankStatistics();
+        this.freeCursor = new int[banks.size()];
+        this.migrateCursor = new int[banks.size()];
+        restart();
+    }
+
+    /**
+     * Move até {@code maxMigrations} quadros. Traduções e alterações ficam suspensas durante o passo.
+     */
+    public CompactionReport step(int maxMigrations) {
+        if (maxMigrations <= 0) {
+            throw new IllegalArgumentException("Migrations per step must be positive");
+        }
+        return manager.withExclusiveAccess(() -> {
+            synchronized (this) {
+                return migrate(maxMigrations);
+            }
+        });
+    }
+
+    /**
+     * Executa passos de até {@code migrationsPerStep} quadros até a passada terminar ou {@code budget} se
+     * esgotar, liberando a trava entre um passo e outro. Ao menos um passo é executado.
+     */
+    public CompactionReport compact(int migrationsPerStep, Duration budget) {
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Compaction budget cannot be null or negative");
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        CompactionReport first = step(migrationsPerStep);
+        CompactionReport last = first;
+        int migrated = first.framesMigrated();
+        int steps = 1;
+        while (!last.complete() && System.nanoTime() - deadline < 0) {
+            last = step(migrationsPerStep);
+            migrated += last.framesMigrated();
+            steps++;
+        }
+        return new CompactionReport(migrated, steps, first.fragmentationBefore(), last.fragmentationAfter(),
+                last.complete());
+    }
+
+    private CompactionReport migrate(int maxMigrations) {
+        double before = manager.getBankFragmentationIndex();
+        int migrated = 0;
+        boolean complete = false;
+        while (migrated < maxMigrations) {
+            int free = nextFreeFrame();
+            int used = free < 0 ? -1 : nextMovableFrame(free);
+            if (used < 0) {
+                if (++bank == banks.size()) {
+                    complete = true;
+                    restart();
+                    break;
+                }
+                continue;
+            }
+            manager.migrateFrame(used, free);
+            migrated++;
+        }
+        totalFramesMigrated += migrated;
+        return new CompactionReport(migrated, 1, before, manager.getBankFragmentationIndex(), complete);
+    }
+
+    private int nextFreeFrame() {
+        while (freeCursor[bank] < migrateCursor[bank]) {
+            int frame = freeCursor[bank]++;
+            if (manager.isFrameFree(frame)) {
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+    private int nextMovableFrame(int freeFrame) {
+        while (migrateCursor[bank] > freeFrame) {
+            int frame = migrateCursor[bank]--;
+            if (manager.getFrameReferences(frame) > 0 && !manager.isHugeFrame(frame)) {
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+    private void restart() {
+        bank = 0;
+        for (int i = 0; i < banks.size(); i++) {
+            BankStatistics statistics = banks.get(i);
+            freeCursor[i] = statistics.firstFrame();
+            migrateCursor[i] = statistics.firstFrame() + statistics.frameCount() - 1;
+        }
+    }
+
+    public synchronized long getTotalFramesMigrated() {
+        return totalFramesMigrated;
+    }
+}
@@ -0,0 +1,109 @@
+package memory;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escreve o conteúdo de uma faixa de quadros em hexadecimal, uma linha por quadro. Cada quadro é
+ * copiado para um vetor reutilizado e convertido por tabela para um buffer de caracteres, que é
+ * entregue inteiro ao {@link Writer}; nenhuma formatação é feita por byte. Para despejos grandes,
+ * use um {@link java.io.BufferedWriter}.
+ */
+public class MemoryDumper {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int LINE_OVERHEAD = 128;
+
+    private final MemoryManager manager;
+    private final byte[] frameData;
+    private final char[] line;
+
+    public MemoryDumper(MemoryManager manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Memory manager cannot be null");
+        }
+        this.manager = manager;
+        int frameSize = manager.getPhysicalMemory().getFrameSize();
+        this.frameData = new byte[frameSize];
+        this.line = new char[frameSize * 3 + LINE_OVERHEAD];
+    }
+
+    /**
+     * Escreve os quadros de {@code firstFrame} a {@code firstFrame + frameCount - 1}.
+     *
+     * @throws IllegalArgumentException quando a faixa ultrapassa a memória física
+     */
+    public void dump(Writer out, int firstFrame, int frameCount, OutputFormat format) throws IOException {
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+        if (firstFrame < 0 || frameCount < 0 || firstFrame > physicalMemory.getNumberOfFrames() - frameCount) {
+            throw new IllegalArgumentException("Invalid frame range: " + firstFrame + " + " + frameCount);
+        }
+        for (int frame = firstFrame; frame < firstFrame + frameCount; frame++) {
+            physicalMemory.readInto(frame, frameData, 0);
+            int length = switch (format) {
+                case TEXT -> textLine(frame);
+                case CSV -> csvLine(frame);
+                case JSON -> jsonLine(frame);
+            };
+            out.write(line, 0, length);
+        }
+    }
+
+    /**
+     * Escreve todos os quadros da memória física.
+     */
+    public void dumpAll(Writer out, OutputFormat format) throws IOException {
+        dump(out, 0, manager.getPhysicalMemory().getNumberOfFrames(), format);
+    }
+
+    /**
+     * O dono e a página vêm da tabela invertida do gerenciador; em quadros compartilhados, o dono é um dos
+     * processos que os mapeiam.
+     */
+    private int textLine(int frame) {
+        String label = manager.getFrameMapping(frame).map(mapping -> {
+            String text = "PID " + mapping.pid() + ", página " + mapping.page();
+            if (mapping.shared()) {
+                text += ", compartilhado por " + manager.getFrameReferences(frame);
+            }
+            return mapping.dirty() ? text + ", modificada" : text;
+        }).orElse("livre");
+        int position = append("Quadro " + frame + " [" + label + "]: [", 0);
+        position = appendHex(position, true);
+        line[position++] = ']';
+        line[position++] = '\n';
+        return position;
+    }
+
+    private int csvLine(int frame) {
+        int position = append("frame," + frame + ',' + manager.getFrameOwner(frame) + ','
+                + manager.getFrameReferences(frame) + ',', 0);
+        position = appendHex(position, false);
+        line[position++] = '\n';
+        return position;
+    }
+
+    private int jsonLine(int frame) {
+        int page = manager.getFrameMapping(frame).map(FrameMapping::page).orElse(PagesTable.UNMAPPED);
+        int position = append("{\"type\":\"frame\",\"frame\":" + frame + ",\"owner\":" + manager.getFrameOwner(frame)
+                + ",\"page\":" + page + ",\"references\":" + manager.getFrameReferences(frame) + ",\"data\":\"", 0);
+        position = appendHex(position, false);
+        return append("\"}\n", position);
+    }
+
+    private int append(String text, int position) {
+        text.getChars(0, text.length(), line, position);
+        return position + text.length();
+    }
+
+    private int appendHex(int position, boolean separated) {
+        for (int i = 0; i < frameData.length; i++) {
+            if (separated && i > 0) {
+                line[position++] = ' ';
+            }
+            int value = frameData[i] & 0xFF;
+            line[position++] = HEX_DIGITS[value >>> 4];
+            line[position++] = HEX_DIGITS[value & 0x0F];
+        }
+        return position;
+    }
+}
@@ -1,89 +1,606 @@
 package memory;
 
-import java.util.ArrayDeque;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
 
 /**
  * Fachada responsável por orquestrar memória lógica, tabelas de páginas e memória física.
  * Controla quadros livres, cria processos e fornece informações para a interface de linha de comando.
+ *
+ * <p>Criação de processos e traduções de páginas residentes compartilham uma trava de leitura; criação em
+ * lote, faltas de página, despejos e encerramentos usam a trava de escrita. Leituras atendidas pela TLB não adquirem
+ * trava alguma e apenas validam, ao final, que nenhuma escrita ocorreu no meio. No modo concorrente
+ * ({@link Builder#concurrent(int)}) o registro de processos, o alocador de quadros e as TLBs (uma por
+ * processador) também passam a aceitar várias threads.
  */
-public class MemoryManager {
+public class MemoryManager implements AutoCloseable {
+    private static final int DEFAULT_TLB_SETS = 16;
+    private static final int DEFAULT_TLB_WAYS = 4;
+    private static final int DEFAULT_READAHEAD_PAGES = 8;
+    private static final long PAGE_NOT_PRESENT = -1L;
+    private static final int COMPRESSED_SLOT = 1 << 30;
+    private static final int PARALLEL_POPULATION_THRESHOLD = 64;
+
     private final PhysicalMemory physicalMemory;
     private final int pageSize;
     private final int maxProcessSize;
-    private final Map<Integer, Process> processes = new LinkedHashMap<>();
-    private final ArrayDeque<Integer> freeFrames = new ArrayDeque<>();
-    private final int[] frameOwners;
+    private final Map<Integer, Process> processes;
+    private final FrameAllocator frameAllocator;
+    private final StripedFrameAllocator banks;
+    private final Placement defaultPlacement;
+    private final FrameTable frameTable;
+    private final AtomicIntegerArray frameReferences;
+    private final ReverseMap reverseMap;
+    private final AtomicBitSet dirtyFrames;
+    private final AtomicBitSet unmergedChanges;
+    private final AtomicBitSet hugeFrames;
+    private final HugePagePool hugePagePool;
+    private final int framesPerHugePage;
+    private final TranslationLookasideBuffer[] tlbs;
+    private final PagingMode pagingMode;
+    private final ReplacementPolicy replacementPolicy;
+    private final boolean concurrent;
+    private final int maxReadahead;
+    private final StampedLock stateLock = new StampedLock();
+    private final MemoryMetrics metrics;
+    private final CompressedSwapTier compressedSwap;
+    private SwapSpace swapSpace;
+    private volatile MemoryReclaimer reclaimer;
+    private volatile long pageFaults;
+    private volatile long evictions;
+    private volatile long droppedPages;
+    private volatile long readaheadPages;
+    private volatile long lastSnapshotId;
 
     public MemoryManager(int physicalMemorySize, int pageSize, int maxProcessSize) {
+        this(builder(physicalMemorySize, pageSize, maxProcessSize));
+    }
+
+    /**
+     * @param tlb cache de traduções consultado por {@link #translate(int, int)} antes da tabela de páginas
+     */
+    public MemoryManager(int physicalMemorySize, int pageSize, int maxProcessSize, TranslationLookasideBuffer tlb) {
+        this(builder(physicalMemorySize, pageSize, maxProcessSize).tlb(tlb));
+    }
+
+    private MemoryManager(Builder builder) {
+        long physicalMemorySize = builder.physicalMemorySize;
+        int pageSize = builder.pageSize;
+        int maxProcessSize = builder.maxProcessSize;
         if (!isPowerOfTwo(physicalMemorySize) || !isPowerOfTwo(pageSize)) {
             throw new IllegalArgumentException("Memory size and page size must be powers of two");
         }
         if (maxProcessSize <= 0) {
             throw new IllegalArgumentException("Maximum process size must be positive");
         }
-        if (maxProcessSize > physicalMemorySize) {
+        if (maxProcessSize > physicalMemorySize && builder.pagingMode == PagingMode.EAGER) {
             throw new IllegalArgumentException("Maximum process size cannot exceed physical memory size");
         }
+        if (builder.tlb == null) {
+            throw new IllegalArgumentException("TLB cannot be null");
+        }
+        if (builder.physicalMemoryBackend == null) {
+            throw new IllegalArgumentException("Physical memory backend cannot be null");
+        }
+        if (builder.cpuCount <= 0) {
+            throw new IllegalArgumentException("CPU count must be positive");
+        }
+        if (builder.hugePageSize != 0 && (!isPowerOfTwo(builder.hugePageSize) || builder.hugePageSize <= pageSize
+                || builder.hugePageSize > physicalMemorySize)) {
+            throw new IllegalArgumentException(
+                    "Huge page size must be a power of two larger than the page size and within physical memory");
+        }
+        if (builder.reservedHugePages < 0) {
+            throw new IllegalArgumentException("Reserved huge pages cannot be negative");
+        }
+        if (maxProcessSize / pageSize >= FrameTable.MAX_PAGES) {
+            throw new IllegalArgumentException("Page size is too small for the maximum process size");
+        }
+        if (builder.bankCount > physicalMemorySize / pageSize) {
+            throw new IllegalArgumentException("Memory banks cannot outnumber frames");
+        }
 
-        this.physicalMemory = new PhysicalMemory(physicalMemorySize, pageSize);
+        this.physicalMemory = PhysicalMemory.create(builder.physicalMemoryBackend, physicalMemorySize, pageSize);
         this.pageSize = pageSize;
         this.maxProcessSize = maxProcessSize;
-        this.frameOwners = new int[this.physicalMemory.getNumberOfFrames()];
-        Arrays.fill(this.frameOwners, -1);
-        initializeFreeFrames();
+        this.pagingMode = builder.pagingMode;
+        this.replacementPolicy = builder.replacementPolicy;
+        this.swapSpace = builder.swapSpace;
+        this.compressedSwap = builder.compressedSwapCapacity == 0
+                ? null
+                : new CompressedSwapTier(pageSize, builder.compressedSwapCapacity, Deflater.BEST_SPEED);
+        this.concurrent = builder.concurrent;
+        this.maxReadahead = builder.readaheadPages;
+        int frameCount = physicalMemory.getNumberOfFrames();
+        this.frameTable = new FrameTable(frameCount);
+        this.frameReferences = new AtomicIntegerArray(frameCount);
+        this.reverseMap = new ReverseMap(frameCount);
+        this.dirtyFrames = new AtomicBitSet(frameCount);
+        this.unmergedChanges = new AtomicBitSet(frameCount);
+        this.hugeFrames = new AtomicBitSet(frameCount);
+        this.tlbs = new TranslationLookasideBuffer[builder.cpuCount];
+        this.tlbs[0] = builder.tlb;
+        for (int cpu = 1; cpu < tlbs.length; cpu++) {
+            tlbs[cpu] = builder.tlb.emptyCopy();
+        }
+        this.processes = concurrent ? new ConcurrentHashMap<>() : new LinkedHashMap<>();
+        if (builder.bankCount > 0) {
+            this.banks = new StripedFrameAllocator(frameCount, builder.bankCount);
+            this.frameAllocator = banks;
+        } else {
+            this.banks = null;
+            this.frameAllocator = concurrent
+                    ? new StripedFrameAllocator(frameCount, builder.cpuCount)
+                    : new BitmapFrameAllocator(frameCount);
+        }
+        this.defaultPlacement = builder.placement;
+        ensureValidPlacement(defaultPlacement);
+        this.framesPerHugePage = builder.hugePageSize / pageSize;
+        this.hugePagePool = builder.hugePageSize == 0
+                ? null
+                : new HugePagePool(frameAllocator, framesPerHugePage, builder.reservedHugePages);
+        if (replacementPolicy != null) {
+            replacementPolicy.initialize(frameCount);
+        }
+        this.metrics = builder.metrics ? new MemoryMetrics(this) : null;
     }
 
-    private void initializeFreeFrames() {
-        for (int i = 0; i < physicalMemory.getNumberOfFrames(); i++) {
-            freeFrames.addLast(i);
-        }
+    /**
+     * Inicia a configuração de um gerenciador com opções além das obrigatórias.
+     */
+    public static Builder builder(long physicalMemorySize, int pageSize, int maxProcessSize) {
+        return new Builder(physicalMemorySize, pageSize, maxProcessSize);
     }
 
     /**
-     * Cria e registra um novo processo, alocando quadros para todas as páginas lógicas.
+     * Cria e registra um novo processo. No modo {@link PagingMode#EAGER} todas as páginas lógicas recebem
+     * quadros imediatamente; no modo {@link PagingMode#DEMAND} a tabela começa vazia e as páginas são
+     * carregadas no primeiro acesso.
      *
      * @throws IllegalArgumentException quando o PID já existe ou o tamanho solicitado viola os limites
      * @throws IllegalStateException    quando não há quadros suficientes disponíveis
      */
     public Process createProcess(int pid, int processSize) {
+        return createProcess(pid, processSize, PageContent.random());
+    }
+
+    /**
+     * Cria e registra um novo processo cujas páginas são povoadas conforme {@code content}. Com
+     * {@link PageContent#zeroFill()} ou {@link PageContent#seeded(long)} nenhuma cópia do processo é
+     * mantida fora dos quadros: cada página é gerada no momento em que é carregada.
+     *
+     * @throws IllegalArgumentException quando o PID já existe ou o tamanho solicitado viola os limites
+     * @throws IllegalStateException    quando não há quadros suficientes disponíveis
+     */
+    public Process createProcess(int pid, int processSize, PageContent content) {
+        return createProcess(pid, processSize, content, 0);
+    }
+
+    /**
+     * Cria e registra um processo cujas primeiras {@code hugePageCount} páginas grandes são formadas por
+     * quadros contíguos e alinhados, alocados de imediato e mapeados cada uma em uma única entrada da tabela
+     * e da TLB. Páginas grandes nunca são despejadas nem compartilhadas; o restante do espaço de
+     * endereçamento usa páginas comuns, conforme o modo de paginação.
+     *
+     * @throws IllegalArgumentException quando o PID já existe, o tamanho solicitado viola os limites ou as
+     *                                  páginas grandes não cabem no processo
+     * @throws IllegalStateException    quando não há quadros suficientes, ou contíguos, disponíveis
+     */
+    public Process createProcess(int pid, int processSize, PageContent content, int hugePageCount) {
+        return createProcess(pid, processSize, content, hugePageCount, defaultPlacement);
+    }
+
+    /**
+     * Cria e registra um processo cujos quadros são escolhidos conforme {@code placement}, em vez da
+     * política padrão definida em {@link Builder#banks(int, Placement)}.
+     *
+     * @throws IllegalArgumentException quando o PID já existe, o tamanho solicitado viola os limites ou o
+     *                                  banco preferido não existe
+     * @throws IllegalStateException    quando não há quadros suficientes disponíveis
+     */
+    public Process createProcess(int pid, int processSize, PageContent content, Placement placement) {
+        return createProcess(pid, processSize, content, 0, placement);
+    }
+
+    /**
+     * Cria e registra um processo cuja memória lógica é o conteúdo de {@code file}, mapeado com
+     * {@link java.nio.channels.FileChannel#map}. Nada é lido na criação: sob demanda, cada página vai do arquivo
+     * direto para o quadro no primeiro acesso, com leitura antecipada das seguintes quando o acesso é
+     * sequencial (veja {@link Builder#readahead(int)}), e páginas não alteradas são descartadas no despejo em
+     * vez de irem para a área de troca, pois podem ser relidas do arquivo. O arquivo é somente leitura:
+     * escritas alteram apenas a cópia do processo.
+     *
+     * @throws IllegalArgumentException quando o PID já existe ou o arquivo está vazio ou excede o tamanho máximo
+     * @throws IllegalStateException    quando não há quadros suficientes disponíveis
+     * @throws UncheckedIOException     quando o arquivo não pode ser lido
+     */
+    public Process createProcess(int pid, Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Process file cannot be null");
+        }
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + file, ex);
+        }
+        if (fileSize > maxProcessSize) {
+            throw new IllegalArgumentException("Process size exceeds maximum allowed size");
+        }
+        return createProcess(pid, (int) fileSize, () -> LogicalMemory.fromFile(file, pageSize), 0, defaultPlacement);
+    }
+
+    private Process createProcess(int pid, int processSize, PageContent content, int hugePageCount,
+                                  Placement placement) {
+        return createProcess(pid, processSize, () -> new LogicalMemory(processSize, pageSize, content), hugePageCount,
+                placement);
+    }
+
+    private Process createProcess(int pid, int processSize, Supplier<LogicalMemory> logicalMemory, int hugePageCount,
+                                  Placement placement) {
+        if (metrics == null) {
+            return instantiateProcess(pid, processSize, logicalMemory, hugePageCount, placement);
+        }
+        long start = System.nanoTime();
+        try {
+            Process process = instantiateProcess(pid, processSize, logicalMemory, hugePageCount, placement);
+            metrics.processCreated(pid, processSize, System.nanoTime() - start);
+            return process;
+        } catch (RuntimeException creationError) {
+            metrics.processCreationFailed(pid, processSize, System.nanoTime() - start);
+            throw creationError;
+        }
+    }
+
+    /**
+     * Cria vários processos como uma única operação: ou todos são registrados, ou nenhum. Os quadros de todas
+     * as páginas comuns são reservados de uma só vez antes de qualquer cópia, as páginas são povoadas em
+     * paralelo e os processos só se tornam visíveis juntos, ao final. Especificações sem política de bancos
+     * usam a padrão do gerenciador.
+     *
+     * @return processos criados, na ordem das especificações
+     * @throws IllegalArgumentException quando alguma especificação é inválida ou o PID se repete ou já existe
+     * @throws IllegalStateException    quando não há quadros suficientes para o lote inteiro
+     */
+    public List<Process> createProcesses(List<ProcessSpec> specs) {
+        if (specs == null) {
+            throw new IllegalArgumentException("Process specifications cannot be null");
+        }
+        if (metrics == null) {
+            return instantiateProcesses(specs);
+        }
+        long start = System.nanoTime();
+        try {
+            List<Process> created = instantiateProcesses(specs);
+            long share = (System.nanoTime() - start) / Math.max(1, created.size());
+            for (Process process : created) {
+                metrics.processCreated(process.getPid(), process.getSizeInBytes(), share);
+            }
+            return created;
+        } catch (RuntimeException creationError) {
+            long share = (System.nanoTime() - start) / Math.max(1, specs.size());
+            for (ProcessSpec spec : specs) {
+                if (spec != null) {
+                    metrics.processCreationFailed(spec.pid(), spec.size(), share);
+                }
+            }
+            throw creationError;
+        }
+    }
+
+    private List<Process> instantiateProcesses(List<ProcessSpec> specs) {
+        int count = specs.size();
+        Set<Integer> pids = new HashSet<>();
+        Placement[] placements = new Placement[count];
+        for (int i = 0; i < count; i++) {
+            ProcessSpec spec = specs.get(i);
+            if (spec == null) {
+                throw new IllegalArgumentException("Process specification cannot be null");
+            }
+            if (!pids.add(spec.pid())) {
+                throw new IllegalArgumentException("PID " + spec.pid() + " appears more than once in the batch");
+            }
+            ensurePidAvailable(spec.pid());
+            ensureValidProcessSize(spec.size());
+            placements[i] = spec.placement() == null ? defaultPlacement : spec.placement();
+            ensureValidPlacement(placements[i]);
+        }
+        LogicalMemory[] logicalMemories = IntStream.range(0, count).parallel()
+                .mapToObj(i -> new LogicalMemory(specs.get(i).size(), pageSize, specs.get(i).content()))
+                .toArray(LogicalMemory[]::new);
+
+        int[] firstBasePage = new int[count];
+        int[] batchOffset = new int[count + 1];
+        int hugeTotal = 0;
+        for (int i = 0; i < count; i++) {
+            int pagesNeeded = logicalMemories[i].getNumberOfPages();
+            ensureValidHugePageCount(pagesNeeded, specs.get(i).hugePageCount());
+            firstBasePage[i] = specs.get(i).hugePageCount() * framesPerHugePage;
+            hugeTotal += specs.get(i).hugePageCount();
+            int basePages = pagingMode == PagingMode.DEMAND ? 0 : pagesNeeded - firstBasePage[i];
+            batchOffset[i + 1] = batchOffset[i] + basePages;
+        }
+
+        int totalBase = batchOffset[count];
+        int[] frames = new int[totalBase];
+        int[] hugePages = new int[hugeTotal];
+        int[] hugeCount = {0};
+        int[] allocatedCount = {0};
+        Process[] created = new Process[count];
+        // a trava de escrita vai da reserva à publicação: no meio do caminho os quadros do lote já têm dono
+        // na tabela de quadros, mas o dono ainda não está em processes, e a fusão de páginas ou a compactação
+        // os devolveriam ao alocador sem atualizar tabela de páginas alguma
+        long stamp = stateLock.writeLock();
+        try {
+            ensureFramesAvailable(totalBase + hugeTotal * framesPerHugePage);
+            for (int i = 0; i < count; i++) {
+                for (int hugePage = 0; hugePage < specs.get(i).hugePageCount(); hugePage++) {
+                    hugePages[hugeCount[0]++] = allocateHugePage(specs.get(i).pid(), logicalMemories[i],
+                            hugePage * framesPerHugePage);
+                }
+            }
+            reserveBatchFrames(specs, placements, firstBasePage, batchOffset, frames, allocatedCount);
+            populateBatch(specs, logicalMemories, firstBasePage, batchOffset, frames);
+
+            int hugeIndex = 0;
+            for (int i = 0; i < count; i++) {
+                ProcessSpec spec = specs.get(i);
+                int pagesNeeded = logicalMemories[i].getNumberOfPages();
+                PagesTable pagesTable;
+                if (spec.hugePageCount() > 0) {
+                    pagesTable = PagesTable.withHugePages(pagesNeeded, framesPerHugePage);
+                } else if (pagingMode == PagingMode.DEMAND) {
+                    pagesTable = PagesTable.sparse(pagesNeeded);
+                } else {
+                    pagesTable = PagesTable.dense(pagesNeeded);
+                }
+                for (int hugePage = 0; hugePage < spec.hugePageCount(); hugePage++) {
+                    pagesTable.mapHugePage(hugePage, hugePages[hugeIndex++]);
+                }
+                for (int j = batchOffset[i]; j < batchOffset[i + 1]; j++) {
+                    pagesTable.mapPageToFrame(firstBasePage[i] + j - batchOffset[i], frames[j]);
+                }
+                created[i] = new Process(spec.pid(), logicalMemories[i], pagesTable, placements[i]);
+            }
+            registerAll(created);
+        } catch (RuntimeException allocationError) {
+            rollback(frames, allocatedCount[0], hugePages, hugeCount[0]);
+            throw allocationError;
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+        return List.of(created);
+    }
+
+    /**
+     * Reserva os quadros de todas as páginas comuns do lote. Sem bancos, a reserva é uma única operação do
+     * alocador; com bancos, cada página segue a política do seu processo.
+     */
+    private void reserveBatchFrames(List<ProcessSpec> specs, Placement[] placements, int[] firstBasePage,
+                                    int[] batchOffset, int[] frames, int[] allocatedCount) {
+        int total = frames.length;
+        if (banks == null) {
+            boolean reserved = frameAllocator.allocateBatch(total, frames);
+            while (!reserved && hugePagePool != null && hugePagePool.split()) {
+                reserved = frameAllocator.allocateBatch(total, frames);
+            }
+            if (!reserved) {
+                throw new IllegalStateException("Not enough physical memory frames available");
+            }
+            allocatedCount[0] = total;
+            if (metrics != null) {
+                for (int i = 0; i < total; i++) {
+                    metrics.frameAllocated();
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < specs.size(); i++) {
+            for (int j = batchOffset[i]; j < batchOffset[i + 1]; j++) {
+                int frame = takeFreeFrame(specs.get(i).pid(), placements[i], firstBasePage[i] + j - batchOffset[i]);
+                if (frame == FrameAllocator.NO_FRAME) {
+                    throw new IllegalStateException("Not enough physical memory frames available");
+                }
+                frames[allocatedCount[0]++] = frame;
+            }
+        }
+    }
+
+    /**
+     * Povoa os quadros reservados para o lote. Cada quadro pertence a uma única página, então lotes grandes
+     * são copiados em paralelo sem coordenação.
+     */
+    private void populateBatch(List<ProcessSpec> specs, LogicalMemory[] logicalMemories, int[] firstBasePage,
+                               int[] batchOffset, int[] frames) {
+        IntStream indexes = IntStream.range(0, frames.length);
+        if (frames.length >= PARALLEL_POPULATION_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(j -> {
+            int i = Arrays.binarySearch(batchOffset, j);
+            if (i < 0) {
+                i = -i - 2;
+            } else {
+                while (batchOffset[i + 1] == j) {
+                    i++;
+                }
+            }
+            int frame = frames[j];
+            int page = firstBasePage[i] + j - batchOffset[i];
+            frameTable.map(frame, specs.get(i).pid(), page);
+            frameReferences.set(frame, 1);
+            logicalMemories[i].copyPageToFrame(page, physicalMemory, frame);
+            markDirty(frame);
+        });
+    }
+
+    /**
+     * Publica todos os processos do lote de uma vez. Exige a trava de escrita, para que nenhuma thread observe
+     * apenas parte dele; se algum PID foi registrado desde a validação, nada é publicado.
+     */
+    private void registerAll(Process[] created) {
+        for (Process process : created) {
+            ensurePidAvailable(process.getPid());
+        }
+        for (Process process : created) {
+            processes.put(process.getPid(), process);
+        }
+    }
+
+    private Process instantiateProcess(int pid, int processSize, Supplier<LogicalMemory> logicalMemorySupplier,
+                                       int hugePageCount, Placement placement) {
         ensurePidAvailable(pid);
         ensureValidProcessSize(processSize);
+        ensureValidPlacement(placement);
 
-        LogicalMemory logicalMemory = new LogicalMemory(processSize, pageSize);
+        LogicalMemory logicalMemory = logicalMemorySupplier.get();
         int pagesNeeded = logicalMemory.getNumberOfPages();
-        ensureFramesAvailable(pagesNeeded);
+        ensureValidHugePageCount(pagesNeeded, hugePageCount);
+        long stamp = stateLock.readLock();
+        try {
+            if (pagingMode == PagingMode.DEMAND && hugePageCount == 0) {
+                // mesmo sem quadros a alocar, o registro exclui o recuperador e a fusão de páginas, que
+                // percorrem processes em segundo plano mesmo fora do modo concorrente
+                return register(new Process(pid, logicalMemory, PagesTable.sparse(pagesNeeded), placement),
+                        null, 0, null, 0);
+            }
+            return createResidentProcess(pid, logicalMemory, pagesNeeded, hugePageCount, placement);
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Aloca as páginas grandes e, no modo antecipado, as demais páginas do processo.
+     */
+    private Process createResidentProcess(int pid, LogicalMemory logicalMemory, int pagesNeeded, int hugePageCount,
+                                          Placement placement) {
+        int firstBasePage = hugePageCount * framesPerHugePage;
+        int basePages = pagingMode == PagingMode.DEMAND ? 0 : pagesNeeded - firstBasePage;
+        ensureFramesAvailable(firstBasePage + basePages);
 
-        PagesTable pagesTable = new PagesTable(pagesNeeded);
-        List<Integer> allocatedFrames = new ArrayList<>(pagesNeeded);
+        PagesTable pagesTable;
+        if (hugePageCount > 0) {
+            pagesTable = PagesTable.withHugePages(pagesNeeded, framesPerHugePage);
+        } else {
+            pagesTable = PagesTable.dense(pagesNeeded);
+        }
+        int[] hugePages = new int[hugePageCount];
+        int hugeCount = 0;
+        int[] allocatedFrames = new int[basePages];
+        int allocatedCount = 0;
         try {
-            for (int page = 0; page < pagesNeeded; page++) {
-                int frame = allocateFrame(pid, logicalMemory, page);
+            for (int hugePage = 0; hugePage < hugePageCount; hugePage++) {
+                int firstFrame = allocateHugePage(pid, logicalMemory, hugePage * framesPerHugePage);
+                hugePages[hugeCount++] = firstFrame;
+                pagesTable.mapHugePage(hugePage, firstFrame);
+            }
+            for (int page = firstBasePage; page < firstBasePage + basePages; page++) {
+                int frame = allocateFrame(pid, placement, logicalMemory, page);
+                allocatedFrames[allocatedCount++] = frame;
                 pagesTable.mapPageToFrame(page, frame);
-                allocatedFrames.add(frame);
             }
         } catch (RuntimeException allocationError) {
-            allocatedFrames.forEach(this::releaseFrame);
+            rollback(allocatedFrames, allocatedCount, hugePages, hugeCount);
             throw allocationError;
         }
 
-        Process process = new Process(pid, logicalMemory, pagesTable);
-        processes.put(pid, process);
+        return register(new Process(pid, logicalMemory, pagesTable, placement), allocatedFrames, allocatedCount,
+                hugePages, hugeCount);
+    }
+
+    /**
+     * Publica o processo. Se outra thread registrou o mesmo PID nesse meio-tempo, os quadros já alocados
+     * são devolvidos e a criação falha como se o PID já existisse desde o início.
+     */
+    private Process register(Process process, int[] allocatedFrames, int allocatedCount,
+                             int[] hugePages, int hugeCount) {
+        if (processes.putIfAbsent(process.getPid(), process) != null) {
+            rollback(allocatedFrames, allocatedCount, hugePages, hugeCount);
+            throw new IllegalArgumentException("Process with PID " + process.getPid() + " already exists");
+        }
         return process;
     }
 
-    private int allocateFrame(int pid, LogicalMemory logicalMemory, int page) {
-        int frame = freeFrames.removeFirst();
-        frameOwners[frame] = pid;
-        byte[] pageData = logicalMemory.readPage(page);
-        physicalMemory.writeFrame(frame, pageData);
+    private void rollback(int[] allocatedFrames, int allocatedCount, int[] hugePages, int hugeCount) {
+        for (int i = 0; i < allocatedCount; i++) {
+            releaseFrame(allocatedFrames[i]);
+        }
+        for (int i = 0; i < hugeCount; i++) {
+            releaseHugePage(hugePages[i]);
+        }
+    }
+
+    /**
+     * Aloca uma página grande e a preenche com as páginas lógicas a partir de {@code firstPage}.
+     *
+     * @return primeiro quadro da página grande
+     */
+    private int allocateHugePage(int pid, LogicalMemory logicalMemory, int firstPage) {
+        int firstFrame = hugePagePool.allocate();
+        if (firstFrame == FrameAllocator.NO_FRAME) {
+            throw new IllegalStateException("Not enough contiguous physical memory for a huge page");
+        }
+        for (int i = 0; i < framesPerHugePage; i++) {
+            int frame = firstFrame + i;
+            hugeFrames.set(frame);
+            frameTable.map(frame, pid, firstPage + i);
+            frameReferences.set(frame, 1);
+            logicalMemory.copyPageToFrame(firstPage + i, physicalMemory, frame);
+            markDirty(frame);
+            if (metrics != null) {
+                metrics.frameAllocated();
+            }
+        }
+        return firstFrame;
+    }
+
+    /**
+     * Devolve ao reservatório a página grande que começa em {@code firstFrame}, já sem nenhum mapeamento.
+     */
+    private void releaseHugePage(int firstFrame) {
+        for (int frame = firstFrame; frame < firstFrame + framesPerHugePage; frame++) {
+            hugeFrames.clear(frame);
+            frameTable.clear(frame);
+            frameReferences.set(frame, 0);
+            physicalMemory.clearFrame(frame);
+            markDirty(frame);
+            if (metrics != null) {
+                metrics.frameReleased();
+            }
+        }
+        hugePagePool.release(firstFrame);
+    }
+
+    private int allocateFrame(int pid, Placement placement, LogicalMemory logicalMemory, int page) {
+        int frame = takeFreeFrame(pid, placement, page);
+        if (frame == FrameAllocator.NO_FRAME) {
+            throw new IllegalStateException("Not enough physical memory frames available");
+        }
+        frameTable.map(frame, pid, page);
+        frameReferences.set(frame, 1);
+        logicalMemory.copyPageToFrame(page, physicalMemory, frame);
+        markDirty(frame);
         return frame;
     }
 
@@ -102,12 +619,252 @@ public class MemoryManager {
         }
     }
 
+    private void ensureValidHugePageCount(int pagesNeeded, int hugePageCount) {
+        if (hugePageCount == 0) {
+            return;
+        }
+        if (hugePagePool == null) {
+            throw new IllegalArgumentException("Huge pages are not enabled");
+        }
+        if (hugePageCount < 0 || (long) hugePageCount * framesPerHugePage > pagesNeeded) {
+            throw new IllegalArgumentException("Process cannot hold " + hugePageCount + " huge pages");
+        }
+    }
+
+    private void ensureValidPlacement(Placement placement) {
+        if (placement == null) {
+            throw new IllegalArgumentException("Placement cannot be null");
+        }
+        if (placement.policy() == Placement.Policy.PREFERRED && placement.bank() >= getBankCount()) {
+            throw new IllegalArgumentException("Memory bank " + placement.bank() + " does not exist");
+        }
+    }
+
     private void ensureFramesAvailable(int pagesNeeded) {
-        if (freeFrames.size() < pagesNeeded) {
+        if (getAvailableFrames() < pagesNeeded) {
             throw new IllegalStateException("Not enough physical memory frames available");
         }
     }
 
+    /**
+     * Encerra o processo, devolvendo seus quadros ao alocador e liberando os slots que ocupava na área de troca.
+     *
+     * @throws IllegalArgumentException quando o processo não existe
+     */
+    public void destroyProcess(int pid) {
+        long stamp = stateLock.writeLock();
+        try {
+            Process process = requireProcess(pid);
+            processes.remove(pid);
+            for (TranslationLookasideBuffer tlb : tlbs) {
+                tlb.flush(pid);
+            }
+            PagesTable pagesTable = process.getPagesTable();
+            pagesTable.forEachHugeMapping((hugePage, firstFrame) -> releaseHugePage(firstFrame));
+            pagesTable.forEachMapping((page, frame) -> {
+                if (!pagesTable.isHugePage(page)) {
+                    releaseMapping(pid, page, frame);
+                }
+            });
+            process.forEachSwapSlot((page, slot) -> freeSwapped(slot));
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+        if (metrics != null) {
+            metrics.processDestroyed();
+        }
+    }
+
+    /**
+     * Cria um processo filho idêntico ao pai sem copiar quadros: a tabela do filho aponta para os mesmos
+     * quadros, que passam a ser compartilhados e protegidos contra escrita. A primeira escrita de qualquer
+     * um dos dois em uma página compartilhada dá ao escritor uma cópia própria daquele quadro. Páginas do
+     * pai que estão na área de troca são duplicadas em novos slots. Páginas grandes não são compartilhadas:
+     * o filho recebe de imediato uma cópia de cada uma.
+     *
+     * @throws IllegalArgumentException quando o pai não existe ou o PID do filho já está em uso
+     * @throws IllegalStateException    quando não há memória contígua para copiar as páginas grandes do pai
+     */
+    public Process forkProcess(int parentPid, int childPid) {
+        if (metrics == null) {
+            return instantiateFork(parentPid, childPid);
+        }
+        long start = System.nanoTime();
+        try {
+            Process child = instantiateFork(parentPid, childPid);
+            metrics.processCreated(childPid, child.getSizeInBytes(), System.nanoTime() - start);
+            return child;
+        } catch (RuntimeException creationError) {
+            // o pai pode nem existir: o tamanho do filho que falhou não é conhecido
+            metrics.processCreationFailed(childPid, 0, System.nanoTime() - start);
+            throw creationError;
+        }
+    }
+
+    private Process instantiateFork(int parentPid, int childPid) {
+        long stamp = stateLock.writeLock();
+        try {
+            Process parent = requireProcess(parentPid);
+            ensurePidAvailable(childPid);
+
+            PagesTable parentTable = parent.getPagesTable();
+            int pageCount = parentTable.size();
+            PagesTable childTable;
+            if (parentTable.getPagesPerHugePage() > 0) {
+                childTable = PagesTable.withHugePages(pageCount, parentTable.getPagesPerHugePage());
+            } else if (pagingMode == PagingMode.DEMAND) {
+                childTable = PagesTable.sparse(pageCount);
+            } else {
+                childTable = PagesTable.dense(pageCount);
+            }
+            if (parentTable.getPagesPerHugePage() > 0) {
+                copyHugePages(parentTable, childTable, childPid);
+            }
+            Process child = new Process(childPid, parent.getLogicalMemory(), childTable, parent.getPlacement());
+            parentTable.forEachMapping((page, frame) -> {
+                if (!parentTable.isHugePage(page)) {
+                    childTable.mapPageToFrame(page, frame);
+                    shareFrame(frame, childPid, page);
+                }
+            });
+            parent.forEachSwapSlot((page, slot) -> child.setSwapSlot(page, duplicateSwapSlot(slot)));
+            processes.put(childPid, child);
+            return child;
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copia cada página grande do pai para uma página grande nova do filho, devolvendo as já copiadas se faltar memória.
+     */
+    private void copyHugePages(PagesTable parentTable, PagesTable childTable, int childPid) {
+        int[] copies = new int[childTable.size() / framesPerHugePage];
+        int[] copyCount = {0};
+        try {
+            parentTable.forEachHugeMapping((hugePage, firstFrame) -> {
+                int copy = hugePagePool.allocate();
+                if (copy == FrameAllocator.NO_FRAME) {
+                    throw new IllegalStateException("Not enough contiguous physical memory to copy a huge page");
+                }
+                copies[copyCount[0]++] = copy;
+                for (int i = 0; i < framesPerHugePage; i++) {
+                    physicalMemory.copyFrame(firstFrame + i, copy + i);
+                    hugeFrames.set(copy + i);
+                    frameTable.map(copy + i, childPid, hugePage * framesPerHugePage + i);
+                    frameReferences.set(copy + i, 1);
+                    markDirty(copy + i);
+                    if (metrics != null) {
+                        metrics.frameAllocated();
+                    }
+                }
+                childTable.mapHugePage(hugePage, copy);
+            });
+        } catch (RuntimeException copyError) {
+            for (int i = 0; i < copyCount[0]; i++) {
+                releaseHugePage(copies[i]);
+            }
+            throw copyError;
+        }
+    }
+
+    private int duplicateSwapSlot(int slot) {
+        ByteBuffer pageData = ByteBuffer.allocate(pageSize);
+        loadSwapped(slot, pageData);
+        return storeSwapped(pageData.flip());
+    }
+
+    /**
+     * Acrescenta {@code pageCount} páginas zeradas ao fim do espaço de endereçamento do processo, como o
+     * {@code sbrk}. As páginas existentes continuam nos mesmos quadros e entradas da tabela, e a memória lógica
+     * não é copiada; o tamanho do processo passa a ser múltiplo da página. No modo antecipado as novas páginas
+     * recebem quadros de imediato; sob demanda, são carregadas no primeiro acesso.
+     *
+     * @throws IllegalArgumentException quando o processo não existe, {@code pageCount} não é positivo ou o novo
+     *                                  tamanho excede o máximo permitido
+     * @throws IllegalStateException    quando não há quadros suficientes para as novas páginas
+     */
+    public Process growProcess(int pid, int pageCount) {
+        long stamp = stateLock.writeLock();
+        try {
+            Process process = requireProcess(pid);
+            if (pageCount <= 0) {
+                throw new IllegalArgumentException("Page count must be positive");
+            }
+            PagesTable pagesTable = process.getPagesTable();
+            int currentPages = pagesTable.size();
+            if (((long) currentPages + pageCount) * pageSize > maxProcessSize) {
+                throw new IllegalArgumentException("Process size exceeds maximum allowed size");
+            }
+            int grownPages = currentPages + pageCount;
+            LogicalMemory grown = process.getLogicalMemory().resize(grownPages);
+            if (pagingMode == PagingMode.EAGER) {
+                ensureFramesAvailable(pageCount);
+            }
+            pagesTable.resize(grownPages);
+            if (pagingMode == PagingMode.EAGER) {
+                int[] allocatedFrames = new int[pageCount];
+                int allocatedCount = 0;
+                try {
+                    for (int page = currentPages; page < grownPages; page++) {
+                        int frame = allocateFrame(pid, process.getPlacement(), grown, page);
+                        allocatedFrames[allocatedCount++] = frame;
+                        pagesTable.mapPageToFrame(page, frame);
+                    }
+                } catch (RuntimeException allocationError) {
+                    rollback(allocatedFrames, allocatedCount, null, 0);
+                    pagesTable.resize(currentPages);
+                    throw allocationError;
+                }
+            }
+            process.resize(grown);
+            return process;
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove as últimas {@code pageCount} páginas do processo, como o {@code munmap} do fim do heap: seus
+     * quadros e slots da área de troca são liberados e as traduções em cache, invalidadas. As demais páginas
+     * não são tocadas. Se o processo crescer de novo, as páginas voltam zeradas.
+     *
+     * @throws IllegalArgumentException quando o processo não existe, {@code pageCount} não deixa ao menos uma
+     *                                  página ou a redução alcançaria uma página grande
+     */
+    public Process shrinkProcess(int pid, int pageCount) {
+        long stamp = stateLock.writeLock();
+        try {
+            Process process = requireProcess(pid);
+            PagesTable pagesTable = process.getPagesTable();
+            int currentPages = pagesTable.size();
+            if (pageCount <= 0 || pageCount >= currentPages) {
+                throw new IllegalArgumentException("Process with " + currentPages + " pages cannot shrink by "
+                        + pageCount);
+            }
+            int remainingPages = currentPages - pageCount;
+            if (pagesTable.isHugePage(remainingPages)) {
+                throw new IllegalArgumentException("Cannot shrink PID " + pid + " into a huge page");
+            }
+            for (int page = remainingPages; page < currentPages; page++) {
+                int frame = pagesTable.unmapPage(page);
+                if (frame != PagesTable.UNMAPPED) {
+                    invalidateTranslation(pid, page);
+                    releaseMapping(pid, page, frame);
+                }
+                int slot = process.clearSwapSlot(page);
+                if (slot != PagesTable.UNMAPPED) {
+                    freeSwapped(slot);
+                }
+            }
+            pagesTable.resize(remainingPages);
+            process.resize(process.getLogicalMemory().resize(remainingPages));
+            return process;
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+    }
+
     /**
      * Localiza um processo pelo PID, caso tenha sido criado anteriormente.
      */
@@ -115,47 +872,1200 @@ public class MemoryManager {
         return Optional.ofNullable(processes.get(pid));
     }
 
-    public Collection<Process> listProcesses() {
-        return Collections.unmodifiableCollection(processes.values());
+    /**
+     * Converte um endereço virtual do processo no endereço físico correspondente,
+     * consultando primeiro a TLB e, em caso de falta, a tabela de páginas. No modo concorrente o
+     * endereço retornado pode deixar de valer logo em seguida, se a página for despejada por outra thread.
+     *
+     * @throws IllegalArgumentException quando o processo não existe ou o endereço está fora do seu espaço
+     */
+    public long translate(int pid, int virtualAddress) {
+        if (metrics == null) {
+            return translateAddress(pid, virtualAddress);
+        }
+        long start = System.nanoTime();
+        try {
+            return translateAddress(pid, virtualAddress);
+        } finally {
+            metrics.translationCompleted(System.nanoTime() - start);
+        }
     }
 
-    public int getFrameOwner(int frameNumber) {
-        validateFrameNumber(frameNumber);
-        return frameOwners[frameNumber];
+    private long translateAddress(int pid, int virtualAddress) {
+        long stamp = stateLock.readLock();
+        try {
+            long address = translateResident(pid, virtualAddress);
+            if (address != PAGE_NOT_PRESENT) {
+                return address;
+            }
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+
+        stamp = stateLock.writeLock();
+        try {
+            return translateWithFault(pid, virtualAddress, false);
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Calcula o percentual de bytes livres na memória física.
+     * Lê o byte armazenado no endereço virtual do processo.
      */
-    public double getFreeMemoryPercentage() {
-        if (physicalMemory.getTotalSize() == 0) {
-            return 0.0;
+    public byte read(int pid, int virtualAddress) {
+        if (metrics == null) {
+            return readByte(pid, virtualAddress);
+        }
+        long start = System.nanoTime();
+        try {
+            return readByte(pid, virtualAddress);
+        } finally {
+            metrics.translationCompleted(System.nanoTime() - start);
         }
-        int freeBytes = freeFrames.size() * pageSize;
-        return (freeBytes * 100.0) / physicalMemory.getTotalSize();
     }
 
-    public PhysicalMemory getPhysicalMemory() {
-        return physicalMemory;
+    private byte readByte(int pid, int virtualAddress) {
+        long stamp = stateLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                TranslationLookasideBuffer tlb = currentTlb();
+                long address = cachedTranslation(tlb, pid, virtualAddress);
+                if (address != PAGE_NOT_PRESENT) {
+                    byte value = physicalMemory.readByte(address);
+                    if (stateLock.validate(stamp)) {
+                        // só a leitura confirmada conta: se falhar, o caminho com trava registra o acesso
+                        recordOptimisticAccess(tlb, stamp, frameOf(address), pid, virtualAddress / pageSize);
+                        return value;
+                    }
+                }
+            } catch (RuntimeException inconsistentRead) {
+                if (stateLock.validate(stamp)) {
+                    throw inconsistentRead;
+                }
+            }
+        }
+
+        stamp = stateLock.readLock();
+        try {
+            long address = translateResident(pid, virtualAddress);
+            if (address != PAGE_NOT_PRESENT) {
+                return physicalMemory.readByte(address);
+            }
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+
+        stamp = stateLock.writeLock();
+        try {
+            return physicalMemory.readByte(translateWithFault(pid, virtualAddress, false));
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
     }
 
-    public int getMaxProcessSize() {
-        return maxProcessSize;
+    /**
+     * Grava um byte no endereço virtual do processo. Se a página estiver em um quadro compartilhado
+     * por {@link #forkProcess(int, int)}, o processo recebe antes uma cópia própria do quadro.
+     */
+    public void write(int pid, int virtualAddress, byte value) {
+        if (metrics == null) {
+            writeByte(pid, virtualAddress, value);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writeByte(pid, virtualAddress, value);
+        } finally {
+            metrics.translationCompleted(System.nanoTime() - start);
+        }
     }
 
-    private boolean isPowerOfTwo(int value) {
-        return (value > 0) && ((value & (value - 1)) == 0);
+    private void writeByte(int pid, int virtualAddress, byte value) {
+        long stamp = stateLock.readLock();
+        try {
+            long address = translateResident(pid, virtualAddress);
+            if (address != PAGE_NOT_PRESENT && !isShared(frameOf(address))) {
+                physicalMemory.writeByte(address, value);
+                markWritten(frameOf(address));
+                return;
+            }
+        } finally {
+            stateLock.unlockRead(stamp);
+        }
+
+        stamp = stateLock.writeLock();
+        try {
+            long address = translateWithFault(pid, virtualAddress, true);
+            physicalMemory.writeByte(address, value);
+            markWritten(frameOf(address));
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
     }
 
-    private void validateFrameNumber(int frameNumber) {
-        if (frameNumber < 0 || frameNumber >= frameOwners.length) {
-            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+    /**
+     * Tradução atendida apenas pela TLB, usada nas leituras otimistas sem trava. Nem as estatísticas da TLB
+     * nem o acesso à página são registrados: isso cabe a {@link #recordOptimisticAccess}, depois da validação.
+     */
+    private long cachedTranslation(TranslationLookasideBuffer tlb, int pid, int virtualAddress) {
+        Process process = requireProcess(pid);
+        validateVirtualAddress(process, virtualAddress);
+        int page = virtualAddress / pageSize;
+        int frame = cachedFrame(tlb, process, page, false);
+        if (frame == TranslationLookasideBuffer.MISS) {
+            return PAGE_NOT_PRESENT;
         }
+        return physicalMemory.getFrameStartAddress(frame) + virtualAddress % pageSize;
     }
 
-    private void releaseFrame(int frameNumber) {
-        frameOwners[frameNumber] = -1;
+    /**
+     * Registra uma leitura otimista já validada. Uma escrita pode começar logo após a validação, então o
+     * bit de referência só é ligado se o quadro ainda corresponder à página, e a política de substituição,
+     * que as escritas alteram sem o seu monitor, só é avisada com a trava de leitura.
+     */
+    private void recordOptimisticAccess(TranslationLookasideBuffer tlb, long stamp, int frame, int pid, int page) {
+        tlb.recordHit();
+        if (replacementPolicy == null || concurrent || hugeFrames.get(frame)) {
+            frameTable.setFlagsIfMapped(frame, pid, page, FrameTable.REFERENCED);
+            return;
+        }
+        long readStamp = stateLock.tryConvertToReadLock(stamp);
+        if (readStamp == 0) {
+            readStamp = stateLock.readLock();
+        }
+        try {
+            if (frameTable.setFlagsIfMapped(frame, pid, page, FrameTable.REFERENCED)) {
+                synchronized (replacementPolicy) {
+                    replacementPolicy.pageAccessed(frame, pid, page);
+                }
+            }
+        } finally {
+            stateLock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Tradução sem falta de página; exige ao menos a trava de leitura.
+     *
+     * @return endereço físico, ou {@link #PAGE_NOT_PRESENT} quando a página não está carregada
+     */
+    private long translateResident(int pid, int virtualAddress) {
+        Process process = requireProcess(pid);
+        validateVirtualAddress(process, virtualAddress);
+        int page = virtualAddress / pageSize;
+
+        TranslationLookasideBuffer tlb = currentTlb();
+        int frame = cachedFrame(tlb, process, page, true);
+        boolean tlbMiss = frame == TranslationLookasideBuffer.MISS;
+        if (tlbMiss) {
+            PagesTable pagesTable = process.getPagesTable();
+            if (!pagesTable.isMapped(page)) {
+                return PAGE_NOT_PRESENT;
+            }
+            frame = pagesTable.getPageFrame(page);
+            cacheTranslation(tlb, process, page, frame);
+        }
+        recordAccess(frame, pid, page, tlbMiss);
+        return physicalMemory.getFrameStartAddress(frame) + virtualAddress % pageSize;
+    }
+
+    /**
+     * Tradução que trata a falta de página e, para escritas, a quebra do compartilhamento;
+     * exige a trava de escrita.
+     */
+    private long translateWithFault(int pid, int virtualAddress, boolean forWrite) {
+        Process process = requireProcess(pid);
+        validateVirtualAddress(process, virtualAddress);
+        int page = virtualAddress / pageSize;
+
+        PagesTable pagesTable = process.getPagesTable();
+        int frame = pagesTable.isMapped(page) ? pagesTable.getPageFrame(page) : handlePageFault(process, page);
+        if (forWrite && isShared(frame)) {
+            frame = breakCopyOnWrite(process, page, frame);
+        }
+        cacheTranslation(currentTlb(), process, page, frame);
+        recordAccess(frame, pid, page, true);
+        return physicalMemory.getFrameStartAddress(frame) + virtualAddress % pageSize;
+    }
+
+    /**
+     * Consulta a TLB. Páginas grandes ocupam uma única entrada, guardada sob o complemento do número da
+     * página grande para não colidir com páginas comuns, e são procuradas primeiro.
+     *
+     * @param countAccess se o acerto ou a falta entra nas estatísticas da TLB
+     * @return quadro da página, ou {@link TranslationLookasideBuffer#MISS}
+     */
+    private int cachedFrame(TranslationLookasideBuffer tlb, Process process, int page, boolean countAccess) {
+        int pagesPerHugePage = process.getPagesTable().getPagesPerHugePage();
+        if (pagesPerHugePage > 0) {
+            int firstFrame = tlb.probe(process.getPid(), hugeTlbKey(page, pagesPerHugePage));
+            if (firstFrame != TranslationLookasideBuffer.MISS) {
+                if (countAccess) {
+                    tlb.recordHit();
+                }
+                return firstFrame + (page & (pagesPerHugePage - 1));
+            }
+        }
+        return countAccess ? tlb.lookup(process.getPid(), page) : tlb.probe(process.getPid(), page);
+    }
+
+    private void cacheTranslation(TranslationLookasideBuffer tlb, Process process, int page, int frame) {
+        PagesTable pagesTable = process.getPagesTable();
+        if (pagesTable.isHugePage(page)) {
+            int pagesPerHugePage = pagesTable.getPagesPerHugePage();
+            tlb.insert(process.getPid(), hugeTlbKey(page, pagesPerHugePage), frame - (page & (pagesPerHugePage - 1)));
+        } else {
+            tlb.insert(process.getPid(), page, frame);
+        }
+    }
+
+    private static int hugeTlbKey(int page, int pagesPerHugePage) {
+        return ~(page / pagesPerHugePage);
+    }
+
+    /**
+     * Informa o acesso à política de substituição. No modo concorrente apenas acessos que passam pela
+     * tabela de páginas são registrados, como o bit de referência ligado pelo percorrimento da tabela
+     * em hardware, para que acertos na TLB não serializem as threads na política. Quadros de páginas
+     * grandes não são candidatos a despejo e ficam fora da política. Todo acesso liga o bit de referência
+     * do quadro, amostrado pelo {@link MemoryReclaimer}.
+     */
+    private void recordAccess(int frame, int pid, int page, boolean tlbMiss) {
+        frameTable.setFlags(frame, FrameTable.REFERENCED);
+        if (replacementPolicy == null || (concurrent && !tlbMiss) || hugeFrames.get(frame)) {
+            return;
+        }
+        synchronized (replacementPolicy) {
+            replacementPolicy.pageAccessed(frame, pid, page);
+        }
+    }
+
+    private void validateVirtualAddress(Process process, int virtualAddress) {
+        if (virtualAddress < 0 || virtualAddress >= process.getSizeInBytes()) {
+            throw new IllegalArgumentException(
+                    "Invalid virtual address " + virtualAddress + " for PID " + process.getPid());
+        }
+    }
+
+    private int frameOf(long physicalAddress) {
+        return (int) (physicalAddress / pageSize);
+    }
+
+    private boolean isShared(int frame) {
+        return frameReferences.get(frame) > 1;
+    }
+
+    /**
+     * Dá ao processo uma cópia própria do quadro compartilhado e remapeia a página para ela.
+     *
+     * @return quadro privado que passou a conter a página
+     */
+    private int breakCopyOnWrite(Process process, int page, int sharedFrame) {
+        int copy = takeFreeFrame(process.getPid(), process.getPlacement(), page);
+        if (copy == FrameAllocator.NO_FRAME) {
+            if (pagingMode != PagingMode.DEMAND) {
+                throw new IllegalStateException("Not enough physical memory frames to copy a shared page");
+            }
+            copy = evictPage();
+            if (!process.getPagesTable().isMapped(page)) {
+                // o quadro despejado era o próprio quadro compartilhado: cada processo já tem seu slot
+                return loadPage(process, page, copy);
+            }
+        }
+        physicalMemory.copyFrame(sharedFrame, copy);
+        markDirty(copy);
+        frameTable.map(copy, process.getPid(), page);
+        frameReferences.set(copy, 1);
+        process.getPagesTable().mapPageToFrame(page, copy);
+        invalidateTranslation(process.getPid(), page);
+        releaseMapping(process.getPid(), page, sharedFrame);
+        if (replacementPolicy != null) {
+            replacementPolicy.pageLoaded(copy, process.getPid(), page);
+        }
+        return copy;
+    }
+
+    private void invalidateTranslation(int pid, int page) {
+        for (TranslationLookasideBuffer tlb : tlbs) {
+            tlb.invalidate(pid, page);
+        }
+    }
+
+    private TranslationLookasideBuffer currentTlb() {
+        if (tlbs.length == 1) {
+            return tlbs[0];
+        }
+        return tlbs[(int) (Thread.currentThread().threadId() % tlbs.length)];
+    }
+
+    /**
+     * Carrega a página ausente em um quadro livre, despejando uma página residente quando necessário.
+     * O conteúdo vem da área de troca, se a página já foi despejada antes, ou da memória lógica.
+     */
+    private int handlePageFault(Process process, int page) {
+        if (pagingMode != PagingMode.DEMAND) {
+            throw new IllegalStateException("Page " + page + " of PID " + process.getPid() + " is not mapped");
+        }
+        pageFaults++;
+        long start = metrics == null ? 0 : System.nanoTime();
+        int frame = takeFreeFrame(process.getPid(), process.getPlacement(), page);
+        boolean evicted = frame == FrameAllocator.NO_FRAME;
+        if (evicted) {
+            frame = evictPage();
+        }
+        loadPage(process, page, frame);
+        if (maxReadahead > 0 && process.getLogicalMemory().isPageReloadable(page)) {
+            readAhead(process, page);
+        }
+        if (metrics != null) {
+            metrics.pageFaultHandled(process.getPid(), page, frame, evicted, System.nanoTime() - start);
+        }
+        return frame;
+    }
+
+    /**
+     * Carrega as páginas seguintes à da falta quando o processo lê sequencialmente, como a leitura antecipada
+     * de arquivos mapeados. A janela dobra a cada falta sequencial, até {@link Builder#readahead(int)}
+     * páginas, e volta a zero com um acesso fora de ordem. Só usa quadros livres: nunca despeja para ler
+     * antecipadamente.
+     */
+    private void readAhead(Process process, int page) {
+        PagesTable pagesTable = process.getPagesTable();
+        int window = process.advanceReadahead(page, maxReadahead);
+        int last = page;
+        for (int next = page + 1; next <= page + window && next < pagesTable.size(); next++) {
+            if (pagesTable.isMapped(next) || !process.getLogicalMemory().isPageReloadable(next)
+                    || process.getSwapSlot(next) != PagesTable.UNMAPPED) {
+                break;
+            }
+            int frame = takeFreeFrame(process.getPid(), process.getPlacement(), next);
+            if (frame == FrameAllocator.NO_FRAME) {
+                break;
+            }
+            loadPage(process, next, frame);
+            readaheadPages++;
+            last = next;
+        }
+        process.readaheadCompleted(last);
+    }
+
+    /**
+     * Aloca um quadro comum para a página, no banco indicado pela política de alocação, dividindo uma
+     * página grande reservada quando não há outro livre.
+     */
+    private int takeFreeFrame(int pid, Placement placement, int page) {
+        int frame = nextFreeFrame(pid, placement, page);
+        while (frame == FrameAllocator.NO_FRAME && hugePagePool != null && hugePagePool.split()) {
+            frame = nextFreeFrame(pid, placement, page);
+        }
+        MemoryReclaimer currentReclaimer = reclaimer;
+        if (currentReclaimer != null && getAvailableFrames() < currentReclaimer.getLowWatermark()) {
+            currentReclaimer.wakeUp();
+        }
+        if (metrics != null && frame != FrameAllocator.NO_FRAME) {
+            metrics.frameAllocated();
+        }
+        return frame;
+    }
+
+    private int nextFreeFrame(int pid, Placement placement, int page) {
+        if (banks == null) {
+            return frameAllocator.allocate();
+        }
+        int bank = switch (placement.policy()) {
+            case LOCAL -> banks.homeStripe();
+            case INTERLEAVE -> Math.floorMod(pid + page, banks.getStripeCount());
+            case PREFERRED -> placement.bank();
+        };
+        return banks.allocate(bank);
+    }
+
+    /**
+     * Preenche o quadro com a página, vinda da área de troca ou da memória lógica, e a mapeia no processo.
+     */
+    private int loadPage(Process process, int page, int frame) {
+        int slot = process.clearSwapSlot(page);
+        if (slot == PagesTable.UNMAPPED) {
+            process.getLogicalMemory().copyPageToFrame(page, physicalMemory, frame);
+            frameTable.map(frame, process.getPid(), page);
+        } else {
+            loadSwapped(slot, physicalMemory.frameBuffer(frame));
+            freeSwapped(slot);
+            // o slot foi liberado: a única cópia da página passa a ser a do quadro
+            frameTable.map(frame, process.getPid(), page, FrameTable.DIRTY);
+        }
+        markDirty(frame);
+        frameReferences.set(frame, 1);
+        process.getPagesTable().mapPageToFrame(page, frame);
+        replacementPolicy.pageLoaded(frame, process.getPid(), page);
+        return frame;
+    }
+
+    /**
+     * Despeja a página escolhida pela política de substituição, gravando-a na camada comprimida ou na área de troca.
+     * Um quadro compartilhado é removido de todos os processos que o mapeiam, cada um com seu próprio slot.
+     *
+     * @return quadro liberado, já zerado
+     */
+    private int evictPage() {
+        int victim = replacementPolicy.selectVictim();
+        swapOut(victim);
+        return victim;
+    }
+
+    /**
+     * Grava a página do quadro fora da memória física para cada processo que a mapeia e zera o quadro,
+     * que continua fora do alocador. Uma página não alterada que pode ser relida da origem, como a de um
+     * arquivo mapeado, é apenas descartada.
+     */
+    private void swapOut(int victim) {
+        boolean clean = !isShared(victim) && !frameTable.hasFlag(victim, FrameTable.DIRTY);
+        forEachMapper(victim, (process, page) -> {
+            if (clean && process.getLogicalMemory().isPageReloadable(page)) {
+                // sem slot, a próxima falta relê a página da origem
+                droppedPages++;
+            } else {
+                process.setSwapSlot(page, storeSwapped(physicalMemory.frameBuffer(victim)));
+            }
+            process.getPagesTable().unmapPage(page);
+            invalidateTranslation(process.getPid(), page);
+        });
+        replacementPolicy.frameReleased(victim);
+        frameTable.clear(victim);
+        frameReferences.set(victim, 0);
+        reverseMap.clear(victim);
+        physicalMemory.clearFrame(victim);
+        markDirty(victim);
+        evictions++;
+    }
+
+    /**
+     * Guarda uma página despejada na camada comprimida, se houver uma e ela aceitar a página, ou na área de troca.
+     *
+     * @return slot; slots da camada comprimida têm o bit {@link #COMPRESSED_SLOT} ligado
+     */
+    private int storeSwapped(ByteBuffer pageData) {
+        if (compressedSwap != null) {
+            int slot = compressedSwap.store(pageData.duplicate());
+            if (slot != CompressedSwapTier.NO_SLOT) {
+                return slot | COMPRESSED_SLOT;
+            }
+        }
+        return requireSwapSpace().store(pageData);
+    }
+
+    private void loadSwapped(int slot, ByteBuffer destination) {
+        if ((slot & COMPRESSED_SLOT) != 0) {
+            compressedSwap.load(slot & ~COMPRESSED_SLOT, destination);
+        } else {
+            swapSpace.load(slot, destination);
+        }
+    }
+
+    private void freeSwapped(int slot) {
+        if ((slot & COMPRESSED_SLOT) != 0) {
+            compressedSwap.free(slot & ~COMPRESSED_SLOT);
+        } else {
+            swapSpace.free(slot);
+        }
+    }
+
+    private SwapSpace requireSwapSpace() {
+        if (swapSpace == null) {
+            swapSpace = SwapSpace.createTemporary(pageSize);
+        }
+        return swapSpace;
+    }
+
+    /**
+     * Visita cada par (processo, página) que mapeia o quadro. Quadros privados são resolvidos direto pela
+     * tabela invertida; quadros compartilhados, pelo mapeamento reverso, em O(mapeadores). O visitante não
+     * pode alterar os mapeamentos do próprio quadro.
+     */
+    private void forEachMapper(int frameNumber, FrameMapperVisitor visitor) {
+        if (!isShared(frameNumber)) {
+            Process owner = processes.get(frameTable.owner(frameNumber));
+            if (owner != null) {
+                visitor.visit(owner, frameTable.page(frameNumber));
+            }
+            return;
+        }
+        for (int node = reverseMap.first(frameNumber); node != ReverseMap.NONE; node = reverseMap.next(node)) {
+            Process process = processes.get(reverseMap.pid(node));
+            if (process != null) {
+                visitor.visit(process, reverseMap.page(node));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FrameMapperVisitor {
+        void visit(Process process, int pageNumber);
+    }
+
+    private Process requireProcess(int pid) {
+        Process process = processes.get(pid);
+        if (process == null) {
+            throw new IllegalArgumentException("Process with PID " + pid + " does not exist");
+        }
+        return process;
+    }
+
+    public Collection<Process> listProcesses() {
+        return Collections.unmodifiableCollection(processes.values());
+    }
+
+    public int getFrameOwner(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        return frameTable.owner(frameNumber);
+    }
+
+    /**
+     * Consulta a tabela invertida: qual página ocupa o quadro e em que estado, sem percorrer tabelas de páginas.
+     *
+     * @return mapeamento do quadro, ou vazio quando livre
+     */
+    public Optional<FrameMapping> getFrameMapping(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        int owner = frameTable.owner(frameNumber);
+        if (owner < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new FrameMapping(owner, frameTable.page(frameNumber),
+                frameTable.hasFlag(frameNumber, FrameTable.DIRTY),
+                frameTable.hasFlag(frameNumber, FrameTable.REFERENCED),
+                frameTable.hasFlag(frameNumber, FrameTable.SHARED)));
+    }
+
+    /**
+     * @return quantidade de páginas, de todos os processos, que apontam para o quadro (0 quando livre)
+     */
+    public int getFrameReferences(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        return frameReferences.get(frameNumber);
+    }
+
+    /**
+     * Calcula o percentual de bytes livres na memória física.
+     */
+    public double getFreeMemoryPercentage() {
+        if (physicalMemory.getTotalSize() == 0) {
+            return 0.0;
+        }
+        long freeBytes = (long) getAvailableFrames() * pageSize;
+        return (freeBytes * 100.0) / physicalMemory.getTotalSize();
+    }
+
+    /**
+     * @return quadros livres, incluindo os das páginas grandes reservadas e ainda não usadas
+     */
+    int getAvailableFrames() {
+        int free = frameAllocator.getFreeCount();
+        return hugePagePool == null ? free : free + hugePagePool.getReservedFrames();
+    }
+
+    /**
+     * @return quantidade de bancos de memória física (1 quando não foram configurados)
+     */
+    public int getBankCount() {
+        return banks == null ? 1 : banks.getStripeCount();
+    }
+
+    /**
+     * @return banco de memória que contém o quadro
+     */
+    public int getFrameBank(int frameNumber) {
+        validateFrameNumber(frameNumber);
+        return banks == null ? 0 : banks.stripeOf(frameNumber);
+    }
+
+    /**
+     * Ocupação de cada banco. Sem bancos configurados, a memória inteira aparece como um banco sem
+     * contadores de alocação.
+     */
+    public List<BankStatistics> getBankStatistics() {
+        if (banks == null) {
+            return List.of(new BankStatistics(0, 0, frameAllocator.getFrameCount(), frameAllocator.getFreeCount(),
+                    frameAllocator.getLargestFreeRange(), 0, 0));
+        }
+        List<BankStatistics> statistics = new ArrayList<>(banks.getStripeCount());
+        for (int bank = 0; bank < banks.getStripeCount(); bank++) {
+            statistics.add(banks.getStatistics(bank));
+        }
+        return statistics;
+    }
+
+    /**
+     * @return tamanho em bytes das páginas grandes, ou 0 quando não foram ativadas em {@link Builder#hugePages(int, int)}
+     */
+    public int getHugePageSize() {
+        return framesPerHugePage * pageSize;
+    }
+
+    /**
+     * Mede quanto da memória livre está espalhada em intervalos pequenos: 0 quando todos os quadros
+     * livres formam um único intervalo contíguo, tendendo a 1 quando estão todos isolados.
+     */
+    public double getFragmentationIndex() {
+        int free = frameAllocator.getFreeCount();
+        if (free == 0) {
+            return 0.0;
+        }
+        return 1.0 - (double) frameAllocator.getLargestFreeRange() / free;
+    }
+
+    /**
+     * Mede a fragmentação dentro de cada banco, ponderada pelos quadros livres de cada um: 0 quando os
+     * quadros livres de cada banco formam um único intervalo. Como intervalos não atravessam bancos, é
+     * este o índice que a compactação, feita banco a banco, consegue zerar; o de
+     * {@link #getFragmentationIndex()} fica perto de 1 - 1/bancos mesmo com todos os bancos compactados.
+     * Sem bancos configurados, os dois coincidem.
+     */
+    public double getBankFragmentationIndex() {
+        int free = 0;
+        int contiguous = 0;
+        for (BankStatistics bank : getBankStatistics()) {
+            free += bank.freeFrames();
+            contiguous += bank.largestFreeRange();
+        }
+        return free == 0 ? 0.0 : 1.0 - (double) contiguous / free;
+    }
+
+    /**
+     * @return métricas do gerenciador, presentes apenas quando ativadas em {@link Builder#metrics()}
+     */
+    public Optional<MemoryMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    /**
+     * @return camada de troca comprimida, presente apenas quando ativada em {@link Builder#compressedSwap(long)}
+     */
+    public Optional<CompressedSwapTier> getCompressedSwap() {
+        return Optional.ofNullable(compressedSwap);
+    }
+
+    public PhysicalMemory getPhysicalMemory() {
+        return physicalMemory;
+    }
+
+    public PagingMode getPagingMode() {
+        return pagingMode;
+    }
+
+    /**
+     * @return quantidade de faltas de página atendidas desde a criação do gerenciador
+     */
+    public long getPageFaults() {
+        return pageFaults;
+    }
+
+    /**
+     * @return quantidade de páginas despejadas para a área de troca
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return quantidade de páginas despejadas sem ir para a área de troca, por poderem ser relidas da origem
+     */
+    public long getDroppedPages() {
+        return droppedPages;
+    }
+
+    /**
+     * @return quantidade de páginas carregadas por leitura antecipada, sem falta de página
+     */
+    public long getReadaheadPages() {
+        return readaheadPages;
+    }
+
+    /**
+     * @return TLB usada pela thread atual (no modo concorrente, cada processador simulado tem a sua)
+     */
+    public TranslationLookasideBuffer getTlb() {
+        return currentTlb();
+    }
+
+    /**
+     * @return acertos somados de todas as TLBs
+     */
+    public long getTlbHits() {
+        long hits = 0;
+        for (TranslationLookasideBuffer tlb : tlbs) {
+            hits += tlb.getHits();
+        }
+        return hits;
+    }
+
+    /**
+     * @return faltas somadas de todas as TLBs
+     */
+    public long getTlbMisses() {
+        long misses = 0;
+        for (TranslationLookasideBuffer tlb : tlbs) {
+            misses += tlb.getMisses();
+        }
+        return misses;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    public int getMaxProcessSize() {
+        return maxProcessSize;
+    }
+
+    private boolean isPowerOfTwo(long value) {
+        return (value > 0) && ((value & (value - 1)) == 0);
+    }
+
+    private void validateFrameNumber(int frameNumber) {
+        if (frameNumber < 0 || frameNumber >= frameTable.size()) {
+            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+        }
+    }
+
+    /**
+     * Executa a ação com a trava de escrita, sem traduções ou alterações de outras threads em andamento.
+     */
+    <T> T withExclusiveAccess(Supplier<T> action) {
+        long stamp = stateLock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            stateLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retorna os quadros acessados desde a última chamada e desliga seus bits de referência.
+     */
+    BitSet drainReferencedFrames() {
+        return frameTable.drain(FrameTable.REFERENCED);
+    }
+
+    /**
+     * Despeja a página do quadro e o devolve ao alocador. Exige a trava de escrita.
+     */
+    void reclaimFrame(int frameNumber) {
+        swapOut(frameNumber);
+        frameAllocator.release(frameNumber);
+        if (metrics != null) {
+            metrics.frameReleased();
+        }
+    }
+
+    /**
+     * Associa o recuperador acordado quando os quadros livres ficam abaixo da marca inferior.
+     *
+     * @throws IllegalStateException quando outro recuperador já está associado
+     */
+    synchronized void attachReclaimer(MemoryReclaimer memoryReclaimer) {
+        if (reclaimer != null) {
+            throw new IllegalStateException("Memory manager already has a reclaimer");
+        }
+        reclaimer = memoryReclaimer;
+    }
+
+    synchronized void detachReclaimer(MemoryReclaimer memoryReclaimer) {
+        if (reclaimer == memoryReclaimer) {
+            reclaimer = null;
+        }
+    }
+
+    /**
+     * @return {@code true} quando o quadro faz parte de uma página grande em uso
+     */
+    boolean isHugeFrame(int frameNumber) {
+        return hugeFrames.get(frameNumber);
+    }
+
+    /**
+     * Faz todas as páginas que apontam para {@code duplicateFrame} apontarem para {@code keptFrame},
+     * que passa a ser compartilhado com cópia na escrita, e devolve o quadro duplicado ao alocador.
+     * Exige a trava de escrita e que os dois quadros tenham conteúdo idêntico.
+     */
+    void mergeFrames(int keptFrame, int duplicateFrame) {
+        if (frameTable.hasFlag(duplicateFrame, FrameTable.DIRTY)) {
+            // algum dos processos já não encontra a página na origem
+            frameTable.setFlags(keptFrame, FrameTable.DIRTY);
+        }
+        forEachMapper(duplicateFrame, (process, page) -> {
+            process.getPagesTable().mapPageToFrame(page, keptFrame);
+            shareFrame(keptFrame, process.getPid(), page);
+            invalidateTranslation(process.getPid(), page);
+        });
+        releaseFrame(duplicateFrame);
+    }
+
+    /**
+     * @return {@code true} quando o quadro está livre no alocador
+     */
+    boolean isFrameFree(int frameNumber) {
+        return frameAllocator.isFree(frameNumber);
+    }
+
+    /**
+     * Copia a página do quadro {@code fromFrame}, em uso e fora de páginas grandes, para o quadro livre
+     * {@code toFrame}, faz todas as páginas que apontavam para o antigo apontarem para o novo, com os mesmos
+     * bits de estado e referências, e devolve o antigo ao alocador. Exige a trava de escrita.
+     */
+    void migrateFrame(int fromFrame, int toFrame) {
+        frameAllocator.reserve(toFrame);
+        physicalMemory.copyFrame(fromFrame, toFrame);
+        forEachMapper(fromFrame, (process, page) -> {
+            process.getPagesTable().mapPageToFrame(page, toFrame);
+            invalidateTranslation(process.getPid(), page);
+        });
+        if (replacementPolicy != null) {
+            synchronized (replacementPolicy) {
+                replacementPolicy.frameMoved(fromFrame, toFrame, frameTable.owner(fromFrame),
+                        frameTable.page(fromFrame));
+            }
+        }
+        MemoryReclaimer currentReclaimer = reclaimer;
+        if (currentReclaimer != null) {
+            currentReclaimer.frameMoved(fromFrame, toFrame);
+        }
+        frameTable.move(fromFrame, toFrame);
+        frameReferences.set(toFrame, frameReferences.getAndSet(fromFrame, 0));
+        reverseMap.move(fromFrame, toFrame);
+        physicalMemory.clearFrame(fromFrame);
+        markDirty(toFrame);
+        markDirty(fromFrame);
+        frameAllocator.release(fromFrame);
+    }
+
+    /**
+     * Acrescenta a página do processo ao quadro, que passa a ser compartilhado. No primeiro
+     * compartilhamento, o mapeamento reverso recebe também o dono registrado na tabela invertida.
+     */
+    private void shareFrame(int frameNumber, int pid, int page) {
+        if (frameReferences.getAndIncrement(frameNumber) == 1) {
+            reverseMap.add(frameNumber, frameTable.owner(frameNumber), frameTable.page(frameNumber));
+        }
+        reverseMap.add(frameNumber, pid, page);
+        frameTable.setFlags(frameNumber, FrameTable.SHARED);
+    }
+
+    /**
+     * Registra que o conteúdo do quadro mudou desde o último snapshot e desde a última vez que o
+     * {@link PageMerger} o resumiu.
+     */
+    private void markDirty(int frameNumber) {
+        dirtyFrames.set(frameNumber);
+        unmergedChanges.set(frameNumber);
+    }
+
+    /**
+     * Informa se o conteúdo do quadro pode ter mudado desde a última chamada para ele e recomeça o registro.
+     * Exige a trava de escrita.
+     */
+    boolean takeChangedSinceMerge(int frameNumber) {
+        return unmergedChanges.getAndClear(frameNumber);
+    }
+
+    /**
+     * Registra uma escrita do processo: o quadro muda para o próximo snapshot e a página deixa de coincidir
+     * com a sua origem.
+     */
+    private void markWritten(int frameNumber) {
+        markDirty(frameNumber);
+        frameTable.setFlags(frameNumber, FrameTable.DIRTY);
+    }
+
+    /**
+     * Retorna os quadros alterados desde a última chamada a {@link #drainDirtyFrames()}, sem esquecê-los.
+     */
+    BitSet getDirtyFrames() {
+        return dirtyFrames.copy();
+    }
+
+    /**
+     * Retorna os quadros alterados desde a última chamada e recomeça o registro. Exige a trava de escrita.
+     */
+    BitSet drainDirtyFrames() {
+        return dirtyFrames.drain();
+    }
+
+    /**
+     * @return identificador do último snapshot gravado ou restaurado, ou 0 se nenhum
+     */
+    long getLastSnapshotId() {
+        return lastSnapshotId;
+    }
+
+    void setLastSnapshotId(long snapshotId) {
+        this.lastSnapshotId = snapshotId;
+    }
+
+    /**
+     * Lê uma página guardada em {@code slot}, da camada comprimida ou da área de troca.
+     */
+    void loadSwappedPage(int slot, byte[] destination) {
+        loadSwapped(slot, ByteBuffer.wrap(destination));
+    }
+
+    /**
+     * Marca o quadro como em uso pelo dono e quantidade de referências salvos em um snapshot.
+     * Usado apenas antes de o gerenciador ser publicado.
+     */
+    void restoreFrame(int frameNumber, int owner, int references) {
+        if (hugePagePool != null) {
+            hugePagePool.claim(frameNumber);
+        }
+        frameAllocator.reserve(frameNumber);
+        frameTable.map(frameNumber, owner, 0, references > 1 ? FrameTable.SHARED : 0);
+        frameReferences.set(frameNumber, references);
+    }
+
+    /**
+     * Mapeia uma página grande restaurada, cujos quadros já foram marcados por {@link #restoreFrame(int, int, int)}.
+     */
+    void restoreHugePage(PagesTable pagesTable, int hugePageNumber, int firstFrame) {
+        pagesTable.mapHugePage(hugePageNumber, firstFrame);
+        for (int frame = firstFrame; frame < firstFrame + framesPerHugePage; frame++) {
+            hugeFrames.set(frame);
+        }
+    }
+
+    /**
+     * Registra um processo restaurado e informa à política de substituição as páginas residentes de que é dono.
+     */
+    void restoreProcess(Process process) {
+        int pid = process.getPid();
+        if (processes.putIfAbsent(pid, process) != null) {
+            throw new IllegalArgumentException("Process with PID " + pid + " already exists");
+        }
+        process.getPagesTable().forEachMapping((page, frame) -> {
+            if (isShared(frame)) {
+                reverseMap.add(frame, pid, page);
+            }
+            if (frameTable.owner(frame) != pid) {
+                return;
+            }
+            // o snapshot não guarda o estado das páginas: tratá-las como alteradas é sempre seguro
+            frameTable.map(frame, pid, page, FrameTable.DIRTY | (isShared(frame) ? FrameTable.SHARED : 0));
+            if (replacementPolicy != null && !hugeFrames.get(frame)) {
+                replacementPolicy.pageLoaded(frame, pid, page);
+            }
+        });
+    }
+
+    /**
+     * Guarda a página fora da memória física e a associa ao processo, como se tivesse sido despejada.
+     */
+    void restoreSwappedPage(Process process, int page, byte[] pageData) {
+        process.setSwapSlot(page, storeSwapped(ByteBuffer.wrap(pageData)));
+    }
+
+    void restoreCounters(long pageFaults, long evictions) {
+        this.pageFaults = pageFaults;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Remove a referência da página do processo ao quadro, que já deixou de apontar para ele. O quadro só
+     * volta ao alocador quando ninguém mais o mapeia; se a página do dono registrado sair de um quadro ainda
+     * compartilhado, outra que o mapeia, do mesmo ou de outro processo, assume a posse. Quando resta uma só,
+     * o quadro volta a ser privado e sai do mapeamento reverso.
+     */
+    private void releaseMapping(int pid, int page, int frameNumber) {
+        int references = frameReferences.decrementAndGet(frameNumber);
+        if (references == 0) {
+            releaseFrame(frameNumber);
+            return;
+        }
+        reverseMap.remove(frameNumber, pid, page);
+        int heir = reverseMap.first(frameNumber);
+        if (references == 1) {
+            frameTable.clearFlags(frameNumber, FrameTable.SHARED);
+            frameTable.reassign(frameNumber, reverseMap.pid(heir), reverseMap.page(heir));
+            reverseMap.clear(frameNumber);
+        } else if (frameTable.owner(frameNumber) == pid && frameTable.page(frameNumber) == page) {
+            frameTable.reassign(frameNumber, reverseMap.pid(heir), reverseMap.page(heir));
+        }
+    }
+
+    private void releaseFrame(int frameNumber) {
+        if (replacementPolicy != null) {
+            synchronized (replacementPolicy) {
+                replacementPolicy.frameReleased(frameNumber);
+            }
+        }
+        frameTable.clear(frameNumber);
+        frameReferences.set(frameNumber, 0);
+        reverseMap.clear(frameNumber);
         physicalMemory.clearFrame(frameNumber);
-        freeFrames.addLast(frameNumber);
+        markDirty(frameNumber);
+        frameAllocator.release(frameNumber);
+        if (metrics != null) {
+            metrics.frameReleased();
+        }
+    }
+
+    /**
+     * Fecha a área de troca, se alguma estiver em uso, remove a publicação das métricas e solta o
+     * armazenamento da memória física. O gerenciador não pode mais ser usado depois.
+     */
+    @Override
+    public void close() {
+        if (metrics != null) {
+            metrics.close();
+        }
+        if (swapSpace != null) {
+            swapSpace.close();
+        }
+        physicalMemory.release();
+    }
+
+    /**
+     * Configuração opcional do gerenciador. Por padrão usa paginação antecipada, memória física no heap
+     * e uma TLB LRU de 16 conjuntos com 4 vias.
+     */
+    public static final class Builder {
+        private final long physicalMemorySize;
+        private final int pageSize;
+        private final int maxProcessSize;
+        private TranslationLookasideBuffer tlb =
+                new TranslationLookasideBuffer(DEFAULT_TLB_SETS, DEFAULT_TLB_WAYS, TlbEvictionPolicy.LRU);
+        private PagingMode pagingMode = PagingMode.EAGER;
+        private ReplacementPolicy replacementPolicy;
+        private SwapSpace swapSpace;
+        private PhysicalMemoryBackend physicalMemoryBackend = PhysicalMemoryBackend.HEAP;
+        private boolean concurrent;
+        private int cpuCount = 1;
+        private boolean metrics;
+        private int hugePageSize;
+        private int reservedHugePages;
+        private long compressedSwapCapacity;
+        private int bankCount;
+        private Placement placement = Placement.local();
+        private int readaheadPages = DEFAULT_READAHEAD_PAGES;
+
+        private Builder(long physicalMemorySize, int pageSize, int maxProcessSize) {
+            this.physicalMemorySize = physicalMemorySize;
+            this.pageSize = pageSize;
+            this.maxProcessSize = maxProcessSize;
+        }
+
+        public Builder tlb(TranslationLookasideBuffer tlb) {
+            this.tlb = tlb;
+            return this;
+        }
+
+        /**
+         * Ativa a paginação sob demanda. Como as páginas podem ser despejadas, o tamanho máximo
+         * de processo pode exceder a memória física.
+         */
+        public Builder demandPaging(ReplacementPolicy replacementPolicy) {
+            if (replacementPolicy == null) {
+                throw new IllegalArgumentException("Replacement policy cannot be null");
+            }
+            this.pagingMode = PagingMode.DEMAND;
+            this.replacementPolicy = replacementPolicy;
+            return this;
+        }
+
+        /**
+         * Define a área de troca usada pelos despejos. Sem ela, um arquivo temporário é criado no primeiro despejo.
+         * O gerenciador assume a área e a fecha em {@link MemoryManager#close()}.
+         */
+        public Builder swapSpace(SwapSpace swapSpace) {
+            this.swapSpace = swapSpace;
+            return this;
+        }
+
+        /**
+         * Escolhe onde os bytes da memória física são armazenados. {@link PhysicalMemoryBackend#OFF_HEAP}
+         * permite memórias maiores que um vetor Java e não pesa no coletor de lixo.
+         */
+        public Builder physicalMemoryBackend(PhysicalMemoryBackend physicalMemoryBackend) {
+            this.physicalMemoryBackend = physicalMemoryBackend;
+            return this;
+        }
+
+        /**
+         * Permite que várias threads criem e encerrem processos e traduzam endereços ao mesmo tempo.
+         * O alocador passa a ser dividido em uma faixa por processador e cada processador ganha sua
+         * própria TLB, com a mesma geometria da TLB configurada.
+         *
+         * @param cpuCount quantidade de processadores simulados, normalmente {@code availableProcessors()}
+         */
+        public Builder concurrent(int cpuCount) {
+            this.concurrent = true;
+            this.cpuCount = cpuCount;
+            return this;
+        }
+
+        /**
+         * Divide a memória física em {@code bankCount} bancos de quadros contíguos, cada um com seu próprio
+         * alocador e trava, como nós NUMA. {@code placement} é a política padrão dos processos, que pode ser
+         * trocada na criação de cada um. Com {@link #concurrent(int)}, os bancos substituem as faixas por processador.
+         */
+        public Builder banks(int bankCount, Placement placement) {
+            if (bankCount <= 0) {
+                throw new IllegalArgumentException("Bank count must be positive");
+            }
+            if (placement == null) {
+                throw new IllegalArgumentException("Placement cannot be null");
+            }
+            this.bankCount = bankCount;
+            this.placement = placement;
+            return this;
+        }
+
+        /**
+         * Antes de gravar páginas despejadas na área de troca, tenta guardá-las comprimidas em memória, até
+         * {@code capacity} bytes comprimidos. Só tem efeito com {@link #demandPaging(ReplacementPolicy)}.
+         */
+        public Builder compressedSwap(long capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Compressed swap capacity must be positive");
+            }
+            this.compressedSwapCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Ativa contadores, histogramas de latência e eventos JFR, acessíveis por {@link MemoryManager#getMetrics()}.
+         */
+        public Builder metrics() {
+            this.metrics = true;
+            return this;
+        }
+
+        /**
+         * Permite que processos usem páginas grandes de {@code hugePageSize} bytes, formadas por quadros
+         * contíguos e alinhados. {@code reservedHugePages} delas são separadas na criação, antes que a
+         * memória se fragmente; quando faltam quadros comuns, as reservadas são divididas.
+         *
+         * @param hugePageSize potência de dois maior que o tamanho de página
+         */
+        public Builder hugePages(int hugePageSize, int reservedHugePages) {
+            this.hugePageSize = hugePageSize;
+            this.reservedHugePages = reservedHugePages;
+            return this;
+        }
+
+        /**
+         * Limita a leitura antecipada de processos criados a partir de arquivos a {@code maxPages} páginas por
+         * falta ({@value MemoryManager#DEFAULT_READAHEAD_PAGES} por padrão); zero a desativa.
+         */
+        public Builder readahead(int maxPages) {
+            if (maxPages < 0) {
+                throw new IllegalArgumentException("Readahead cannot be negative");
+            }
+            this.readaheadPages = maxPages;
+            return this;
+        }
+
+        public MemoryManager build() {
+            return new MemoryManager(this);
+        }
     }
 }
@@ -0,0 +1,284 @@
+package memory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Métricas de um {@link MemoryManager}, ativadas por {@link MemoryManager.Builder#metrics()}. Reúne
+ * contadores de processos e quadros, histogramas de latência de criação, tradução e falta de página e
+ * o índice de fragmentação. Os mesmos dados são publicados por JMX ({@link #registerMBean()}) e em
+ * eventos JFR, que só custam a verificação de habilitação quando nenhuma gravação está ativa; o evento
+ * periódico de estatísticas só existe depois de {@link #enableStatisticsEvent()}.
+ * Com as métricas desativadas o gerenciador não mede tempo nem emite eventos.
+ */
+public class MemoryMetrics implements MemoryMetricsMXBean {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final MemoryManager manager;
+    private final LongAdder processesCreated = new LongAdder();
+    private final LongAdder processCreationFailures = new LongAdder();
+    private final LongAdder processesDestroyed = new LongAdder();
+    private final LongAdder framesAllocated = new LongAdder();
+    private final LongAdder framesReleased = new LongAdder();
+    private final LatencyHistogram createProcessLatency = new LatencyHistogram();
+    private final LatencyHistogram translationLatency = new LatencyHistogram();
+    private final LatencyHistogram pageFaultLatency = new LatencyHistogram();
+    private final Runnable statisticsHook = this::emitStatistics;
+    private ObjectName objectName;
+    private boolean statisticsEventEnabled;
+
+    MemoryMetrics(MemoryManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Passa a emitir o evento periódico {@code memory.Statistics} durante gravações JFR. O JFR mantém uma
+     * referência ao gerenciador enquanto o evento estiver ativo, então ele deve ser fechado com
+     * {@link MemoryManager#close()} para ser coletado.
+     */
+    public synchronized void enableStatisticsEvent() {
+        if (!statisticsEventEnabled) {
+            FlightRecorder.addPeriodicEvent(MemoryStatisticsEvent.class, statisticsHook);
+            statisticsEventEnabled = true;
+        }
+    }
+
+    /**
+     * Registra as métricas no servidor MBean da plataforma, sob {@code memory:type=MemoryManager,id=N}.
+     *
+     * @return nome registrado, removido automaticamente em {@link MemoryManager#close()}
+     */
+    public synchronized ObjectName registerMBean() {
+        if (objectName != null) {
+            return objectName;
+        }
+        try {
+            ObjectName name = new ObjectName("memory:type=MemoryManager,id=" + NEXT_ID.getAndIncrement());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+            return name;
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException
+                 | NotCompliantMBeanException ex) {
+            throw new IllegalStateException("Could not register memory metrics MBean", ex);
+        }
+    }
+
+    void processCreated(int pid, int processSize, long nanos) {
+        processesCreated.increment();
+        createProcessLatency.record(nanos);
+        emitProcessCreation(pid, processSize, true, nanos);
+    }
+
+    void processCreationFailed(int pid, int processSize, long nanos) {
+        processCreationFailures.increment();
+        createProcessLatency.record(nanos);
+        emitProcessCreation(pid, processSize, false, nanos);
+    }
+
+    void processDestroyed() {
+        processesDestroyed.increment();
+    }
+
+    void frameAllocated() {
+        framesAllocated.increment();
+    }
+
+    void frameReleased() {
+        framesReleased.increment();
+    }
+
+    void translationCompleted(long nanos) {
+        translationLatency.record(nanos);
+    }
+
+    void pageFaultHandled(int pid, int page, int frame, boolean evicted, long nanos) {
+        pageFaultLatency.record(nanos);
+        PageFaultEvent event = new PageFaultEvent();
+        if (event.isEnabled()) {
+            event.pid = pid;
+            event.page = page;
+            event.frame = frame;
+            event.evicted = evicted;
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    private void emitProcessCreation(int pid, int processSize, boolean succeeded, long nanos) {
+        ProcessCreationEvent event = new ProcessCreationEvent();
+        if (event.isEnabled()) {
+            event.pid = pid;
+            event.processSize = processSize;
+            event.succeeded = succeeded;
+            event.latency = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Chamado na thread do JFR. Como nos getters chamados por JMX, o estado da memória física é lido com a
+     * trava do gerenciador, pois o alocador e o registro de processos fora do modo concorrente não aceitam
+     * outras threads.
+     */
+    private void emitStatistics() {
+        MemoryStatisticsEvent event = new MemoryStatisticsEvent();
+        manager.withExclusiveAccess(() -> {
+            event.processes = manager.listProcesses().size();
+            event.freeMemory = manager.getFreeMemoryPercentage() / 100.0;
+            event.fragmentationIndex = manager.getFragmentationIndex();
+            return null;
+        });
+        event.framesAllocated = getFramesAllocated();
+        event.framesReleased = getFramesReleased();
+        event.pageFaults = getPageFaults();
+        event.evictions = getEvictions();
+        event.tlbHits = getTlbHits();
+        event.tlbMisses = getTlbMisses();
+        event.commit();
+    }
+
+    /**
+     * Remove o gancho do evento periódico e o registro JMX, se houver.
+     */
+    synchronized void close() {
+        if (statisticsEventEnabled) {
+            FlightRecorder.removePeriodicEvent(statisticsHook);
+            statisticsEventEnabled = false;
+        }
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (InstanceNotFoundException | MBeanRegistrationException ex) {
+                throw new IllegalStateException("Could not unregister memory metrics MBean", ex);
+            }
+            objectName = null;
+        }
+    }
+
+    public LatencyHistogram getCreateProcessLatency() {
+        return createProcessLatency;
+    }
+
+    public LatencyHistogram getTranslationLatency() {
+        return translationLatency;
+    }
+
+    public LatencyHistogram getPageFaultLatency() {
+        return pageFaultLatency;
+    }
+
+    @Override
+    public long getProcessesCreated() {
+        return processesCreated.sum();
+    }
+
+    @Override
+    public long getProcessCreationFailures() {
+        return processCreationFailures.sum();
+    }
+
+    @Override
+    public long getProcessesDestroyed() {
+        return processesDestroyed.sum();
+    }
+
+    @Override
+    public int getProcessCount() {
+        return manager.withExclusiveAccess(() -> manager.listProcesses().size());
+    }
+
+    @Override
+    public long getFramesAllocated() {
+        return framesAllocated.sum();
+    }
+
+    @Override
+    public long getFramesReleased() {
+        return framesReleased.sum();
+    }
+
+    @Override
+    public long getPageFaults() {
+        return manager.getPageFaults();
+    }
+
+    @Override
+    public long getEvictions() {
+        return manager.getEvictions();
+    }
+
+    @Override
+    public long getTlbHits() {
+        return manager.getTlbHits();
+    }
+
+    @Override
+    public long getTlbMisses() {
+        return manager.getTlbMisses();
+    }
+
+    @Override
+    public double getFreeMemoryPercentage() {
+        return manager.withExclusiveAccess(() -> manager.getFreeMemoryPercentage());
+    }
+
+    @Override
+    public double getFragmentationIndex() {
+        return manager.withExclusiveAccess(() -> manager.getFragmentationIndex());
+    }
+
+    @Override
+    public long getCreateProcessLatencyP50() {
+        return createProcessLatency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getCreateProcessLatencyP99() {
+        return createProcessLatency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getCreateProcessLatencyMax() {
+        return createProcessLatency.getMax();
+    }
+
+    @Override
+    public long getTranslationLatencyP50() {
+        return translationLatency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getTranslationLatencyP99() {
+        return translationLatency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getTranslationLatencyMax() {
+        return translationLatency.getMax();
+    }
+
+    @Override
+    public long getPageFaultLatencyP50() {
+        return pageFaultLatency.getPercentile(0.5);
+    }
+
+    @Override
+    public long getPageFaultLatencyP99() {
+        return pageFaultLatency.getPercentile(0.99);
+    }
+
+    @Override
+    public long getPageFaultLatencyMax() {
+        return pageFaultLatency.getMax();
+    }
+}
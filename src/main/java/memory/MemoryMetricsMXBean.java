@@ -0,0 +1,49 @@
+package memory;
+
+/**
+ * Interface de gerenciamento publicada por {@link MemoryMetrics#registerMBean()}. As latências são
+ * em nanossegundos.
+ */
+public interface MemoryMetricsMXBean {
+    long getProcessesCreated();
+
+    long getProcessCreationFailures();
+
+    long getProcessesDestroyed();
+
+    int getProcessCount();
+
+    long getFramesAllocated();
+
+    long getFramesReleased();
+
+    long getPageFaults();
+
+    long getEvictions();
+
+    long getTlbHits();
+
+    long getTlbMisses();
+
+    double getFreeMemoryPercentage();
+
+    double getFragmentationIndex();
+
+    long getCreateProcessLatencyP50();
+
+    long getCreateProcessLatencyP99();
+
+    long getCreateProcessLatencyMax();
+
+    long getTranslationLatencyP50();
+
+    long getTranslationLatencyP99();
+
+    long getTranslationLatencyMax();
+
+    long getPageFaultLatencyP50();
+
+    long getPageFaultLatencyP99();
+
+    long getPageFaultLatencyMax();
+}
@@ -0,0 +1,235 @@
+package memory;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Recupera quadros em segundo plano, como o kswapd, para que as faltas de página encontrem quadros livres
+ * em vez de despejar no caminho da alocação. A cada passada os bits de referência dos quadros são
+ * amostrados e zerados; quando os quadros livres ficam abaixo da marca inferior, um ponteiro de relógio
+ * percorre os quadros a partir de onde parou e despeja (para a camada comprimida, se houver, ou para a
+ * área de troca) os que não foram referenciados na última amostra, até os livres alcançarem a marca
+ * superior. Se uma volta inteira não bastar, a segunda volta despeja também os referenciados.
+ *
+ * <p>A amostragem e a estimativa dos conjuntos de trabalho não usam a trava do gerenciador, pois a tabela
+ * de quadros é atômica; só o despejo, limitado a duas voltas do ponteiro, suspende as traduções.
+ *
+ * <p>O conjunto de trabalho de cada processo é estimado como a quantidade de quadros de que é dono
+ * referenciados nas últimas {@code workingSetWindow} amostras.
+ */
+public class MemoryReclaimer implements AutoCloseable {
+    private final MemoryManager manager;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final int workingSetWindow;
+    private final long[] lastReferenced;
+    private long samples;
+    private int clockHand;
+    private long passes;
+    private long framesReclaimed;
+    private Map<Integer, Integer> workingSets = Map.of();
+    private RuntimeException lastReclaimFailure;
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    /**
+     * @param lowWatermark     quadros livres abaixo dos quais a recuperação começa
+     * @param highWatermark    quadros livres em que a recuperação para
+     * @param workingSetWindow amostras consideradas na estimativa do conjunto de trabalho
+     * @throws IllegalArgumentException quando o gerenciador não usa paginação sob demanda ou as marcas são inválidas
+     */
+    public MemoryReclaimer(MemoryManager manager, int lowWatermark, int highWatermark, int workingSetWindow) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Memory manager cannot be null");
+        }
+        if (manager.getPagingMode() != PagingMode.DEMAND) {
+            throw new IllegalArgumentException("Reclaim requires demand paging");
+        }
+        int frameCount = manager.getPhysicalMemory().getNumberOfFrames();
+        if (lowWatermark < 0 || highWatermark <= lowWatermark || highWatermark > frameCount) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high <= frame count");
+        }
+        if (workingSetWindow <= 0) {
+            throw new IllegalArgumentException("Working set window must be positive");
+        }
+        this.manager = manager;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.workingSetWindow = workingSetWindow;
+        this.lastReferenced = new long[frameCount];
+    }
+
+    /**
+     * Executa uma passada: amostra as referências e, abaixo da marca inferior, recupera quadros.
+     * Traduções e alterações ficam suspensas apenas enquanto os quadros são despejados.
+     *
+     * @return quadros devolvidos ao alocador
+     */
+    public int reclaim() {
+        synchronized (this) {
+            sample();
+        }
+        // a trava do gerenciador vem antes do monitor, na mesma ordem da compactação, que chama frameMoved
+        return manager.withExclusiveAccess(() -> {
+            synchronized (this) {
+                int reclaimed = reclaimColdFrames();
+                passes++;
+                framesReclaimed += reclaimed;
+                return reclaimed;
+            }
+        });
+    }
+
+    /**
+     * Acompanha a página movida pela compactação, para que ela não pareça fria no novo quadro.
+     */
+    synchronized void frameMoved(int fromFrame, int toFrame) {
+        lastReferenced[toFrame] = lastReferenced[fromFrame];
+        lastReferenced[fromFrame] = 0;
+    }
+
+    private void sample() {
+        samples++;
+        BitSet referenced = manager.drainReferencedFrames();
+        for (int frame = referenced.nextSetBit(0); frame >= 0; frame = referenced.nextSetBit(frame + 1)) {
+            lastReferenced[frame] = samples;
+        }
+
+        Map<Integer, Integer> estimate = new HashMap<>();
+        for (int frame = 0; frame < lastReferenced.length; frame++) {
+            int owner = manager.getFrameOwner(frame);
+            if (owner >= 0 && lastReferenced[frame] > 0 && samples - lastReferenced[frame] < workingSetWindow) {
+                estimate.merge(owner, 1, Integer::sum);
+            }
+        }
+        workingSets = estimate;
+    }
+
+    private int reclaimColdFrames() {
+        int available = manager.getAvailableFrames();
+        if (available >= lowWatermark) {
+            return 0;
+        }
+        int wanted = highWatermark - available;
+        int reclaimed = 0;
+        for (int step = 0; step < 2 * lastReferenced.length && reclaimed < wanted; step++) {
+            int frame = clockHand;
+            clockHand = clockHand + 1 == lastReferenced.length ? 0 : clockHand + 1;
+            if (manager.getFrameReferences(frame) == 0 || manager.isHugeFrame(frame)) {
+                continue;
+            }
+            if (step < lastReferenced.length && lastReferenced[frame] == samples) {
+                continue;
+            }
+            manager.reclaimFrame(frame);
+            reclaimed++;
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Inicia passadas periódicas em uma thread virtual, que também é acordada sempre que uma alocação deixa
+     * os quadros livres abaixo da marca inferior. Uma passada que falha não interrompe as seguintes: a
+     * exceção fica disponível em {@link #getLastReclaimFailure()}.
+     *
+     * @throws IllegalStateException quando o recuperador já está em execução ou o gerenciador já tem outro
+     */
+    public synchronized void start(Duration interval) {
+        if (thread != null) {
+            throw new IllegalStateException("Memory reclaimer is already running");
+        }
+        long intervalNanos = interval.toNanos();
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Reclaim interval must be positive");
+        }
+        manager.attachReclaimer(this);
+        running = true;
+        thread = Thread.ofVirtual().name("memory-reclaimer").start(() -> {
+            while (running) {
+                reclaimInBackground();
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        });
+    }
+
+    private void reclaimInBackground() {
+        try {
+            reclaim();
+        } catch (RuntimeException reclaimError) {
+            // deixar a exceção escapar encerraria a thread, e start() continuaria achando que ela está ativa
+            synchronized (this) {
+                lastReclaimFailure = reclaimError;
+            }
+        }
+    }
+
+    /**
+     * Interrompe as passadas periódicas, aguardando a passada em andamento terminar.
+     */
+    public void stop() {
+        Thread reclaimThread;
+        synchronized (this) {
+            reclaimThread = thread;
+            if (reclaimThread == null) {
+                return;
+            }
+            running = false;
+            thread = null;
+            manager.detachReclaimer(this);
+        }
+        LockSupport.unpark(reclaimThread);
+        try {
+            reclaimThread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Antecipa a próxima passada, se o recuperador estiver em execução.
+     */
+    void wakeUp() {
+        Thread reclaimThread = thread;
+        if (reclaimThread != null) {
+            LockSupport.unpark(reclaimThread);
+        }
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    public synchronized long getPasses() {
+        return passes;
+    }
+
+    public synchronized long getFramesReclaimed() {
+        return framesReclaimed;
+    }
+
+    /**
+     * @return quadros do conjunto de trabalho estimado de cada processo na última passada, por PID
+     */
+    public synchronized Map<Integer, Integer> getWorkingSetSizes() {
+        return Map.copyOf(workingSets);
+    }
+
+    /**
+     * @return exceção da passada em segundo plano mais recente que falhou, ou {@code null} se nenhuma falhou
+     */
+    public synchronized RuntimeException getLastReclaimFailure() {
+        return lastReclaimFailure;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,459 @@
+package memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Salva e restaura o estado completo de um {@link MemoryManager} em arquivo local.
+ *
+ * <p>O arquivo começa com um cabeçalho fixo de {@value #HEADER_SIZE} bytes ({@code PGSN}, versão, tipo,
+ * identificadores e configuração), seguido da lista de quadros gravados. Os quadros ficam em uma região
+ * contígua alinhada a {@value #DATA_ALIGNMENT} bytes, na ordem da lista, para que a restauração os leia
+ * por {@link FileChannel#map} em vez de interpretá-los. Por último vêm os metadados: contadores, dono e
+ * referências de cada quadro em uso e, por processo, o conteúdo lógico que não pode ser regenerado, a
+ * tabela de páginas (páginas grandes primeiro, uma entrada cada) e as páginas que estão na área de troca.
+ *
+ * <p>Um snapshot incremental grava apenas os quadros alterados desde o snapshot anterior (completo ou
+ * incremental) e é restaurado aplicando a cadeia a partir do completo. O estado das políticas de
+ * substituição e das TLBs não é salvo: as TLBs começam vazias e a política recebe as páginas residentes
+ * na ordem dos quadros.
+ */
+public final class MemorySnapshot {
+    static final byte[] MAGIC = {'P', 'G', 'S', 'N'};
+    static final int VERSION = 3;
+    private static final int HEADER_SIZE = 64;
+    private static final int DATA_ALIGNMENT = 4096;
+    private static final long MAX_MAPPING_SIZE = 1L << 30;
+    private static final byte FULL = 0;
+    private static final byte INCREMENTAL = 1;
+    private static final int OWN_LOGICAL_MEMORY = -1;
+
+    private MemorySnapshot() {
+    }
+
+    /**
+     * Grava todos os quadros em uso e os metadados do gerenciador. Traduções e alterações ficam suspensas
+     * durante a gravação.
+     */
+    public static void write(MemoryManager manager, Path file) {
+        manager.withExclusiveAccess(() -> {
+            BitSet frames = new BitSet();
+            for (int frame = 0; frame < manager.getPhysicalMemory().getNumberOfFrames(); frame++) {
+                if (manager.getFrameReferences(frame) > 0) {
+                    frames.set(frame);
+                }
+            }
+            writeSnapshot(manager, file, FULL, frames);
+            manager.drainDirtyFrames();
+            return null;
+        });
+    }
+
+    /**
+     * Grava apenas os quadros alterados desde o último snapshot deste gerenciador, além dos metadados atuais.
+     *
+     * @throws IllegalStateException quando o gerenciador ainda não tem um snapshot anterior
+     */
+    public static void writeIncremental(MemoryManager manager, Path file) {
+        manager.withExclusiveAccess(() -> {
+            if (manager.getLastSnapshotId() == 0) {
+                throw new IllegalStateException("No previous snapshot to build on; write a full snapshot first");
+            }
+            // os quadros alterados só são esquecidos depois que o arquivo está no disco: se a gravação falhar,
+            // o próximo incremental ainda os inclui
+            writeSnapshot(manager, file, INCREMENTAL, manager.getDirtyFrames());
+            manager.drainDirtyFrames();
+            return null;
+        });
+    }
+
+    /**
+     * Cria um gerenciador com {@code builder} e restaura nele o snapshot completo seguido dos incrementais,
+     * na ordem em que foram gravados.
+     *
+     * @throws IllegalArgumentException quando um arquivo não é um snapshot, a configuração do builder
+     *                                  difere da salva ou a cadeia está fora de ordem
+     */
+    public static MemoryManager restore(MemoryManager.Builder builder, Path base, Path... increments) {
+        MemoryManager manager = builder.build();
+        try {
+            Header header = null;
+            Path last = base;
+            for (int i = 0; i <= increments.length; i++) {
+                Path file = i == 0 ? base : increments[i - 1];
+                header = restoreFrames(manager, file, header);
+                last = file;
+            }
+            restoreMetadata(manager, last, header);
+            manager.drainDirtyFrames();
+            manager.setLastSnapshotId(header.snapshotId);
+            return manager;
+        } catch (RuntimeException restoreError) {
+            manager.close();
+            throw restoreError;
+        }
+    }
+
+    private static void writeSnapshot(MemoryManager manager, Path file, byte kind, BitSet frames) {
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+        int pageSize = physicalMemory.getFrameSize();
+        int frameCount = frames.cardinality();
+        long dataOffset = align(HEADER_SIZE + (long) Integer.BYTES * frameCount);
+        long metadataOffset = dataOffset + (long) frameCount * pageSize;
+        long snapshotId = newSnapshotId();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(MAGIC)
+                    .put((byte) VERSION)
+                    .put(kind)
+                    .put((byte) manager.getPagingMode().ordinal())
+                    .put((byte) 0)
+                    .putLong(snapshotId)
+                    .putLong(kind == FULL ? 0 : manager.getLastSnapshotId())
+                    .putLong(physicalMemory.getTotalSize())
+                    .putInt(pageSize)
+                    .putInt(manager.getMaxProcessSize())
+                    .putInt(frameCount)
+                    .putInt(manager.getHugePageSize())
+                    .putLong(dataOffset)
+                    .putLong(metadataOffset);
+            writeFully(channel, header.flip(), 0);
+
+            ByteBuffer index = ByteBuffer.allocate(Integer.BYTES * frameCount);
+            frames.stream().forEach(index::putInt);
+            writeFully(channel, index.flip(), HEADER_SIZE);
+
+            writeFrameData(channel, physicalMemory, frames, dataOffset);
+
+            DataOutputStream metadata = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel.position(metadataOffset)), 1 << 16));
+            writeMetadata(manager, metadata);
+            metadata.flush();
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write snapshot " + file, ex);
+        }
+        manager.setLastSnapshotId(snapshotId);
+    }
+
+    /**
+     * Copia os quadros para a região de dados mapeada em janelas de até 1 GiB.
+     */
+    private static void writeFrameData(FileChannel channel, PhysicalMemory physicalMemory, BitSet frames,
+                                       long dataOffset) throws IOException {
+        int pageSize = physicalMemory.getFrameSize();
+        int framesPerWindow = (int) (MAX_MAPPING_SIZE / pageSize);
+        int remaining = frames.cardinality();
+        int frame = frames.nextSetBit(0);
+        long position = dataOffset;
+        while (remaining > 0) {
+            int windowFrames = Math.min(remaining, framesPerWindow);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                    (long) windowFrames * pageSize);
+            for (int i = 0; i < windowFrames; i++) {
+                window.put(physicalMemory.frameView(frame));
+                frame = frames.nextSetBit(frame + 1);
+            }
+            window.force();
+            position += (long) windowFrames * pageSize;
+            remaining -= windowFrames;
+        }
+    }
+
+    private static void writeMetadata(MemoryManager manager, DataOutputStream out) throws IOException {
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+        int pageSize = physicalMemory.getFrameSize();
+        out.writeLong(manager.getPageFaults());
+        out.writeLong(manager.getEvictions());
+
+        int[] usedFrames = IntStream.range(0, physicalMemory.getNumberOfFrames())
+                .filter(frame -> manager.getFrameReferences(frame) > 0)
+                .toArray();
+        out.writeInt(usedFrames.length);
+        for (int frame : usedFrames) {
+            out.writeInt(frame);
+            out.writeInt(manager.getFrameOwner(frame));
+            out.writeInt(manager.getFrameReferences(frame));
+        }
+
+        byte[] page = new byte[pageSize];
+        Map<LogicalMemory, Integer> logicalOwners = new IdentityHashMap<>();
+        out.writeInt(manager.listProcesses().size());
+        for (Process process : manager.listProcesses()) {
+            LogicalMemory logicalMemory = process.getLogicalMemory();
+            PageContent content = logicalMemory.getPageContent();
+            out.writeInt(process.getPid());
+            out.writeInt(logicalMemory.getSize());
+            out.writeByte(content.strategy().ordinal());
+            out.writeLong(content.seed());
+            out.writeByte(process.getPlacement().policy().ordinal());
+            out.writeInt(process.getPlacement().bank());
+
+            Integer sharedWith = logicalOwners.putIfAbsent(logicalMemory, process.getPid());
+            out.writeInt(sharedWith == null ? OWN_LOGICAL_MEMORY : sharedWith);
+            if (sharedWith == null) {
+                writeStoredPages(logicalMemory, out, page);
+            }
+
+            PagesTable pagesTable = process.getPagesTable();
+            int[] hugeMappings = pairs(pagesTable::forEachHugeMapping);
+            out.writeInt(hugeMappings.length / 2);
+            for (int value : hugeMappings) {
+                out.writeInt(value);
+            }
+            int[] mappings = pairs(visitor -> pagesTable.forEachMapping((pageNumber, frame) -> {
+                if (!pagesTable.isHugePage(pageNumber)) {
+                    visitor.visit(pageNumber, frame);
+                }
+            }));
+            out.writeInt(mappings.length / 2);
+            for (int value : mappings) {
+                out.writeInt(value);
+            }
+
+            int[] swapSlots = pairs(process::forEachSwapSlot);
+            out.writeInt(swapSlots.length / 2);
+            for (int i = 0; i < swapSlots.length; i += 2) {
+                manager.loadSwappedPage(swapSlots[i + 1], page);
+                out.writeInt(swapSlots[i]);
+                out.write(page);
+            }
+        }
+    }
+
+    /**
+     * Coleta os pares (página, valor) visitados em um vetor intercalado.
+     */
+    private static int[] pairs(Consumer<PagesTable.MappingVisitor> mappings) {
+        IntStream.Builder pairs = IntStream.builder();
+        mappings.accept((page, value) -> pairs.add(page).add(value));
+        return pairs.build().toArray();
+    }
+
+    private static void writeStoredPages(LogicalMemory logicalMemory, DataOutputStream out, byte[] page)
+            throws IOException {
+        int stored = 0;
+        for (int pageNumber = 0; pageNumber < logicalMemory.getNumberOfPages(); pageNumber++) {
+            if (logicalMemory.isPageStored(pageNumber)) {
+                stored++;
+            }
+        }
+        out.writeInt(stored);
+        for (int pageNumber = 0; pageNumber < logicalMemory.getNumberOfPages(); pageNumber++) {
+            if (logicalMemory.isPageStored(pageNumber)) {
+                int length = logicalMemory.readPage(pageNumber, ByteBuffer.wrap(page));
+                out.writeInt(pageNumber);
+                out.write(page, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Aplica os quadros do arquivo sobre a memória física, conferindo que ele continua a cadeia.
+     *
+     * @param previous cabeçalho do arquivo anterior da cadeia, ou {@code null} para o snapshot completo
+     */
+    private static Header restoreFrames(MemoryManager manager, Path file, Header previous) {
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, file);
+            validateChain(manager, file, header, previous);
+
+            ByteBuffer index = ByteBuffer.allocate(Integer.BYTES * header.frameCount);
+            readFully(channel, index, HEADER_SIZE, file);
+            index.flip();
+
+            int pageSize = header.pageSize;
+            int framesPerWindow = (int) (MAX_MAPPING_SIZE / pageSize);
+            long position = header.dataOffset;
+            int remaining = header.frameCount;
+            while (remaining > 0) {
+                int windowFrames = Math.min(remaining, framesPerWindow);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        (long) windowFrames * pageSize);
+                for (int i = 0; i < windowFrames; i++) {
+                    physicalMemory.frameBuffer(index.getInt()).put(window.slice(i * pageSize, pageSize));
+                }
+                position += (long) windowFrames * pageSize;
+                remaining -= windowFrames;
+            }
+            return header;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read snapshot " + file, ex);
+        }
+    }
+
+    private static void restoreMetadata(MemoryManager manager, Path file, Header header) {
+        int pageSize = header.pageSize;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(
+                     Channels.newInputStream(channel.position(header.metadataOffset)), 1 << 16))) {
+            long pageFaults = in.readLong();
+            long evictions = in.readLong();
+            manager.restoreCounters(pageFaults, evictions);
+
+            int usedFrames = in.readInt();
+            for (int i = 0; i < usedFrames; i++) {
+                manager.restoreFrame(in.readInt(), in.readInt(), in.readInt());
+            }
+
+            Map<Integer, LogicalMemory> logicalMemories = new HashMap<>();
+            byte[] page = new byte[pageSize];
+            int processCount = in.readInt();
+            for (int i = 0; i < processCount; i++) {
+                int pid = in.readInt();
+                int size = in.readInt();
+                PageContent content = new PageContent(PageContent.Strategy.values()[in.readByte()], in.readLong());
+                Placement placement = new Placement(Placement.Policy.values()[in.readByte()], in.readInt());
+                int sharedWith = in.readInt();
+                LogicalMemory logicalMemory = sharedWith == OWN_LOGICAL_MEMORY
+                        ? readLogicalMemory(in, size, pageSize, content)
+                        : logicalMemories.get(sharedWith);
+                if (logicalMemory == null) {
+                    throw new IllegalArgumentException("Snapshot " + file + " is corrupted: PID " + pid
+                            + " shares memory with unknown PID " + sharedWith);
+                }
+                logicalMemories.putIfAbsent(pid, logicalMemory);
+
+                int pageCount = logicalMemory.getNumberOfPages();
+                int hugeMappings = in.readInt();
+                PagesTable pagesTable;
+                if (hugeMappings > 0) {
+                    pagesTable = PagesTable.withHugePages(pageCount, header.hugePageSize / pageSize);
+                } else if (manager.getPagingMode() == PagingMode.DEMAND) {
+                    pagesTable = PagesTable.sparse(pageCount);
+                } else {
+                    pagesTable = PagesTable.dense(pageCount);
+                }
+                for (int m = 0; m < hugeMappings; m++) {
+                    manager.restoreHugePage(pagesTable, in.readInt(), in.readInt());
+                }
+                int mappings = in.readInt();
+                for (int m = 0; m < mappings; m++) {
+                    pagesTable.mapPageToFrame(in.readInt(), in.readInt());
+                }
+                Process process = new Process(pid, logicalMemory, pagesTable, placement);
+
+                int swapped = in.readInt();
+                for (int s = 0; s < swapped; s++) {
+                    int pageNumber = in.readInt();
+                    in.readFully(page);
+                    manager.restoreSwappedPage(process, pageNumber, page);
+                }
+                manager.restoreProcess(process);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read snapshot " + file, ex);
+        }
+    }
+
+    private static LogicalMemory readLogicalMemory(DataInputStream in, int size, int pageSize, PageContent content)
+            throws IOException {
+        LogicalMemory logicalMemory = LogicalMemory.forRestore(size, pageSize, content);
+        int stored = in.readInt();
+        for (int i = 0; i < stored; i++) {
+            int pageNumber = in.readInt();
+            byte[] page = new byte[Math.min(pageSize, size - pageNumber * pageSize)];
+            in.readFully(page);
+            logicalMemory.writePage(pageNumber, page);
+        }
+        return logicalMemory;
+    }
+
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, buffer, 0, file);
+        buffer.flip();
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a memory snapshot: " + file);
+        }
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version + " in " + file);
+        }
+        byte kind = buffer.get();
+        PagingMode pagingMode = PagingMode.values()[buffer.get()];
+        buffer.get();
+        long snapshotId = buffer.getLong();
+        long parentId = buffer.getLong();
+        long physicalMemorySize = buffer.getLong();
+        int pageSize = buffer.getInt();
+        int maxProcessSize = buffer.getInt();
+        int frameCount = buffer.getInt();
+        int hugePageSize = buffer.getInt();
+        return new Header(kind, pagingMode, snapshotId, parentId, physicalMemorySize, pageSize, maxProcessSize,
+                frameCount, hugePageSize, buffer.getLong(), buffer.getLong());
+    }
+
+    private static void validateChain(MemoryManager manager, Path file, Header header, Header previous) {
+        if (header.physicalMemorySize != manager.getPhysicalMemory().getTotalSize()
+                || header.pageSize != manager.getPhysicalMemory().getFrameSize()
+                || header.maxProcessSize != manager.getMaxProcessSize()
+                || header.hugePageSize != manager.getHugePageSize()
+                || header.pagingMode != manager.getPagingMode()) {
+            throw new IllegalArgumentException("Snapshot " + file + " was taken with a different configuration");
+        }
+        if (previous == null && header.kind != FULL) {
+            throw new IllegalArgumentException("Snapshot " + file + " is incremental; restore must start from a full one");
+        }
+        if (previous != null && (header.kind != INCREMENTAL || header.parentId != previous.snapshotId)) {
+            throw new IllegalArgumentException("Snapshot " + file + " does not follow the previous snapshot");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path file)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IllegalArgumentException("Snapshot " + file + " is truncated");
+            }
+            position += read;
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT * DATA_ALIGNMENT;
+    }
+
+    private static long newSnapshotId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    private record Header(byte kind, PagingMode pagingMode, long snapshotId, long parentId, long physicalMemorySize,
+                          int pageSize, int maxProcessSize, int frameCount, int hugePageSize, long dataOffset,
+                          long metadataOffset) {
+    }
+}
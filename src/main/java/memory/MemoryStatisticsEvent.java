@@ -0,0 +1,46 @@
+package memory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.Period;
+
+/**
+ * Evento JFR periódico com os contadores acumulados e o estado da memória física.
+ */
+@Name("memory.Statistics")
+@Label("Estatísticas do gerenciador")
+@Category("Gerenciador de Memória")
+@Description("Contadores acumulados, memória livre e fragmentação")
+@Period("1 s")
+final class MemoryStatisticsEvent extends jdk.jfr.Event {
+    @Label("Processos")
+    int processes;
+
+    @Label("Quadros alocados")
+    long framesAllocated;
+
+    @Label("Quadros liberados")
+    long framesReleased;
+
+    @Label("Faltas de página")
+    long pageFaults;
+
+    @Label("Despejos")
+    long evictions;
+
+    @Label("Acertos na TLB")
+    long tlbHits;
+
+    @Label("Faltas na TLB")
+    long tlbMisses;
+
+    @Label("Memória livre")
+    @Percentage
+    double freeMemory;
+
+    @Label("Índice de fragmentação")
+    double fragmentationIndex;
+}
@@ -0,0 +1,12 @@
+package memory;
+
+/**
+ * Resultado de uma varredura de mesclagem de páginas idênticas.
+ *
+ * @param framesScanned quadros em uso resumidos; os que não mudaram desde a varredura anterior não entram
+ * @param pagesMerged   quadros duplicados liberados após a mesclagem
+ * @param bytesSaved    bytes de memória física recuperados
+ * @param complete      {@code true} quando a passada pela memória física terminou
+ */
+public record MergeReport(int framesScanned, int pagesMerged, long bytesSaved, boolean complete) {
+}
@@ -0,0 +1,89 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Memória física armazenada fora do heap, em blocos de memória direta de até {@value #MAX_CHUNK_SIZE} bytes.
+ * Como o tamanho total e o tamanho do quadro são potências de dois, nenhum quadro atravessa dois blocos,
+ * o que permite endereçar dezenas de gigabytes com endereços {@code long}.
+ *
+ * <p>Os blocos vêm de {@link ByteBuffer#allocateDirect(int)} e por isso contam para o limite
+ * {@code -XX:MaxDirectMemorySize}, que por padrão é igual ao tamanho máximo do heap: memórias maiores que o
+ * heap exigem aumentar esse limite. Os blocos só são devolvidos ao sistema quando o coletor recolhe os
+ * buffers; {@link MemoryManager#close()} solta as referências a eles para que isso possa acontecer.
+ */
+public class OffHeapPhysicalMemory extends PhysicalMemory {
+    static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private final ByteBuffer[] chunks;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final byte[] zeros;
+
+    public OffHeapPhysicalMemory(long size, int frameSize) {
+        super(size, frameSize);
+        if (Long.bitCount(size) != 1 || Integer.bitCount(frameSize) != 1) {
+            throw new IllegalArgumentException("Off-heap memory size and frame size must be powers of two");
+        }
+        int chunkSize = (int) Math.min(size, Math.max(MAX_CHUNK_SIZE, frameSize));
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1L;
+        this.chunks = new ByteBuffer[(int) (size >>> chunkShift)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize);
+        }
+        this.zeros = new byte[frameSize];
+    }
+
+    @Override
+    protected byte get(long address) {
+        return chunk(address).get(offset(address));
+    }
+
+    @Override
+    protected void put(long address, byte value) {
+        chunk(address).put(offset(address), value);
+    }
+
+    @Override
+    protected void get(long address, byte[] destination, int offset, int length) {
+        chunk(address).get(offset(address), destination, offset, length);
+    }
+
+    @Override
+    protected void put(long address, byte[] source, int offset, int length) {
+        chunk(address).put(offset(address), source, offset, length);
+    }
+
+    @Override
+    protected void fill(long address, int length, byte value) {
+        ByteBuffer chunk = chunk(address);
+        int start = offset(address);
+        if (value == 0) {
+            chunk.put(start, zeros, 0, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            chunk.put(start + i, value);
+        }
+    }
+
+    @Override
+    protected ByteBuffer slice(long address, int length) {
+        return chunk(address).slice(offset(address), length);
+    }
+
+    @Override
+    void release() {
+        Arrays.fill(chunks, null);
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks[(int) (address >>> chunkShift)];
+    }
+
+    private int offset(long address) {
+        return (int) (address & chunkMask);
+    }
+}
@@ -0,0 +1,109 @@
+package memory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Algoritmo ótimo de Belady, offline: conhecendo de antemão a sequência completa de acessos,
+ * despeja a página cujo próximo uso está mais distante. Serve de referência para comparar as demais políticas.
+ * Os acessos informados pelo gerenciador devem seguir a mesma ordem da sequência fornecida.
+ */
+public class OptimalReplacementPolicy implements ReplacementPolicy {
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    private final long[] references;
+    private final int[] nextOccurrence;
+    private final Map<Long, Integer> firstOccurrence = new HashMap<>();
+    private boolean[] resident;
+    private int[] nextUse;
+    private int residentCount;
+    private int cursor;
+
+    public OptimalReplacementPolicy(List<PageReference> futureReferences) {
+        if (futureReferences == null) {
+            throw new IllegalArgumentException("Reference string cannot be null");
+        }
+        int length = futureReferences.size();
+        this.references = new long[length];
+        this.nextOccurrence = new int[length];
+        Map<Long, Integer> lastSeen = new HashMap<>();
+        for (int i = length - 1; i >= 0; i--) {
+            PageReference reference = futureReferences.get(i);
+            long key = key(reference.pid(), reference.pageNumber());
+            references[i] = key;
+            Integer following = lastSeen.put(key, i);
+            nextOccurrence[i] = following == null ? NEVER : following;
+        }
+        firstOccurrence.putAll(lastSeen);
+    }
+
+    @Override
+    public void initialize(int frameCount) {
+        resident = new boolean[frameCount];
+        nextUse = new int[frameCount];
+    }
+
+    @Override
+    public void pageLoaded(int frameNumber, int pid, int pageNumber) {
+        if (!resident[frameNumber]) {
+            resident[frameNumber] = true;
+            residentCount++;
+        }
+        nextUse[frameNumber] = nextUseAfter(key(pid, pageNumber), cursor);
+    }
+
+    @Override
+    public void pageAccessed(int frameNumber, int pid, int pageNumber) {
+        long key = key(pid, pageNumber);
+        if (cursor < references.length && references[cursor] == key) {
+            nextUse[frameNumber] = nextOccurrence[cursor];
+            cursor++;
+        } else {
+            nextUse[frameNumber] = nextUseAfter(key, cursor);
+        }
+    }
+
+    @Override
+    public void frameReleased(int frameNumber) {
+        if (resident[frameNumber]) {
+            resident[frameNumber] = false;
+            residentCount--;
+        }
+    }
+
+    @Override
+    public void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        int use = nextUse[fromFrame];
+        frameReleased(fromFrame);
+        pageLoaded(toFrame, pid, pageNumber);
+        nextUse[toFrame] = use;
+    }
+
+    @Override
+    public int selectVictim() {
+        if (residentCount == 0) {
+            throw new IllegalStateException("No resident frame available for replacement");
+        }
+        int victim = -1;
+        for (int frame = 0; frame < resident.length; frame++) {
+            if (resident[frame] && (victim < 0 || nextUse[frame] > nextUse[victim])) {
+                victim = frame;
+            }
+        }
+        return victim;
+    }
+
+    private int nextUseAfter(long key, int position) {
+        Integer first = firstOccurrence.get(key);
+        int index = first == null ? NEVER : first;
+        while (index != NEVER && index < position) {
+            index = nextOccurrence[index];
+        }
+        return index;
+    }
+
+    private static long key(int pid, int pageNumber) {
+        return ((long) pid << 32) | (pageNumber & 0xFFFFFFFFL);
+    }
+}
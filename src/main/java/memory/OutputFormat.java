@@ -0,0 +1,13 @@
+package memory;
+
+/**
+ * Formato das linhas produzidas pelo modo em lote e pelo despejo da memória física.
+ */
+public enum OutputFormat {
+    /** Texto legível, como no menu interativo. */
+    TEXT,
+    /** Valores separados por vírgula; o primeiro campo identifica o tipo de registro. */
+    CSV,
+    /** Um objeto JSON por linha (JSON Lines), com o campo {@code type} identificando o registro. */
+    JSON
+}
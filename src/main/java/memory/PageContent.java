@@ -0,0 +1,54 @@
+package memory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Define como a memória lógica de um processo é povoada.
+ *
+ * @param strategy forma de obter o conteúdo das páginas
+ * @param seed     semente usada pelas estratégias {@link Strategy#RANDOM} e {@link Strategy#SEEDED}
+ */
+public record PageContent(Strategy strategy, long seed) {
+
+    public enum Strategy {
+        /** Todo o processo é gerado na criação e mantido em um vetor; processos grandes são preenchidos em paralelo. */
+        RANDOM,
+        /** Páginas começam zeradas e só ganham armazenamento quando escritas. */
+        ZERO_FILL,
+        /** Cada página é gerada a partir da semente sempre que necessária, sem ficar armazenada. */
+        SEEDED,
+        /**
+         * Páginas lidas de um arquivo mapeado, criado com {@link MemoryManager#createProcess(int, java.nio.file.Path)}.
+         * Não há fábrica: o conteúdo depende do arquivo, não de uma semente.
+         */
+        FILE
+    }
+
+    public PageContent {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Page content strategy cannot be null");
+        }
+    }
+
+    /**
+     * Conteúdo aleatório com semente própria, diferente a cada chamada.
+     */
+    public static PageContent random() {
+        return random(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Conteúdo aleatório reprodutível: a mesma semente gera os mesmos bytes.
+     */
+    public static PageContent random(long seed) {
+        return new PageContent(Strategy.RANDOM, seed);
+    }
+
+    public static PageContent zeroFill() {
+        return new PageContent(Strategy.ZERO_FILL, 0L);
+    }
+
+    public static PageContent seeded(long seed) {
+        return new PageContent(Strategy.SEEDED, seed);
+    }
+}
@@ -0,0 +1,32 @@
+package memory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR emitido a cada falta de página atendida.
+ */
+@Name("memory.PageFault")
+@Label("Falta de página")
+@Category("Gerenciador de Memória")
+@Description("Carga de uma página ausente, com ou sem despejo de outra")
+final class PageFaultEvent extends jdk.jfr.Event {
+    @Label("PID")
+    int pid;
+
+    @Label("Página")
+    int page;
+
+    @Label("Quadro")
+    int frame;
+
+    @Label("Houve despejo")
+    boolean evicted;
+
+    @Label("Latência")
+    @Timespan
+    long latency;
+}
@@ -0,0 +1,214 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Mescla quadros de conteúdo idêntico, inclusive de processos diferentes. Cada quadro em uso tem seu
+ * conteúdo resumido por CRC32C; quadros com o mesmo resumo são comparados byte a byte e, se forem de fato
+ * iguais, as páginas do duplicado passam a apontar para um único quadro compartilhado com cópia na escrita.
+ * Quadros de páginas grandes não participam. A varredura pode ser feita sob demanda com {@link #scan()} ou
+ * periodicamente em segundo plano.
+ *
+ * <p>Os resumos ficam guardados entre as varreduras: um quadro só é resumido de novo quando o gerenciador
+ * registra que seu conteúdo mudou. Cada passo examina no máximo a quantidade pedida de quadros com a trava
+ * de escrita; entre um passo e outro as traduções e alterações seguem normalmente e a passada continua de
+ * onde parou.
+ */
+public class PageMerger implements AutoCloseable {
+    private static final int FRAMES_PER_STEP = 256;
+
+    private final MemoryManager manager;
+    private final Map<Long, List<Integer>> framesByChecksum = new HashMap<>();
+    private final long[] checksums;
+    private final BitSet indexedFrames;
+    private final CRC32C checksum = new CRC32C();
+    private int cursor;
+    private ScheduledExecutorService scheduler;
+    private long totalPagesMerged;
+    private long totalBytesSaved;
+    private RuntimeException lastScanFailure;
+
+    public PageMerger(MemoryManager manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Memory manager cannot be null");
+        }
+        this.manager = manager;
+        int frameCount = manager.getPhysicalMemory().getNumberOfFrames();
+        this.checksums = new long[frameCount];
+        this.indexedFrames = new BitSet(frameCount);
+    }
+
+    /**
+     * Termina a passada atual em passos, liberando a trava entre um e outro.
+     */
+    public MergeReport scan() {
+        int scanned = 0;
+        int merged = 0;
+        long saved = 0;
+        MergeReport report;
+        do {
+            report = step(FRAMES_PER_STEP);
+            scanned += report.framesScanned();
+            merged += report.pagesMerged();
+            saved += report.bytesSaved();
+        } while (!report.complete());
+        return new MergeReport(scanned, merged, saved, true);
+    }
+
+    /**
+     * Examina até {@code maxFrames} quadros. Traduções e alterações ficam suspensas durante o passo.
+     */
+    public MergeReport step(int maxFrames) {
+        if (maxFrames <= 0) {
+            throw new IllegalArgumentException("Frames per step must be positive");
+        }
+        return manager.withExclusiveAccess(() -> {
+            synchronized (this) {
+                MergeReport report = mergeIdenticalFrames(maxFrames);
+                totalPagesMerged += report.pagesMerged();
+                totalBytesSaved += report.bytesSaved();
+                return report;
+            }
+        });
+    }
+
+    private MergeReport mergeIdenticalFrames(int maxFrames) {
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+        int end = Math.min(cursor + maxFrames, checksums.length);
+        int scanned = 0;
+        int merged = 0;
+
+        for (int frame = cursor; frame < end; frame++) {
+            boolean changed = manager.takeChangedSinceMerge(frame);
+            if (!isMergeable(frame)) {
+                forget(frame);
+                continue;
+            }
+            if (!changed && indexedFrames.get(frame)) {
+                continue;
+            }
+            forget(frame);
+            scanned++;
+            ByteBuffer contents = physicalMemory.frameView(frame);
+            checksum.reset();
+            checksum.update(contents);
+            long value = checksum.getValue();
+
+            List<Integer> candidates = framesByChecksum.computeIfAbsent(value, key -> new ArrayList<>(1));
+            Integer identical = findIdentical(physicalMemory, candidates, frame);
+            if (identical == null) {
+                candidates.add(frame);
+                checksums[frame] = value;
+                indexedFrames.set(frame);
+            } else {
+                manager.mergeFrames(identical, frame);
+                merged++;
+            }
+        }
+        boolean complete = end == checksums.length;
+        cursor = complete ? 0 : end;
+        return new MergeReport(scanned, merged, (long) merged * physicalMemory.getFrameSize(), complete);
+    }
+
+    private boolean isMergeable(int frame) {
+        return manager.getFrameReferences(frame) > 0 && !manager.isHugeFrame(frame);
+    }
+
+    /**
+     * Tira o quadro do índice de resumos, se estiver nele.
+     */
+    private void forget(int frame) {
+        if (!indexedFrames.get(frame)) {
+            return;
+        }
+        indexedFrames.clear(frame);
+        List<Integer> candidates = framesByChecksum.get(checksums[frame]);
+        candidates.remove(Integer.valueOf(frame));
+        if (candidates.isEmpty()) {
+            framesByChecksum.remove(checksums[frame]);
+        }
+    }
+
+    /**
+     * Procura um candidato de mesmo resumo com o mesmo conteúdo. Um candidato ainda não revisitado nesta
+     * passada pode ter mudado ou sido liberado; a comparação byte a byte e a verificação de uso descartam
+     * os que não servem.
+     */
+    private Integer findIdentical(PhysicalMemory physicalMemory, List<Integer> candidates, int frame) {
+        ByteBuffer contents = physicalMemory.frameView(frame);
+        for (Integer candidate : candidates) {
+            if (isMergeable(candidate) && physicalMemory.frameView(candidate).mismatch(contents) < 0) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inicia varreduras periódicas em uma thread daemon. Uma varredura que falha não interrompe as seguintes:
+     * a exceção fica disponível em {@link #getLastScanFailure()}.
+     *
+     * @throws IllegalStateException quando as varreduras já estão em andamento
+     */
+    public synchronized void start(long interval, TimeUnit unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Page merger is already running");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "page-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scanInBackground, interval, interval, unit);
+    }
+
+    private void scanInBackground() {
+        try {
+            scan();
+        } catch (RuntimeException scanError) {
+            // deixar a exceção escapar cancelaria as próximas execuções agendadas
+            synchronized (this) {
+                lastScanFailure = scanError;
+            }
+        }
+    }
+
+    /**
+     * Interrompe as varreduras periódicas, se houver.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public synchronized long getTotalPagesMerged() {
+        return totalPagesMerged;
+    }
+
+    public synchronized long getTotalBytesSaved() {
+        return totalBytesSaved;
+    }
+
+    /**
+     * @return exceção da varredura em segundo plano mais recente que falhou, ou {@code null} se nenhuma falhou
+     */
+    public synchronized RuntimeException getLastScanFailure() {
+        return lastScanFailure;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,7 @@
+package memory;
+
+/**
+ * Referência a uma página lógica de um processo, usada para descrever sequências de acesso.
+ */
+public record PageReference(int pid, int pageNumber) {
+}
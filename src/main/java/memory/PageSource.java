@@ -0,0 +1,39 @@
+package memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Origem do conteúdo das páginas de uma {@link LogicalMemory}.
+ */
+interface PageSource {
+
+    /**
+     * Escreve os {@code length} bytes da página em {@code target}, a partir da posição atual.
+     *
+     * @return {@code false} quando a página é inteiramente zero e nada foi escrito
+     */
+    boolean read(int pageNumber, ByteBuffer target, int length);
+
+    /**
+     * Sobrescreve o início da página com {@code length} bytes de {@code source}.
+     */
+    void write(int pageNumber, byte[] source, int offset, int length);
+
+    /**
+     * @return {@code true} quando o conteúdo da página está armazenado e não pode ser regenerado
+     */
+    boolean isStored(int pageNumber);
+
+    /**
+     * @return {@code true} quando a página pode ser lida de novo da origem com o mesmo conteúdo, então um
+     *         quadro que a contém sem alterações pode ser descartado em vez de ir para a área de troca
+     */
+    default boolean isReloadable(int pageNumber) {
+        return false;
+    }
+
+    /**
+     * Bytes mantidos em memória por esta origem.
+     */
+    long getBackingBytes();
+}
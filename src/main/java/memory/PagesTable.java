@@ -1,45 +1,111 @@
 package memory;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 /**
  * Armazena o mapeamento entre índices de páginas lógicas e números de quadros físicos de um processo.
+ * As entradas são inteiros primitivos; páginas sem quadro associado guardam {@link #UNMAPPED}.
  */
-public class PagesTable {
-    private final int pageCount;
-    private final Map<Integer, Integer> pagesTable;
+public interface PagesTable {
+    /**
+     * Valor usado para páginas que não estão mapeadas em nenhum quadro.
+     */
+    int UNMAPPED = -1;
+
+    /**
+     * Cria uma tabela linear ({@code int[]}), adequada quando todas as páginas serão mapeadas.
+     */
+    static PagesTable dense(int pageCount) {
+        return new FlatPagesTable(pageCount);
+    }
+
+    /**
+     * Cria uma tabela em dois níveis que só aloca os blocos efetivamente utilizados,
+     * adequada para espaços de endereçamento grandes e esparsos.
+     */
+    static PagesTable sparse(int pageCount) {
+        return new RadixPagesTable(pageCount);
+    }
+
+    /**
+     * Cria uma tabela em dois níveis em que cada entrada do diretório pode mapear diretamente uma página
+     * grande de {@code pagesPerHugePage} páginas, sem bloco de entradas individuais.
+     *
+     * @param pagesPerHugePage páginas por página grande, potência de dois
+     */
+    static PagesTable withHugePages(int pageCount, int pagesPerHugePage) {
+        return new RadixPagesTable(pageCount, Integer.numberOfTrailingZeros(pagesPerHugePage));
+    }
+
+    /**
+     * @throws IllegalStateException quando a página pertence a uma página grande
+     */
+    void mapPageToFrame(int pageNumber, int frameNumber);
+
+    /**
+     * Remove o mapeamento da página.
+     *
+     * @return quadro que estava associado à página, ou {@link #UNMAPPED}
+     */
+    int unmapPage(int pageNumber);
+
+    /**
+     * @throws IllegalStateException quando a página não está mapeada
+     */
+    int getPageFrame(int pageNumber);
+
+    boolean isMapped(int pageNumber);
+
+    int size();
+
+    /**
+     * Altera a quantidade de páginas mantendo as entradas existentes. Páginas acrescentadas começam sem
+     * quadro; ao diminuir, os mapeamentos das páginas removidas são descartados.
+     *
+     * @throws IllegalArgumentException quando {@code pageCount} não é positivo
+     * @throws IllegalStateException    quando a redução dividiria uma página grande
+     */
+    void resize(int pageCount);
+
+    /**
+     * Percorre apenas as páginas mapeadas, em ordem crescente de página. Páginas grandes aparecem
+     * como cada uma das páginas comuns que as compõem.
+     */
+    void forEachMapping(MappingVisitor visitor);
 
-    public PagesTable(int pageCount) {
-        if (pageCount <= 0) {
-            throw new IllegalArgumentException("Page count must be positive");
-        }
-        this.pageCount = pageCount;
-        this.pagesTable = new LinkedHashMap<>(pageCount);
+    /**
+     * @return páginas por página grande, ou 0 quando a tabela não aceita páginas grandes
+     */
+    default int getPagesPerHugePage() {
+        return 0;
     }
 
-    public void mapPageToFrame(int pageNumber, int frameNumber) {
-        validatePageNumber(pageNumber);
-        pagesTable.put(pageNumber, frameNumber);
+    /**
+     * Mapeia a página grande {@code hugePageNumber} (páginas {@code hugePageNumber * getPagesPerHugePage()}
+     * em diante) para quadros consecutivos a partir de {@code firstFrame}, em uma única entrada.
+     *
+     * @throws IllegalStateException quando a tabela não aceita páginas grandes ou o intervalo já tem páginas mapeadas
+     */
+    default void mapHugePage(int hugePageNumber, int firstFrame) {
+        throw new IllegalStateException("Page table does not support huge pages");
     }
 
-    public int getPageFrame(int pageNumber) {
-        validatePageNumber(pageNumber);
-        Integer frameNumber = pagesTable.get(pageNumber);
-        if (frameNumber == null) {
-            throw new IllegalStateException("Page " + pageNumber + " is not mapped to any frame");
-        }
-        return frameNumber;
+    /**
+     * @return {@code true} quando a página faz parte de uma página grande mapeada
+     */
+    default boolean isHugePage(int pageNumber) {
+        return false;
     }
 
-    public int size() {
-        return pageCount;
+    /**
+     * Percorre as páginas grandes mapeadas, informando o número da página grande e o primeiro quadro.
+     */
+    default void forEachHugeMapping(MappingVisitor visitor) {
     }
 
-    private void validatePageNumber(int pageNumber) {
-        if (pageNumber < 0 || pageNumber >= pageCount) {
-            throw new IllegalArgumentException("Invalid page number: " + pageNumber);
-        }
+    /**
+     * Recebe cada par página → quadro visitado por {@link #forEachMapping(MappingVisitor)}.
+     */
+    @FunctionalInterface
+    interface MappingVisitor {
+        void visit(int pageNumber, int frameNumber);
     }
 }
@@ -0,0 +1,11 @@
+package memory;
+
+/**
+ * Momento em que as páginas de um processo são carregadas na memória física.
+ */
+public enum PagingMode {
+    /** Todas as páginas são carregadas na criação do processo; falta de quadros impede a criação. */
+    EAGER,
+    /** Páginas são carregadas no primeiro acesso; com a memória cheia, uma página residente é despejada. */
+    DEMAND
+}
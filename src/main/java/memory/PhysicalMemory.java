@@ -1,50 +1,69 @@
 package memory;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 
 /**
  * Modela a memória física dividida em quadros. Expõe operações de leitura/escrita
- * utilizadas pelo gerenciador para copiar páginas de entrada e saída.
+ * utilizadas pelo gerenciador para copiar páginas de entrada e saída. Os endereços são de 64 bits;
+ * o armazenamento concreto fica a cargo das subclasses ({@link HeapPhysicalMemory} ou {@link OffHeapPhysicalMemory}).
  */
-public class PhysicalMemory {
-    private final byte[] physicalMemory;
+public abstract class PhysicalMemory {
+    private final long totalSize;
     private final int frameSize;
+    private final int numberOfFrames;
 
     /**
      * @param size      tamanho total da memória física em bytes
      * @param frameSize tamanho de cada quadro em bytes (precisa dividir o total)
      */
-    public PhysicalMemory(int size, int frameSize) {
+    protected PhysicalMemory(long size, int frameSize) {
         if (size <= 0 || frameSize <= 0) {
             throw new IllegalArgumentException("Memory size and frame size must be positive");
         }
         if (size % frameSize != 0) {
             throw new IllegalArgumentException("Physical memory size must be a multiple of frame size");
         }
+        if (size / frameSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Physical memory has too many frames");
+        }
 
-        this.physicalMemory = new byte[size];
+        this.totalSize = size;
         this.frameSize = frameSize;
+        this.numberOfFrames = (int) (size / frameSize);
+    }
+
+    /**
+     * Cria a memória física com o armazenamento indicado.
+     */
+    public static PhysicalMemory create(PhysicalMemoryBackend backend, long size, int frameSize) {
+        return switch (backend) {
+            case HEAP -> new HeapPhysicalMemory(size, frameSize);
+            case OFF_HEAP -> new OffHeapPhysicalMemory(size, frameSize);
+        };
+    }
+
+    public long getTotalSize() {
+        return totalSize;
     }
 
-    public int getTotalSize() {
-        return physicalMemory.length;
+    public int getFrameSize() {
+        return frameSize;
     }
 
     /**
      * @return quantidade de quadros disponíveis nesta memória física
      */
     public int getNumberOfFrames() {
-        return physicalMemory.length / frameSize;
+        return numberOfFrames;
     }
 
-    public int getFrameStartAddress(int frameNumber) {
+    public long getFrameStartAddress(int frameNumber) {
         validateFrameNumber(frameNumber);
-        return frameNumber * frameSize;
+        return (long) frameNumber * frameSize;
     }
 
     public void clearFrame(int frameNumber) {
-        int start = getFrameStartAddress(frameNumber);
-        Arrays.fill(physicalMemory, start, start + frameSize, (byte) 0);
+        fill(getFrameStartAddress(frameNumber), frameSize, (byte) 0);
     }
 
     /**
@@ -54,24 +73,111 @@ public class PhysicalMemory {
         if (data == null) {
             throw new IllegalArgumentException("Frame data cannot be null");
         }
-        if (data.length > frameSize) {
+        writeFrame(frameNumber, data, 0, data.length);
+    }
+
+    /**
+     * Copia {@code length} bytes de {@code source}, a partir de {@code offset}, diretamente para o quadro,
+     * sem cópia intermediária. Os bytes restantes do quadro são preenchidos com zero.
+     */
+    public void writeFrame(int frameNumber, byte[] source, int offset, int length) {
+        if (source == null) {
+            throw new IllegalArgumentException("Frame data cannot be null");
+        }
+        if (length > frameSize) {
             throw new IllegalArgumentException("Frame data larger than frame size");
         }
+        if (offset < 0 || length < 0 || offset > source.length - length) {
+            throw new IllegalArgumentException("Invalid source range");
+        }
 
-        int start = getFrameStartAddress(frameNumber);
-        System.arraycopy(data, 0, physicalMemory, start, data.length);
-        if (data.length < frameSize) {
-            Arrays.fill(physicalMemory, start + data.length, start + frameSize, (byte) 0);
+        long start = getFrameStartAddress(frameNumber);
+        put(start, source, offset, length);
+        if (length < frameSize) {
+            fill(start + length, frameSize - length, (byte) 0);
         }
     }
 
+    /**
+     * Copia o conteúdo de um quadro para outro.
+     */
+    public void copyFrame(int sourceFrame, int destinationFrame) {
+        frameBuffer(destinationFrame).put(frameBuffer(sourceFrame));
+    }
+
     public byte[] readFrame(int frameNumber) {
-        int start = getFrameStartAddress(frameNumber);
-        return Arrays.copyOfRange(physicalMemory, start, start + frameSize);
+        byte[] data = new byte[frameSize];
+        readInto(frameNumber, data, 0);
+        return data;
+    }
+
+    /**
+     * Copia o conteúdo do quadro para {@code destination} a partir de {@code offset}, sem alocar.
+     */
+    public void readInto(int frameNumber, byte[] destination, int offset) {
+        if (destination == null) {
+            throw new IllegalArgumentException("Destination cannot be null");
+        }
+        if (offset < 0 || offset > destination.length - frameSize) {
+            throw new IllegalArgumentException("Destination too small for a frame");
+        }
+        get(getFrameStartAddress(frameNumber), destination, offset, frameSize);
+    }
+
+    /**
+     * Retorna uma visão somente leitura do quadro, que reflete o conteúdo atual sem copiá-lo.
+     */
+    public ByteBuffer frameView(int frameNumber) {
+        return frameBuffer(frameNumber).asReadOnlyBuffer();
+    }
+
+    /**
+     * Visão gravável do quadro, usada internamente para transferências sem cópia intermediária.
+     */
+    ByteBuffer frameBuffer(int frameNumber) {
+        return slice(getFrameStartAddress(frameNumber), frameSize);
+    }
+
+    public byte readByte(long address) {
+        validateAddress(address);
+        return get(address);
+    }
+
+    public void writeByte(long address, byte value) {
+        validateAddress(address);
+        put(address, value);
+    }
+
+    /**
+     * Operações primitivas do armazenamento. Os endereços já foram validados e um intervalo
+     * nunca ultrapassa o quadro em que começa.
+     */
+    protected abstract byte get(long address);
+
+    protected abstract void put(long address, byte value);
+
+    protected abstract void get(long address, byte[] destination, int offset, int length);
+
+    protected abstract void put(long address, byte[] source, int offset, int length);
+
+    protected abstract void fill(long address, int length, byte value);
+
+    protected abstract ByteBuffer slice(long address, int length);
+
+    /**
+     * Abre mão do armazenamento quando o gerenciador é fechado; a memória não pode mais ser usada depois.
+     */
+    void release() {
+    }
+
+    private void validateAddress(long address) {
+        if (address < 0 || address >= totalSize) {
+            throw new IllegalArgumentException("Invalid physical address: " + address);
+        }
     }
 
     private void validateFrameNumber(int frameNumber) {
-        if (frameNumber < 0 || frameNumber >= getNumberOfFrames()) {
+        if (frameNumber < 0 || frameNumber >= numberOfFrames) {
             throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
         }
     }
@@ -0,0 +1,11 @@
+package memory;
+
+/**
+ * Armazenamento usado pela memória física simulada.
+ */
+public enum PhysicalMemoryBackend {
+    /** Um único {@code byte[]} no heap; limitado a 1 GB (maior potência de dois que cabe em um vetor). */
+    HEAP,
+    /** Blocos de memória direta fora do heap, sem cópias pelo coletor de lixo e com endereçamento de 64 bits. */
+    OFF_HEAP
+}
@@ -0,0 +1,42 @@
+package memory;
+
+/**
+ * Define de qual banco de memória física vêm os quadros de um processo quando o gerenciador é dividido
+ * em bancos ({@link MemoryManager.Builder#banks(int, Placement)}). Em todas as políticas, se o banco
+ * escolhido estiver cheio, o quadro é tomado do próximo banco com quadros livres.
+ *
+ * @param policy forma de escolher o banco
+ * @param bank   banco usado pela política {@link Policy#PREFERRED}
+ */
+public record Placement(Policy policy, int bank) {
+
+    public enum Policy {
+        /** Banco associado à thread que provoca a alocação, como o nó do processador em execução. */
+        LOCAL,
+        /** Páginas consecutivas alternam entre os bancos, espalhando o processo por todos. */
+        INTERLEAVE,
+        /** Sempre o mesmo banco, escolhido na criação do processo. */
+        PREFERRED
+    }
+
+    public Placement {
+        if (policy == null) {
+            throw new IllegalArgumentException("Placement policy cannot be null");
+        }
+        if (bank < 0) {
+            throw new IllegalArgumentException("Invalid memory bank: " + bank);
+        }
+    }
+
+    public static Placement local() {
+        return new Placement(Policy.LOCAL, 0);
+    }
+
+    public static Placement interleave() {
+        return new Placement(Policy.INTERLEAVE, 0);
+    }
+
+    public static Placement preferred(int bank) {
+        return new Placement(Policy.PREFERRED, bank);
+    }
+}
@@ -5,13 +5,22 @@ package memory;
  */
 public class Process {
     private final int pid;
-    private final LogicalMemory logicalMemory;
+    private LogicalMemory logicalMemory;
     private final PagesTable pagesTable;
+    private final Placement placement;
+    private PagesTable swapSlots;
+    private int readaheadWindow;
+    private int nextSequentialPage = -1;
 
     public Process(int pid, LogicalMemory logicalMemory, PagesTable pagesTable) {
+        this(pid, logicalMemory, pagesTable, Placement.local());
+    }
+
+    Process(int pid, LogicalMemory logicalMemory, PagesTable pagesTable, Placement placement) {
         this.pid = pid;
         this.logicalMemory = logicalMemory;
         this.pagesTable = pagesTable;
+        this.placement = placement;
     }
 
     public int getPid() {
@@ -33,4 +42,66 @@ public class Process {
     public PagesTable getPagesTable() {
         return pagesTable;
     }
+
+    /**
+     * @return política que escolhe o banco de memória dos quadros do processo
+     */
+    public Placement getPlacement() {
+        return placement;
+    }
+
+    /**
+     * Passa a usar {@code resized}, já com o novo tamanho, e ajusta a tabela de slots da área de troca.
+     * A tabela de páginas é redimensionada pelo gerenciador.
+     */
+    void resize(LogicalMemory resized) {
+        logicalMemory = resized;
+        if (swapSlots != null) {
+            swapSlots.resize(resized.getNumberOfPages());
+        }
+    }
+
+    /**
+     * Registra uma falta de página e calcula quantas páginas seguintes ler antecipadamente: a janela dobra
+     * enquanto as faltas continuam de onde a anterior parou e é zerada por um acesso fora de ordem.
+     */
+    int advanceReadahead(int pageNumber, int maxWindow) {
+        readaheadWindow = pageNumber == nextSequentialPage ? Math.min(maxWindow, Math.max(1, readaheadWindow * 2)) : 0;
+        nextSequentialPage = pageNumber + 1;
+        return readaheadWindow;
+    }
+
+    /**
+     * @param lastPage última página carregada pela leitura antecipada, ou a própria página da falta
+     */
+    void readaheadCompleted(int lastPage) {
+        nextSequentialPage = lastPage + 1;
+    }
+
+    /**
+     * @return slot da área de troca que guarda a página, ou {@link PagesTable#UNMAPPED}
+     */
+    int getSwapSlot(int pageNumber) {
+        if (swapSlots == null || !swapSlots.isMapped(pageNumber)) {
+            return PagesTable.UNMAPPED;
+        }
+        return swapSlots.getPageFrame(pageNumber);
+    }
+
+    void setSwapSlot(int pageNumber, int slot) {
+        if (swapSlots == null) {
+            swapSlots = PagesTable.sparse(pagesTable.size());
+        }
+        swapSlots.mapPageToFrame(pageNumber, slot);
+    }
+
+    int clearSwapSlot(int pageNumber) {
+        return swapSlots == null ? PagesTable.UNMAPPED : swapSlots.unmapPage(pageNumber);
+    }
+
+    void forEachSwapSlot(PagesTable.MappingVisitor visitor) {
+        if (swapSlots != null) {
+            swapSlots.forEachMapping(visitor);
+        }
+    }
 }
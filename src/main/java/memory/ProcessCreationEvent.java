@@ -0,0 +1,31 @@
+package memory;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR emitido a cada tentativa de criação de processo.
+ */
+@Name("memory.ProcessCreation")
+@Label("Criação de processo")
+@Category("Gerenciador de Memória")
+@Description("Criação de processo no gerenciador, com sucesso ou falha")
+final class ProcessCreationEvent extends jdk.jfr.Event {
+    @Label("PID")
+    int pid;
+
+    @Label("Tamanho")
+    @DataAmount
+    int processSize;
+
+    @Label("Sucesso")
+    boolean succeeded;
+
+    @Label("Latência")
+    @Timespan
+    long latency;
+}
@@ -0,0 +1,30 @@
+package memory;
+
+/**
+ * Descrição de um processo a ser criado por {@link MemoryManager#createProcesses(java.util.List)}.
+ *
+ * @param pid           identificador do processo
+ * @param size          tamanho em bytes
+ * @param content       forma de povoar as páginas
+ * @param hugePageCount páginas grandes no início do espaço de endereçamento
+ * @param placement     política de bancos, ou {@code null} para a padrão do gerenciador
+ */
+public record ProcessSpec(int pid, int size, PageContent content, int hugePageCount, Placement placement) {
+
+    public ProcessSpec {
+        if (content == null) {
+            throw new IllegalArgumentException("Page content cannot be null");
+        }
+    }
+
+    /**
+     * Processo de conteúdo aleatório, sem páginas grandes e com a política padrão.
+     */
+    public static ProcessSpec of(int pid, int size) {
+        return of(pid, size, PageContent.random());
+    }
+
+    public static ProcessSpec of(int pid, int size, PageContent content) {
+        return new ProcessSpec(pid, size, content, 0, null);
+    }
+}
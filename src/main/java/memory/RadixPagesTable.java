@@ -0,0 +1,257 @@
+package memory;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de páginas em dois níveis. O diretório aponta para blocos de 2<sup>leafBits</sup> entradas
+ * ({@value #LEAF_BITS} bits por padrão), alocados somente quando alguma página do intervalo é mapeada.
+ * Blocos que ficam vazios são descartados. Quando construída com páginas grandes, uma entrada do
+ * diretório pode mapear o intervalo inteiro para quadros consecutivos, sem bloco algum. Ao crescer,
+ * apenas o diretório é realocado; os blocos existentes são mantidos.
+ */
+public class RadixPagesTable implements PagesTable {
+    static final int LEAF_BITS = 10;
+
+    private int pageCount;
+    private final int leafBits;
+    private final int leafSize;
+    private final int leafMask;
+    private final boolean hugePages;
+    private int[][] directory;
+    private int[] leafUsage;
+    private int[] hugeFrames;
+
+    public RadixPagesTable(int pageCount) {
+        this(pageCount, LEAF_BITS, false);
+    }
+
+    /**
+     * Cria uma tabela que aceita páginas grandes de 2<sup>hugePageBits</sup> páginas, tamanho que também
+     * passa a ser o de cada bloco do segundo nível.
+     */
+    public RadixPagesTable(int pageCount, int hugePageBits) {
+        this(pageCount, hugePageBits, true);
+    }
+
+    private RadixPagesTable(int pageCount, int leafBits, boolean hugePages) {
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        if (leafBits <= 0 || leafBits > 30) {
+            throw new IllegalArgumentException("Invalid leaf size: 2^" + leafBits);
+        }
+        this.pageCount = pageCount;
+        this.leafBits = leafBits;
+        this.leafSize = 1 << leafBits;
+        this.leafMask = leafSize - 1;
+        this.hugePages = hugePages;
+        int leaves = (int) (((long) pageCount + leafSize - 1) >>> leafBits);
+        this.directory = new int[leaves][];
+        this.leafUsage = new int[leaves];
+    }
+
+    @Override
+    public void mapPageToFrame(int pageNumber, int frameNumber) {
+        validatePageNumber(pageNumber);
+        validateFrameNumber(frameNumber);
+        int leafIndex = pageNumber >>> leafBits;
+        ensureNotHuge(leafIndex, pageNumber);
+        int[] leaf = directory[leafIndex];
+        if (leaf == null) {
+            leaf = new int[leafSize];
+            Arrays.fill(leaf, UNMAPPED);
+            directory[leafIndex] = leaf;
+        }
+        int offset = pageNumber & leafMask;
+        if (leaf[offset] == UNMAPPED) {
+            leafUsage[leafIndex]++;
+        }
+        leaf[offset] = frameNumber;
+    }
+
+    @Override
+    public int unmapPage(int pageNumber) {
+        validatePageNumber(pageNumber);
+        int leafIndex = pageNumber >>> leafBits;
+        ensureNotHuge(leafIndex, pageNumber);
+        int[] leaf = directory[leafIndex];
+        if (leaf == null) {
+            return UNMAPPED;
+        }
+        int offset = pageNumber & leafMask;
+        int previous = leaf[offset];
+        if (previous != UNMAPPED) {
+            leaf[offset] = UNMAPPED;
+            if (--leafUsage[leafIndex] == 0) {
+                directory[leafIndex] = null;
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public int getPageFrame(int pageNumber) {
+        validatePageNumber(pageNumber);
+        int leafIndex = pageNumber >>> leafBits;
+        if (isHugeEntry(leafIndex)) {
+            return hugeFrames[leafIndex] + (pageNumber & leafMask);
+        }
+        int[] leaf = directory[leafIndex];
+        int frameNumber = leaf == null ? UNMAPPED : leaf[pageNumber & leafMask];
+        if (frameNumber == UNMAPPED) {
+            throw new IllegalStateException("Page " + pageNumber + " is not mapped to any frame");
+        }
+        return frameNumber;
+    }
+
+    @Override
+    public boolean isMapped(int pageNumber) {
+        validatePageNumber(pageNumber);
+        int leafIndex = pageNumber >>> leafBits;
+        if (isHugeEntry(leafIndex)) {
+            return true;
+        }
+        int[] leaf = directory[leafIndex];
+        return leaf != null && leaf[pageNumber & leafMask] != UNMAPPED;
+    }
+
+    @Override
+    public int size() {
+        return pageCount;
+    }
+
+    @Override
+    public void resize(int pageCount) {
+        if (pageCount <= 0) {
+            throw new IllegalArgumentException("Page count must be positive");
+        }
+        int leaves = (int) (((long) pageCount + leafSize - 1) >>> leafBits);
+        if (pageCount < this.pageCount) {
+            int firstRemoved = pageCount;
+            int partialLeaf = firstRemoved >>> leafBits;
+            if ((firstRemoved & leafMask) != 0 && isHugeEntry(partialLeaf)) {
+                throw new IllegalStateException("Resize to " + pageCount + " pages would split a huge page");
+            }
+            for (int leafIndex = partialLeaf; leafIndex < directory.length; leafIndex++) {
+                int start = leafIndex == partialLeaf ? firstRemoved & leafMask : 0;
+                if (start == 0) {
+                    directory[leafIndex] = null;
+                    leafUsage[leafIndex] = 0;
+                    if (hugeFrames != null) {
+                        hugeFrames[leafIndex] = UNMAPPED;
+                    }
+                } else if (directory[leafIndex] != null) {
+                    int[] leaf = directory[leafIndex];
+                    for (int offset = start; offset < leafSize; offset++) {
+                        if (leaf[offset] != UNMAPPED) {
+                            leaf[offset] = UNMAPPED;
+                            leafUsage[leafIndex]--;
+                        }
+                    }
+                    if (leafUsage[leafIndex] == 0) {
+                        directory[leafIndex] = null;
+                    }
+                }
+            }
+        } else if (leaves > directory.length) {
+            int capacity = Math.max(leaves, 2 * directory.length);
+            int previousCapacity = directory.length;
+            directory = Arrays.copyOf(directory, capacity);
+            leafUsage = Arrays.copyOf(leafUsage, capacity);
+            if (hugeFrames != null) {
+                hugeFrames = Arrays.copyOf(hugeFrames, capacity);
+                Arrays.fill(hugeFrames, previousCapacity, capacity, UNMAPPED);
+            }
+        }
+        this.pageCount = pageCount;
+    }
+
+    @Override
+    public void forEachMapping(MappingVisitor visitor) {
+        for (int leafIndex = 0; leafIndex < directory.length; leafIndex++) {
+            int base = leafIndex << leafBits;
+            if (isHugeEntry(leafIndex)) {
+                for (int offset = 0; offset < leafSize; offset++) {
+                    visitor.visit(base + offset, hugeFrames[leafIndex] + offset);
+                }
+                continue;
+            }
+            int[] leaf = directory[leafIndex];
+            if (leaf == null) {
+                continue;
+            }
+            for (int offset = 0; offset < leafSize; offset++) {
+                if (leaf[offset] != UNMAPPED) {
+                    visitor.visit(base + offset, leaf[offset]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getPagesPerHugePage() {
+        return hugePages ? leafSize : 0;
+    }
+
+    @Override
+    public void mapHugePage(int hugePageNumber, int firstFrame) {
+        if (!hugePages) {
+            PagesTable.super.mapHugePage(hugePageNumber, firstFrame);
+        }
+        if (hugePageNumber < 0 || ((long) hugePageNumber + 1) * leafSize > pageCount) {
+            throw new IllegalArgumentException("Invalid huge page number: " + hugePageNumber);
+        }
+        validateFrameNumber(firstFrame);
+        if ((firstFrame & leafMask) != 0) {
+            throw new IllegalArgumentException("Huge page frame " + firstFrame + " is not aligned");
+        }
+        if (directory[hugePageNumber] != null || isHugeEntry(hugePageNumber)) {
+            throw new IllegalStateException("Huge page " + hugePageNumber + " overlaps existing mappings");
+        }
+        if (hugeFrames == null) {
+            hugeFrames = new int[directory.length];
+            Arrays.fill(hugeFrames, UNMAPPED);
+        }
+        hugeFrames[hugePageNumber] = firstFrame;
+    }
+
+    @Override
+    public boolean isHugePage(int pageNumber) {
+        validatePageNumber(pageNumber);
+        return isHugeEntry(pageNumber >>> leafBits);
+    }
+
+    @Override
+    public void forEachHugeMapping(MappingVisitor visitor) {
+        if (hugeFrames == null) {
+            return;
+        }
+        for (int hugePageNumber = 0; hugePageNumber < hugeFrames.length; hugePageNumber++) {
+            if (hugeFrames[hugePageNumber] != UNMAPPED) {
+                visitor.visit(hugePageNumber, hugeFrames[hugePageNumber]);
+            }
+        }
+    }
+
+    private boolean isHugeEntry(int leafIndex) {
+        return hugeFrames != null && hugeFrames[leafIndex] != UNMAPPED;
+    }
+
+    private void ensureNotHuge(int leafIndex, int pageNumber) {
+        if (isHugeEntry(leafIndex)) {
+            throw new IllegalStateException("Page " + pageNumber + " belongs to a huge page");
+        }
+    }
+
+    private void validatePageNumber(int pageNumber) {
+        if (pageNumber < 0 || pageNumber >= pageCount) {
+            throw new IllegalArgumentException("Invalid page number: " + pageNumber);
+        }
+    }
+
+    private static void validateFrameNumber(int frameNumber) {
+        if (frameNumber < 0) {
+            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package memory;
+
+/**
+ * Estratégia de substituição de páginas usada na paginação sob demanda. O gerenciador informa cada carga,
+ * acesso e liberação de quadro; quando a memória física está cheia, a política escolhe o quadro vítima.
+ */
+public interface ReplacementPolicy {
+
+    /**
+     * Chamado uma única vez pelo gerenciador, antes de qualquer outro evento.
+     *
+     * @param frameCount quantidade de quadros da memória física
+     */
+    void initialize(int frameCount);
+
+    /**
+     * Uma página foi carregada no quadro informado.
+     */
+    void pageLoaded(int frameNumber, int pid, int pageNumber);
+
+    /**
+     * A página residente no quadro informado foi acessada.
+     */
+    void pageAccessed(int frameNumber, int pid, int pageNumber);
+
+    /**
+     * O quadro deixou de conter uma página (despejo ou término do processo).
+     */
+    void frameReleased(int frameNumber);
+
+    /**
+     * A página do quadro {@code fromFrame} foi transferida para {@code toFrame}, livre até então, durante a
+     * compactação da memória física. Por padrão equivale a liberar o quadro antigo e carregar a página no
+     * novo; políticas com histórico por quadro devem transferi-lo.
+     */
+    default void frameMoved(int fromFrame, int toFrame, int pid, int pageNumber) {
+        frameReleased(fromFrame);
+        pageLoaded(toFrame, pid, pageNumber);
+    }
+
+    /**
+     * Escolhe o quadro cuja página será despejada. O gerenciador chama {@link #frameReleased(int)} em seguida.
+     *
+     * @throws IllegalStateException quando não há nenhum quadro candidato
+     */
+    int selectVictim();
+}
@@ -0,0 +1,30 @@
+package memory;
+
+import java.util.function.Supplier;
+
+/**
+ * Configuração de gerenciador usada em uma execução de replay.
+ *
+ * @param name               identificador exibido nos relatórios
+ * @param physicalMemorySize tamanho da memória física em bytes
+ * @param pageSize           tamanho da página/quadro em bytes
+ * @param maxProcessSize     tamanho máximo de processo em bytes
+ * @param replacementPolicy  fábrica da política de substituição; {@code null} usa paginação antecipada
+ * @param tlbSets            conjuntos da TLB
+ * @param tlbWays            vias por conjunto da TLB
+ */
+public record ReplayConfiguration(String name, long physicalMemorySize, int pageSize, int maxProcessSize,
+                                  Supplier<ReplacementPolicy> replacementPolicy, int tlbSets, int tlbWays) {
+
+    /**
+     * Cria um gerenciador novo, com política e TLB próprias, para uma única execução.
+     */
+    MemoryManager newMemoryManager() {
+        MemoryManager.Builder builder = MemoryManager.builder(physicalMemorySize, pageSize, maxProcessSize)
+                .tlb(new TranslationLookasideBuffer(tlbSets, tlbWays, TlbEvictionPolicy.LRU));
+        if (replacementPolicy != null) {
+            builder.demandPaging(replacementPolicy.get());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,40 @@
+package memory;
+
+/**
+ * Resultado do replay de um trace sob uma configuração.
+ *
+ * @param configuration   configuração utilizada
+ * @param events          eventos processados
+ * @param accesses        leituras e escritas executadas
+ * @param failedEvents    eventos rejeitados pelo gerenciador (memória insuficiente, PID inexistente etc.)
+ * @param pageFaults      faltas de página
+ * @param evictions       páginas despejadas
+ * @param tlbHits         acertos na TLB
+ * @param tlbMisses       faltas na TLB
+ * @param elapsedNanos    duração do replay
+ */
+public record ReplayReport(ReplayConfiguration configuration, long events, long accesses, long failedEvents,
+                           long pageFaults, long evictions, long tlbHits, long tlbMisses, long elapsedNanos) {
+
+    /**
+     * @return faltas de página por acesso, entre 0 e 1
+     */
+    public double faultRate() {
+        return accesses == 0 ? 0.0 : (double) pageFaults / accesses;
+    }
+
+    /**
+     * @return fração das consultas atendidas pela TLB, entre 0 e 1
+     */
+    public double tlbHitRate() {
+        long lookups = tlbHits + tlbMisses;
+        return lookups == 0 ? 0.0 : (double) tlbHits / lookups;
+    }
+
+    /**
+     * @return eventos processados por segundo
+     */
+    public double eventsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : events * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,111 @@
+package memory;
+
+import java.util.Arrays;
+
+/**
+ * Mapeamento reverso dos quadros compartilhados: para cada um, a lista dos pares (PID, página) que o
+ * mapeiam, encadeada em vetores de inteiros, de modo que encontrar todos custe O(mapeadores) em vez de
+ * percorrer as tabelas de páginas de todos os processos. Quadros privados não aparecem aqui, pois a tabela
+ * invertida já guarda o seu único mapeamento.
+ *
+ * <p>Não aceita várias threads: todas as operações exigem a trava de escrita do gerenciador.
+ */
+final class ReverseMap {
+    static final int NONE = -1;
+    private static final int INITIAL_NODES = 64;
+
+    private final int[] heads;
+    private int[] pids = new int[INITIAL_NODES];
+    private int[] pages = new int[INITIAL_NODES];
+    private int[] next = new int[INITIAL_NODES];
+    private int allocatedNodes;
+    private int freeNodes = NONE;
+
+    ReverseMap(int frameCount) {
+        this.heads = new int[frameCount];
+        Arrays.fill(heads, NONE);
+    }
+
+    void add(int frame, int pid, int page) {
+        int node = newNode();
+        pids[node] = pid;
+        pages[node] = page;
+        next[node] = heads[frame];
+        heads[frame] = node;
+    }
+
+    /**
+     * Remove um mapeamento (PID, página) do quadro, se existir.
+     */
+    void remove(int frame, int pid, int page) {
+        int previous = NONE;
+        for (int node = heads[frame]; node != NONE; previous = node, node = next[node]) {
+            if (pids[node] == pid && pages[node] == page) {
+                if (previous == NONE) {
+                    heads[frame] = next[node];
+                } else {
+                    next[previous] = next[node];
+                }
+                freeNode(node);
+                return;
+            }
+        }
+    }
+
+    void clear(int frame) {
+        int node = heads[frame];
+        heads[frame] = NONE;
+        while (node != NONE) {
+            int following = next[node];
+            freeNode(node);
+            node = following;
+        }
+    }
+
+    /**
+     * Passa os mapeamentos de {@code from} para {@code to}, que não pode ter nenhum.
+     */
+    void move(int from, int to) {
+        heads[to] = heads[from];
+        heads[from] = NONE;
+    }
+
+    /**
+     * @return primeiro nó do quadro, ou {@link #NONE}
+     */
+    int first(int frame) {
+        return heads[frame];
+    }
+
+    int next(int node) {
+        return next[node];
+    }
+
+    int pid(int node) {
+        return pids[node];
+    }
+
+    int page(int node) {
+        return pages[node];
+    }
+
+    private int newNode() {
+        if (freeNodes != NONE) {
+            int node = freeNodes;
+            freeNodes = next[node];
+            return node;
+        }
+        if (allocatedNodes == pids.length) {
+            int capacity = pids.length * 2;
+            pids = Arrays.copyOf(pids, capacity);
+            pages = Arrays.copyOf(pages, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocatedNodes++;
+    }
+
+    private void freeNode(int node) {
+        next[node] = freeNodes;
+        freeNodes = node;
+    }
+}
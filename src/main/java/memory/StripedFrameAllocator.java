@@ -0,0 +1,229 @@
+package memory;
+
+/**
+ * Alocador de quadros seguro para uso concorrente. Os quadros são divididos em faixas contíguas,
+ * cada uma com seu próprio mapa de bits e trava; cada thread começa pela sua faixa e só recorre
+ * às demais quando ela está vazia, de modo que threads diferentes raramente disputam a mesma trava.
+ * Intervalos contíguos nunca atravessam faixas. As faixas também servem de bancos de memória: com
+ * {@link #allocate(int)} quem chama escolhe a faixa de partida.
+ */
+public class StripedFrameAllocator implements FrameAllocator {
+    private final Stripe[] stripes;
+    private final int frameCount;
+
+    /**
+     * @param frameCount  quantidade total de quadros
+     * @param stripeCount quantidade de faixas, normalmente o número de processadores
+     */
+    public StripedFrameAllocator(int frameCount, int stripeCount) {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int stripesUsed = Math.min(stripeCount, frameCount);
+        this.stripes = new Stripe[stripesUsed];
+        this.frameCount = frameCount;
+        int base = frameCount / stripesUsed;
+        int firstFrame = 0;
+        for (int i = 0; i < stripesUsed; i++) {
+            int size = i == stripesUsed - 1 ? frameCount - firstFrame : base;
+            stripes[i] = new Stripe(firstFrame, size);
+            firstFrame += size;
+        }
+    }
+
+    @Override
+    public int allocate() {
+        return allocate(homeStripe());
+    }
+
+    /**
+     * Aloca um quadro da faixa {@code home} ou, se ela estiver cheia, da próxima faixa com quadros livres.
+     *
+     * @return número do quadro, ou {@link #NO_FRAME} quando a memória está cheia
+     */
+    public int allocate(int home) {
+        validateStripe(home);
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) % stripes.length];
+            if (stripe.freeCount == 0) {
+                continue;
+            }
+            synchronized (stripe) {
+                int frame = stripe.frames.allocate();
+                if (frame != NO_FRAME) {
+                    stripe.freeCount--;
+                    stripe.allocations++;
+                    if (i > 0) {
+                        stripe.stolen++;
+                    }
+                    return stripe.firstFrame + frame;
+                }
+            }
+        }
+        return NO_FRAME;
+    }
+
+    @Override
+    public int allocateContiguous(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive");
+        }
+        int home = homeStripe();
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) % stripes.length];
+            if (stripe.freeCount < count) {
+                continue;
+            }
+            synchronized (stripe) {
+                int frame = stripe.frames.allocateContiguous(count);
+                if (frame != NO_FRAME) {
+                    stripe.freeCount -= count;
+                    stripe.allocations += count;
+                    return stripe.firstFrame + frame;
+                }
+            }
+        }
+        return NO_FRAME;
+    }
+
+    @Override
+    public int allocateAligned(int count) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) % stripes.length];
+            if (stripe.freeCount < count) {
+                continue;
+            }
+            synchronized (stripe) {
+                int frame = stripe.frames.allocateAligned(count, stripe.firstFrame);
+                if (frame != NO_FRAME) {
+                    stripe.freeCount -= count;
+                    stripe.allocations += count;
+                    return stripe.firstFrame + frame;
+                }
+            }
+        }
+        return NO_FRAME;
+    }
+
+    @Override
+    public void reserve(int frameNumber) {
+        Stripe stripe = stripes[stripeOf(frameNumber)];
+        synchronized (stripe) {
+            stripe.frames.reserve(frameNumber - stripe.firstFrame);
+            stripe.freeCount--;
+        }
+    }
+
+    @Override
+    public void release(int frameNumber) {
+        Stripe stripe = stripes[stripeOf(frameNumber)];
+        synchronized (stripe) {
+            stripe.frames.release(frameNumber - stripe.firstFrame);
+            stripe.freeCount++;
+        }
+    }
+
+    @Override
+    public void releaseRange(int firstFrame, int count) {
+        for (int frame = firstFrame; frame < firstFrame + count; frame++) {
+            release(frame);
+        }
+    }
+
+    @Override
+    public boolean isFree(int frameNumber) {
+        Stripe stripe = stripes[stripeOf(frameNumber)];
+        synchronized (stripe) {
+            return stripe.frames.isFree(frameNumber - stripe.firstFrame);
+        }
+    }
+
+    /**
+     * Soma os contadores das faixas sem adquirir travas; o custo depende apenas da quantidade de faixas.
+     */
+    @Override
+    public int getFreeCount() {
+        int free = 0;
+        for (Stripe stripe : stripes) {
+            free += stripe.freeCount;
+        }
+        return free;
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Como intervalos não atravessam faixas, o maior intervalo é o maior entre as faixas.
+     */
+    @Override
+    public int getLargestFreeRange() {
+        int largest = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                largest = Math.max(largest, stripe.frames.getLargestFreeRange());
+            }
+        }
+        return largest;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return índice da faixa que contém o quadro
+     */
+    public int stripeOf(int frameNumber) {
+        if (frameNumber < 0 || frameNumber >= frameCount) {
+            throw new IllegalArgumentException("Invalid frame number: " + frameNumber);
+        }
+        return Math.min(frameNumber / (frameCount / stripes.length), stripes.length - 1);
+    }
+
+    /**
+     * @return ocupação e contadores de alocação da faixa
+     */
+    public BankStatistics getStatistics(int index) {
+        validateStripe(index);
+        Stripe stripe = stripes[index];
+        synchronized (stripe) {
+            return new BankStatistics(index, stripe.firstFrame, stripe.frames.getFrameCount(), stripe.freeCount,
+                    stripe.frames.getLargestFreeRange(),
+                    stripe.allocations, stripe.stolen);
+        }
+    }
+
+    /**
+     * @return faixa da thread atual
+     */
+    int homeStripe() {
+        return (int) (Thread.currentThread().threadId() % stripes.length);
+    }
+
+    private void validateStripe(int index) {
+        if (index < 0 || index >= stripes.length) {
+            throw new IllegalArgumentException("Invalid stripe: " + index);
+        }
+    }
+
+    private static final class Stripe {
+        private final int firstFrame;
+        private final BitmapFrameAllocator frames;
+        private volatile int freeCount;
+        private long allocations;
+        private long stolen;
+
+        private Stripe(int firstFrame, int size) {
+            this.firstFrame = firstFrame;
+            this.frames = new BitmapFrameAllocator(size);
+            this.freeCount = size;
+        }
+    }
+}
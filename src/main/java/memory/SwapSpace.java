@@ -0,0 +1,142 @@
+package memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Área de troca em arquivo local, dividida em slots do tamanho de uma página.
+ * Páginas despejadas da memória física são gravadas aqui e lidas de volta na próxima falta de página.
+ */
+public class SwapSpace implements AutoCloseable {
+    private final Path file;
+    private final FileChannel channel;
+    private final int pageSize;
+    private final boolean deleteOnClose;
+    private final BitSet usedSlots = new BitSet();
+    private int slotsInUse;
+
+    /**
+     * @param file     arquivo usado como área de troca (criado ou truncado)
+     * @param pageSize tamanho de cada slot em bytes
+     */
+    public SwapSpace(Path file, int pageSize) {
+        this(file, pageSize, false);
+    }
+
+    private SwapSpace(Path file, int pageSize, boolean deleteOnClose) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Swap page size must be positive");
+        }
+        this.file = file;
+        this.pageSize = pageSize;
+        this.deleteOnClose = deleteOnClose;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open swap file " + file, ex);
+        }
+    }
+
+    /**
+     * Cria uma área de troca em arquivo temporário, removido em {@link #close()}.
+     */
+    public static SwapSpace createTemporary(int pageSize) {
+        try {
+            return new SwapSpace(Files.createTempFile("memory-swap", ".bin"), pageSize, true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create swap file", ex);
+        }
+    }
+
+    /**
+     * Grava os bytes restantes do buffer, no máximo uma página, em um slot livre.
+     *
+     * @return número do slot utilizado
+     */
+    public int store(ByteBuffer pageData) {
+        if (pageData.remaining() > pageSize) {
+            throw new IllegalArgumentException("Page data larger than swap slot");
+        }
+        int slot = usedSlots.nextClearBit(0);
+        long position = (long) slot * pageSize;
+        try {
+            while (pageData.hasRemaining()) {
+                position += channel.write(pageData, position);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write swap slot " + slot, ex);
+        }
+        usedSlots.set(slot);
+        slotsInUse++;
+        return slot;
+    }
+
+    public int store(byte[] pageData) {
+        return store(ByteBuffer.wrap(pageData));
+    }
+
+    /**
+     * Lê o conteúdo do slot para o buffer, que deve ter exatamente uma página restante.
+     */
+    public void load(int slot, ByteBuffer destination) {
+        validateSlot(slot);
+        if (destination.remaining() != pageSize) {
+            throw new IllegalArgumentException("Destination must have the swap page size");
+        }
+        long position = (long) slot * pageSize;
+        try {
+            while (destination.hasRemaining()) {
+                int read = channel.read(destination, position);
+                if (read < 0) {
+                    throw new IllegalStateException("Swap slot " + slot + " is truncated");
+                }
+                position += read;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read swap slot " + slot, ex);
+        }
+    }
+
+    public void load(int slot, byte[] destination) {
+        load(slot, ByteBuffer.wrap(destination));
+    }
+
+    public void free(int slot) {
+        validateSlot(slot);
+        usedSlots.clear(slot);
+        slotsInUse--;
+    }
+
+    public int getSlotsInUse() {
+        return slotsInUse;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            if (deleteOnClose) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close swap file " + file, ex);
+        }
+    }
+
+    private void validateSlot(int slot) {
+        if (slot < 0 || !usedSlots.get(slot)) {
+            throw new IllegalArgumentException("Invalid swap slot: " + slot);
+        }
+    }
+}
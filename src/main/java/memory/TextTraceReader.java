@@ -0,0 +1,181 @@
+package memory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Lê traces em texto, um evento por linha:
+ * <pre>
+ * C &lt;pid&gt; &lt;tamanho&gt;
+ * X &lt;pid&gt;
+ * R &lt;pid&gt; &lt;endereço&gt;
+ * W &lt;pid&gt; &lt;endereço&gt; [valor]
+ * </pre>
+ * Linhas vazias e iniciadas por {@code #} são ignoradas; qualquer outro conteúdo depois dos campos do evento
+ * é rejeitado. Os eventos são interpretados direto do buffer de bytes, sem criar linhas nem substrings.
+ */
+public class TextTraceReader implements TraceReader {
+    private static final int END = -1;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private TraceEventType type;
+    private int pid;
+    private int argument;
+    private byte value;
+
+    public TextTraceReader(InputStream input) {
+        this.input = input;
+    }
+
+    @Override
+    public boolean next() {
+        int next;
+        while ((next = peek()) != END) {
+            lineNumber++;
+            skipSpaces();
+            next = peek();
+            if (next == '#') {
+                skipLine();
+            } else if (next == '\n') {
+                position++;
+            } else if (next != END) {
+                parseEvent();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void parseEvent() {
+        try {
+            type = TraceEventType.fromCode(buffer[position++]);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+        }
+        pid = nextInt();
+        argument = type == TraceEventType.EXIT ? 0 : nextInt();
+        value = 0;
+        if (type == TraceEventType.WRITE) {
+            skipSpaces();
+            if (!isLineEnd(peek())) {
+                value = (byte) nextInt();
+            }
+        }
+        skipSpaces();
+        int next = peek();
+        if (!isLineEnd(next)) {
+            throw unexpected(next);
+        }
+        if (next == '\n') {
+            position++;
+        }
+    }
+
+    private int nextInt() {
+        skipSpaces();
+        boolean negative = peek() == '-';
+        if (negative) {
+            position++;
+        }
+        long bound = negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE;
+        long result = 0;
+        int digits = 0;
+        int next;
+        while ((next = peek()) >= '0' && next <= '9') {
+            result = result * 10 + (next - '0');
+            if (result > bound) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": number out of range");
+            }
+            position++;
+            digits++;
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected a number");
+        }
+        if (!isSpace(next) && !isLineEnd(next)) {
+            throw unexpected(next);
+        }
+        return (int) (negative ? -result : result);
+    }
+
+    private IllegalArgumentException unexpected(int character) {
+        return new IllegalArgumentException("Line " + lineNumber + ": unexpected character '" + (char) character + "'");
+    }
+
+    private void skipSpaces() {
+        while (isSpace(peek())) {
+            position++;
+        }
+    }
+
+    private void skipLine() {
+        int next;
+        while ((next = peek()) != END) {
+            position++;
+            if (next == '\n') {
+                return;
+            }
+        }
+    }
+
+    private static boolean isSpace(int character) {
+        return character == ' ' || character == '\t' || character == '\r';
+    }
+
+    private static boolean isLineEnd(int character) {
+        return character == '\n' || character == END;
+    }
+
+    /**
+     * @return próximo byte sem consumi-lo, ou {@link #END} no fim do trace
+     */
+    private int peek() {
+        if (position == limit) {
+            try {
+                int read = input.read(buffer);
+                if (read <= 0) {
+                    return END;
+                }
+                position = 0;
+                limit = read;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not read trace", ex);
+            }
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    @Override
+    public TraceEventType type() {
+        return type;
+    }
+
+    @Override
+    public int pid() {
+        return pid;
+    }
+
+    @Override
+    public int argument() {
+        return argument;
+    }
+
+    @Override
+    public byte value() {
+        return value;
+    }
+
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close trace", ex);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package memory;
+
+/**
+ * Critério usado pela TLB para escolher a via substituída quando um conjunto está cheio.
+ */
+public enum TlbEvictionPolicy {
+    /** Substitui a entrada usada há mais tempo dentro do conjunto. */
+    LRU,
+    /** Substitui uma entrada qualquer do conjunto, escolhida aleatoriamente. */
+    RANDOM
+}
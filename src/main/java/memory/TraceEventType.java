@@ -0,0 +1,38 @@
+package memory;
+
+/**
+ * Tipos de evento presentes em um trace de acessos à memória.
+ */
+public enum TraceEventType {
+    /** Criação de processo; o argumento é o tamanho em bytes. */
+    CREATE('C'),
+    /** Término de processo; não há argumento. */
+    EXIT('X'),
+    /** Leitura; o argumento é o endereço virtual. */
+    READ('R'),
+    /** Escrita; o argumento é o endereço virtual, acompanhado do valor gravado. */
+    WRITE('W');
+
+    private final char code;
+
+    TraceEventType(char code) {
+        this.code = code;
+    }
+
+    /**
+     * @return letra que identifica o evento nos formatos texto e binário
+     */
+    public char code() {
+        return code;
+    }
+
+    static TraceEventType fromCode(int code) {
+        return switch (code) {
+            case 'C' -> CREATE;
+            case 'X' -> EXIT;
+            case 'R' -> READ;
+            case 'W' -> WRITE;
+            default -> throw new IllegalArgumentException("Unknown trace event code: " + (char) code);
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package memory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Cursor sobre os eventos de um trace, lido sob demanda do disco. Cada chamada a {@link #next()}
+ * avança para o próximo evento sem alocar objetos; os acessores descrevem o evento corrente.
+ */
+public interface TraceReader extends AutoCloseable {
+
+    /**
+     * Abre um trace detectando o formato: arquivos iniciados por {@link BinaryTraceWriter#MAGIC}
+     * são lidos como binários e os demais como texto.
+     */
+    static TraceReader open(Path trace) {
+        InputStream input;
+        try {
+            input = new BufferedInputStream(Files.newInputStream(trace), 1 << 16);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open trace " + trace, ex);
+        }
+        try {
+            input.mark(BinaryTraceWriter.MAGIC.length);
+            byte[] header = input.readNBytes(BinaryTraceWriter.MAGIC.length);
+            input.reset();
+            if (Arrays.equals(header, BinaryTraceWriter.MAGIC)) {
+                return new BinaryTraceReader(input);
+            }
+            return new TextTraceReader(input);
+        } catch (IOException ex) {
+            closeAfterFailure(input, ex);
+            throw new UncheckedIOException("Could not open trace " + trace, ex);
+        } catch (RuntimeException openError) {
+            closeAfterFailure(input, openError);
+            throw openError;
+        }
+    }
+
+    /**
+     * Fecha o arquivo de um trace que não chegou a ser entregue a quem o abriu.
+     */
+    private static void closeAfterFailure(InputStream input, Exception failure) {
+        try {
+            input.close();
+        } catch (IOException closeError) {
+            failure.addSuppressed(closeError);
+        }
+    }
+
+    /**
+     * Avança para o próximo evento.
+     *
+     * @return {@code false} quando o trace terminou
+     */
+    boolean next();
+
+    TraceEventType type();
+
+    int pid();
+
+    /**
+     * @return tamanho do processo em {@link TraceEventType#CREATE} ou endereço virtual em leituras e escritas
+     */
+    int argument();
+
+    /**
+     * @return valor gravado em {@link TraceEventType#WRITE}
+     */
+    byte value();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,96 @@
+package memory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reproduz traces de acesso à memória sobre o {@link MemoryManager} e mede faltas de página,
+ * aproveitamento da TLB e vazão. Cada execução lê o trace do disco sob demanda, de modo que
+ * várias configurações podem percorrer o mesmo arquivo em paralelo sem carregá-lo na memória.
+ */
+public class TraceReplayer {
+    private final ForkJoinPool pool;
+
+    /**
+     * Usa o pool comum do fork/join.
+     */
+    public TraceReplayer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TraceReplayer(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Reproduz o trace sob uma única configuração, na thread atual.
+     */
+    public ReplayReport replay(Path trace, ReplayConfiguration configuration) {
+        try (MemoryManager manager = configuration.newMemoryManager();
+             TraceReader reader = TraceReader.open(trace)) {
+            long events = 0;
+            long accesses = 0;
+            long failedEvents = 0;
+            long start = System.nanoTime();
+            while (reader.next()) {
+                events++;
+                if (reader.type() == TraceEventType.READ || reader.type() == TraceEventType.WRITE) {
+                    accesses++;
+                }
+                try {
+                    apply(manager, reader);
+                } catch (IllegalArgumentException | IllegalStateException rejected) {
+                    failedEvents++;
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return new ReplayReport(configuration, events, accesses, failedEvents, manager.getPageFaults(),
+                    manager.getEvictions(), manager.getTlbHits(), manager.getTlbMisses(), elapsed);
+        }
+    }
+
+    /**
+     * Reproduz o mesmo trace sob todas as configurações, em paralelo no pool de fork/join.
+     *
+     * @return relatórios na mesma ordem das configurações
+     */
+    public List<ReplayReport> replayAll(Path trace, List<ReplayConfiguration> configurations) {
+        List<Callable<ReplayReport>> runs = new ArrayList<>(configurations.size());
+        for (ReplayConfiguration configuration : configurations) {
+            runs.add(() -> replay(trace, configuration));
+        }
+
+        List<ReplayReport> reports = new ArrayList<>(runs.size());
+        for (Future<ReplayReport> run : pool.invokeAll(runs)) {
+            try {
+                reports.add(run.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Replay interrupted", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Replay failed", ex.getCause());
+            }
+        }
+        return reports;
+    }
+
+    private void apply(MemoryManager manager, TraceReader event) {
+        switch (event.type()) {
+            case CREATE -> manager.createProcess(event.pid(), event.argument());
+            case EXIT -> manager.destroyProcess(event.pid());
+            case READ -> manager.read(event.pid(), event.argument());
+            case WRITE -> manager.write(event.pid(), event.argument(), event.value());
+        }
+    }
+}
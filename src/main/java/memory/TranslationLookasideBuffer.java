@@ -0,0 +1,190 @@
+package memory;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache associativo por conjuntos de traduções (PID, página) → quadro, consultado antes da tabela de páginas.
+ * As entradas são marcadas com o PID, de modo que trocar de processo não exige esvaziar o cache inteiro;
+ * basta invalidar as entradas de um processo quando seus mapeamentos mudam. As operações são sincronizadas
+ * para que invalidações feitas por outra thread não corrompam o cache.
+ */
+public class TranslationLookasideBuffer {
+    /**
+     * Valor retornado por {@link #lookup(int, int)} quando a tradução não está em cache.
+     */
+    public static final int MISS = -1;
+    private static final long EMPTY = -1L;
+
+    private final int sets;
+    private final int ways;
+    private final TlbEvictionPolicy evictionPolicy;
+    private final long[] tags;
+    private final int[] frames;
+    private final long[] lastUse;
+    private long clock;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param sets           quantidade de conjuntos (potência de dois)
+     * @param ways           entradas por conjunto
+     * @param evictionPolicy critério de substituição dentro de cada conjunto
+     */
+    public TranslationLookasideBuffer(int sets, int ways, TlbEvictionPolicy evictionPolicy) {
+        if (sets <= 0 || (sets & (sets - 1)) != 0) {
+            throw new IllegalArgumentException("TLB set count must be a power of two");
+        }
+        if (ways <= 0) {
+            throw new IllegalArgumentException("TLB associativity must be positive");
+        }
+        if (evictionPolicy == null) {
+            throw new IllegalArgumentException("TLB eviction policy cannot be null");
+        }
+        this.sets = sets;
+        this.ways = ways;
+        this.evictionPolicy = evictionPolicy;
+        this.tags = new long[sets * ways];
+        this.frames = new int[sets * ways];
+        this.lastUse = new long[sets * ways];
+        Arrays.fill(this.tags, EMPTY);
+    }
+
+    /**
+     * @return quadro em cache para a página, ou {@link #MISS}
+     */
+    public synchronized int lookup(int pid, int pageNumber) {
+        int frame = probe(pid, pageNumber);
+        if (frame == MISS) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return frame;
+    }
+
+    /**
+     * Como {@link #lookup(int, int)}, mas a consulta não entra nas estatísticas. Usada em consultas
+     * especulativas, que só contam um acerto com {@link #recordHit()} depois de confirmadas e, ao falhar,
+     * são refeitas por {@link #lookup(int, int)}.
+     */
+    synchronized int probe(int pid, int pageNumber) {
+        long tag = tag(pid, pageNumber);
+        int base = setBase(pid, pageNumber);
+        for (int slot = base; slot < base + ways; slot++) {
+            if (tags[slot] == tag) {
+                lastUse[slot] = ++clock;
+                return frames[slot];
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Conta um acerto obtido por {@link #probe(int, int)}.
+     */
+    synchronized void recordHit() {
+        hits++;
+    }
+
+    public synchronized void insert(int pid, int pageNumber, int frameNumber) {
+        long tag = tag(pid, pageNumber);
+        int base = setBase(pid, pageNumber);
+        int victim = -1;
+        for (int slot = base; slot < base + ways; slot++) {
+            if (tags[slot] == tag || tags[slot] == EMPTY) {
+                victim = slot;
+                break;
+            }
+        }
+        if (victim < 0) {
+            victim = selectVictim(base);
+        }
+        tags[victim] = tag;
+        frames[victim] = frameNumber;
+        lastUse[victim] = ++clock;
+    }
+
+    /**
+     * Remove a tradução de uma página específica, caso esteja em cache.
+     */
+    public synchronized void invalidate(int pid, int pageNumber) {
+        long tag = tag(pid, pageNumber);
+        int base = setBase(pid, pageNumber);
+        for (int slot = base; slot < base + ways; slot++) {
+            if (tags[slot] == tag) {
+                tags[slot] = EMPTY;
+            }
+        }
+    }
+
+    /**
+     * Remove todas as traduções pertencentes ao processo informado.
+     */
+    public synchronized void flush(int pid) {
+        for (int slot = 0; slot < tags.length; slot++) {
+            if (tags[slot] != EMPTY && (int) (tags[slot] >>> 32) == pid) {
+                tags[slot] = EMPTY;
+            }
+        }
+    }
+
+    public synchronized void flushAll() {
+        Arrays.fill(tags, EMPTY);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return fração das consultas atendidas pelo cache, entre 0 e 1
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Cria uma TLB vazia com a mesma geometria e política, usada para dar uma TLB a cada processador.
+     */
+    TranslationLookasideBuffer emptyCopy() {
+        return new TranslationLookasideBuffer(sets, ways, evictionPolicy);
+    }
+
+    public int getCapacity() {
+        return sets * ways;
+    }
+
+    private int selectVictim(int base) {
+        if (evictionPolicy == TlbEvictionPolicy.RANDOM) {
+            return base + ThreadLocalRandom.current().nextInt(ways);
+        }
+        int victim = base;
+        for (int slot = base + 1; slot < base + ways; slot++) {
+            if (lastUse[slot] < lastUse[victim]) {
+                victim = slot;
+            }
+        }
+        return victim;
+    }
+
+    private int setBase(int pid, int pageNumber) {
+        int hash = pageNumber ^ (pid * 0x9E3779B9);
+        hash ^= hash >>> 16;
+        return (hash & (sets - 1)) * ways;
+    }
+
+    private static long tag(int pid, int pageNumber) {
+        return ((long) pid << 32) | (pageNumber & 0xFFFFFFFFL);
+    }
+}
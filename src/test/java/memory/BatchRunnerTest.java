@@ -0,0 +1,85 @@
+package memory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchRunnerTest {
+    private static final String COMMANDS = """
+            # dois processos e um erro
+            create 1 32 zero
+            write 1 17 171
+            read 1 17
+            create 1 16
+            table 1
+            dump 0 2
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void executaLoteEmCsv() throws IOException {
+        StringWriter output = new StringWriter();
+        int failures = new BatchRunner(new MemoryManager(64, 16, 64), OutputFormat.CSV)
+                .run(new StringReader(COMMANDS), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(1, failures);
+        assertEquals("result,2,create,ok,2,", lines[0]);
+        assertEquals("result,4,read,ok,171,", lines[2]);
+        assertEquals("result,5,create,error,,Process with PID 1 already exists", lines[3]);
+        assertEquals("page,1,0,0", lines[4]);
+        assertEquals("page,1,1,1", lines[5]);
+        assertEquals("frame,0,1,1," + "00".repeat(16), lines[7]);
+        assertEquals("frame,1,1,1,00AB" + "00".repeat(14), lines[8]);
+        assertEquals("result,7,dump,ok,2,", lines[9]);
+    }
+
+    @Test
+    void executaLoteEmJson() throws IOException {
+        StringWriter output = new StringWriter();
+        new BatchRunner(new MemoryManager(64, 16, 64), OutputFormat.JSON)
+                .run(new StringReader("create 1 16 zero\nread 9 0\nstats\n"), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals("{\"type\":\"result\",\"line\":1,\"command\":\"create\",\"status\":\"ok\",\"value\":1,\"message\":null}",
+                lines[0]);
+        assertEquals("{\"type\":\"result\",\"line\":2,\"command\":\"read\",\"status\":\"error\",\"value\":null,"
+                + "\"message\":\"Process with PID 9 does not exist\"}", lines[1]);
+        assertEquals("{\"type\":\"stat\",\"name\":\"processes\",\"value\":1}", lines[2]);
+    }
+
+    @Test
+    void arquivoInexistenteNoMapNaoInterrompeOLote() throws IOException {
+        Path missing = directory.resolve("ausente.bin");
+        StringWriter output = new StringWriter();
+        int failures = new BatchRunner(new MemoryManager(64, 16, 64), OutputFormat.CSV)
+                .run(new StringReader("map 1 " + missing + "\ncreate 2 16 zero\n"), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(1, failures);
+        assertEquals("result,1,map,error,,Could not read " + missing, lines[0]);
+        assertEquals("result,2,create,ok,1,", lines[1]);
+    }
+
+    @Test
+    void despejoEmTextoSeparaBytes() throws IOException {
+        MemoryManager manager = new MemoryManager(32, 4, 8);
+        manager.createProcess(3, 4, PageContent.zeroFill());
+        manager.write(3, 0, (byte) 0xFF);
+        manager.forkProcess(3, 4);
+        StringWriter output = new StringWriter();
+
+        new MemoryDumper(manager).dump(output, 0, 2, OutputFormat.TEXT);
+
+        assertEquals("Quadro 0 [PID 3, página 0, compartilhado por 2, modificada]: [FF 00 00 00]\nQuadro 1 [livre]: [00 00 00 00]\n",
+                output.toString());
+    }
+}
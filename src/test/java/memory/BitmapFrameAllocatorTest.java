@@ -0,0 +1,62 @@
+package memory;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitmapFrameAllocatorTest {
+
+    @Test
+    void alocaQuadrosIndividuaisEControlaQuantidadeLivre() {
+        FrameAllocator allocator = new BitmapFrameAllocator(4);
+
+        assertEquals(0, allocator.allocate());
+        assertEquals(1, allocator.allocate());
+        assertEquals(2, allocator.getFreeCount());
+
+        allocator.release(0);
+        assertTrue(allocator.isFree(0));
+        assertEquals(0, allocator.allocate());
+        assertEquals(2, allocator.allocate());
+        assertEquals(3, allocator.allocate());
+        assertEquals(FrameAllocator.NO_FRAME, allocator.allocate());
+        assertThrows(IllegalStateException.class, () -> {
+            allocator.release(1);
+            allocator.release(1);
+        });
+    }
+
+    @Test
+    void encontraIntervaloContiguoEntreQuadrosOcupados() {
+        FrameAllocator allocator = new BitmapFrameAllocator(128);
+        for (int i = 0; i < 128; i++) {
+            allocator.allocate();
+        }
+        allocator.release(10);
+        allocator.releaseRange(70, 5);
+
+        assertEquals(FrameAllocator.NO_FRAME, allocator.allocateContiguous(6));
+        assertEquals(70, allocator.allocateContiguous(4));
+        assertEquals(2, allocator.getFreeCount());
+    }
+
+    @Test
+    void reservaLoteInteiroOuNenhumQuadro() {
+        FrameAllocator allocator = new BitmapFrameAllocator(8);
+        allocator.allocate();
+        allocator.reserve(3);
+        int[] frames = new int[7];
+
+        assertFalse(allocator.allocateBatch(7, frames));
+        assertEquals(6, allocator.getFreeCount());
+        assertTrue(allocator.allocateBatch(5, frames));
+        assertArrayEquals(new int[] {1, 2, 4, 5, 6}, Arrays.copyOf(frames, 5));
+        assertEquals(7, allocator.allocate());
+    }
+}
@@ -0,0 +1,62 @@
+package memory;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedSwapTierTest {
+
+    @Test
+    void despejosVaoParaCamadaComprimidaSemArquivo() {
+        try (MemoryManager manager = MemoryManager.builder(256, 64, 1024)
+                .demandPaging(new LruReplacementPolicy())
+                .compressedSwap(4096)
+                .build()) {
+            manager.createProcess(1, 1024, PageContent.zeroFill());
+            for (int address = 0; address < 1024; address += 64) {
+                manager.write(1, address, (byte) address);
+            }
+            CompressedSwapTier tier = manager.getCompressedSwap().orElseThrow();
+            assertEquals(12, tier.getStoredPages());
+            assertTrue(tier.getCompressionRatio() > 4);
+
+            for (int address = 0; address < 1024; address += 64) {
+                assertEquals((byte) address, manager.read(1, address));
+                assertEquals(0, manager.read(1, address + 1));
+            }
+            assertTrue(tier.getDecompressionLatency().getCount() > 0);
+            manager.destroyProcess(1);
+            assertEquals(0, tier.getStoredPages());
+            assertEquals(0, tier.getCompressedBytes());
+        }
+    }
+
+    @Test
+    void recusaPaginasIncompressiveisOuSemEspaco() {
+        CompressedSwapTier tier = new CompressedSwapTier(64, 40, Deflater.BEST_SPEED);
+        byte[] random = new byte[64];
+        new Random(1).nextBytes(random);
+
+        assertEquals(CompressedSwapTier.NO_SLOT, tier.store(ByteBuffer.wrap(random)));
+        int slot = tier.store(ByteBuffer.wrap(new byte[64]));
+        byte[] restored = new byte[64];
+        restored[0] = 1;
+        tier.load(slot, ByteBuffer.wrap(restored));
+        assertArrayEquals(new byte[64], restored);
+
+        byte[] pattern = new byte[64];
+        for (int i = 0; i < pattern.length; i++) {
+            pattern[i] = (byte) (i % 8);
+        }
+        while (tier.store(ByteBuffer.wrap(pattern)) != CompressedSwapTier.NO_SLOT) {
+            assertTrue(tier.getCompressedBytes() <= 40);
+        }
+        assertEquals(2, tier.getRejectedPages());
+    }
+}
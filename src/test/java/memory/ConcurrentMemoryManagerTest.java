@@ -0,0 +1,84 @@
+package memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrentMemoryManagerTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    @Test
+    void threadsCriamTraduzemEEncerramProcessosSimultaneamente() throws Exception {
+        MemoryManager manager = MemoryManager.builder(1 << 16, 64, 1024)
+                .concurrent(THREADS)
+                .build();
+
+        runInParallel(worker -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                int pid = worker * ROUNDS + round;
+                Process process = manager.createProcess(pid, 1000);
+                byte expected = process.getLogicalMemory().readPage(3)[7];
+                assertEquals(expected, manager.read(pid, 3 * 64 + 7));
+                manager.write(pid, 999, (byte) worker);
+                assertEquals((byte) worker, manager.read(pid, 999));
+                manager.destroyProcess(pid);
+            }
+        });
+
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+        assertEquals(0, manager.listProcesses().size());
+    }
+
+    @Test
+    void paginacaoSobDemandaConcorrentePreservaConteudo() throws Exception {
+        try (MemoryManager manager = MemoryManager.builder(1024, 64, 4096)
+                .demandPaging(new ClockReplacementPolicy())
+                .concurrent(THREADS)
+                .build()) {
+            for (int pid = 0; pid < THREADS; pid++) {
+                manager.createProcess(pid, 4096);
+            }
+
+            runInParallel(worker -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    int address = (round * 64 + worker) % 4096;
+                    manager.write(worker, address, (byte) round);
+                    assertEquals((byte) round, manager.read(worker, address));
+                }
+            });
+
+            assertEquals(0.0, manager.getFreeMemoryPercentage());
+        }
+    }
+
+    private void runInParallel(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int workerId = i;
+                results.add(executor.submit(() -> {
+                    worker.run(workerId);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int workerId);
+    }
+}
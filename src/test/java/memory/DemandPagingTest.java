@@ -0,0 +1,102 @@
+package memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class DemandPagingTest {
+    private static final int[] REFERENCES = {7, 0, 1, 2, 0, 3, 0, 4, 2, 3, 0, 3, 2, 1, 2, 0, 1, 7, 0, 1};
+
+    @Test
+    void carregaPaginasSomenteNoPrimeiroAcesso() {
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 256)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            Process process = manager.createProcess(1, 256);
+
+            assertEquals(100.0, manager.getFreeMemoryPercentage());
+            assertFalse(process.getPagesTable().isMapped(0));
+
+            manager.read(1, 0);
+            assertEquals(1, manager.getPageFaults());
+            assertEquals(75.0, manager.getFreeMemoryPercentage());
+        }
+    }
+
+    @Test
+    void tabelaInvertidaAcompanhaCargaEscritaEDespejo() {
+        try (MemoryManager manager = MemoryManager.builder(32, 16, 128)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            Process process = manager.createProcess(1, 128);
+            manager.read(1, 5 * 16);
+            manager.write(1, 6 * 16, (byte) 1);
+            int readFrame = process.getPagesTable().getPageFrame(5);
+            int writtenFrame = process.getPagesTable().getPageFrame(6);
+
+            assertEquals(new FrameMapping(1, 5, false, true, false), manager.getFrameMapping(readFrame).orElseThrow());
+            assertEquals(new FrameMapping(1, 6, true, true, false), manager.getFrameMapping(writtenFrame).orElseThrow());
+
+            manager.read(1, 0);
+            assertEquals(0, manager.getFrameMapping(readFrame).orElseThrow().page());
+            manager.read(1, 5 * 16);
+            assertEquals(5, manager.getFrameMapping(writtenFrame).orElseThrow().page());
+            manager.read(1, 6 * 16);
+            assertEquals(new FrameMapping(1, 6, true, true, false),
+                    manager.getFrameMapping(process.getPagesTable().getPageFrame(6)).orElseThrow());
+        }
+    }
+
+    @Test
+    void preservaConteudoDePaginasDespejadas() {
+        try (MemoryManager manager = MemoryManager.builder(32, 16, 128)
+                .demandPaging(new LruReplacementPolicy())
+                .build()) {
+            Process process = manager.createProcess(1, 128);
+            byte original = process.getLogicalMemory().readPage(7)[3];
+
+            manager.write(1, 0, (byte) 0x11);
+            for (int page = 1; page < 8; page++) {
+                manager.read(1, page * 16);
+            }
+            assertFalse(process.getPagesTable().isMapped(0));
+
+            assertEquals((byte) 0x11, manager.read(1, 0));
+            assertEquals(original, manager.read(1, 7 * 16 + 3));
+            assertEquals(9, manager.getPageFaults());
+            assertEquals(7, manager.getEvictions());
+        }
+    }
+
+    @Test
+    void politicasProduzemFaltasEsperadas() {
+        List<PageReference> trace = new ArrayList<>();
+        for (int page : REFERENCES) {
+            trace.add(new PageReference(1, page));
+        }
+
+        assertEquals(10, countFaults(() -> new FifoReplacementPolicy()));
+        assertEquals(8, countFaults(() -> new LruReplacementPolicy()));
+        assertEquals(8, countFaults(() -> new OptimalReplacementPolicy(trace)));
+        assertEquals(9, countFaults(() -> new ClockReplacementPolicy()));
+        assertEquals(8, countFaults(() -> new LfuReplacementPolicy()));
+    }
+
+    private long countFaults(Supplier<ReplacementPolicy> policyFactory) {
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 128)
+                .tlb(new TranslationLookasideBuffer(1, 1, TlbEvictionPolicy.LRU))
+                .demandPaging(policyFactory.get())
+                .build()) {
+            manager.createProcess(1, 128);
+            for (int page : REFERENCES) {
+                manager.read(1, page * 16);
+            }
+            return manager.getPageFaults();
+        }
+    }
+}
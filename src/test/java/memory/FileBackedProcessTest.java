@@ -0,0 +1,81 @@
+package memory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileBackedProcessTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void carregaPaginasDoArquivoComLeituraAntecipada() throws IOException {
+        byte[] image = image(250);
+        Path file = Files.write(directory.resolve("image.bin"), image);
+        try (MemoryManager manager = MemoryManager.builder(256, 16, 512)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            Process process = manager.createProcess(1, file);
+
+            assertEquals(16, process.getPageCount());
+            assertEquals(100.0, manager.getFreeMemoryPercentage());
+            for (int address = 0; address < image.length; address++) {
+                assertEquals(image[address], manager.read(1, address));
+            }
+            assertEquals(16, manager.getPageFaults() + manager.getReadaheadPages());
+            assertTrue(manager.getPageFaults() < 8);
+            assertEquals(PageContent.Strategy.FILE, process.getLogicalMemory().getPageContent().strategy());
+        }
+    }
+
+    @Test
+    void descartaPaginasLimpasEGuardaAlteradasNaTroca() throws IOException {
+        byte[] image = image(128);
+        Path file = Files.write(directory.resolve("data.bin"), image);
+        try (MemoryManager manager = MemoryManager.builder(32, 16, 512)
+                .demandPaging(new FifoReplacementPolicy())
+                .compressedSwap(1024)
+                .readahead(0)
+                .build()) {
+            manager.createProcess(1, file);
+            manager.write(1, 0, (byte) 42);
+            for (int page = 1; page < 8; page++) {
+                manager.read(1, page * 16);
+            }
+
+            assertEquals(6, manager.getEvictions());
+            assertEquals(5, manager.getDroppedPages());
+            CompressedSwapTier swap = manager.getCompressedSwap().orElseThrow();
+            assertEquals(1, swap.getStoredPages() + swap.getRejectedPages());
+            assertEquals(42, manager.read(1, 0));
+            assertEquals(image[17], manager.read(1, 17));
+            assertEquals(image[17], Files.readAllBytes(file)[17]);
+        }
+    }
+
+    @Test
+    void rejeitaArquivoVazioOuMaiorQueOMaximo() throws IOException {
+        MemoryManager manager = MemoryManager.builder(256, 16, 64).demandPaging(new LruReplacementPolicy()).build();
+        Path empty = Files.createFile(directory.resolve("empty.bin"));
+        Path large = Files.write(directory.resolve("large.bin"), image(65));
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createProcess(1, empty));
+        assertThrows(IllegalArgumentException.class, () -> manager.createProcess(1, large));
+        assertTrue(manager.findProcess(1).isEmpty());
+    }
+
+    private static byte[] image(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,107 @@
+package memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ForkProcessTest {
+
+    @Test
+    void filhoCompartilhaQuadrosAtePrimeiraEscrita() {
+        MemoryManager manager = new MemoryManager(128, 16, 64);
+        Process parent = manager.createProcess(1, 48);
+        byte original = manager.read(1, 20);
+
+        Process child = manager.forkProcess(1, 2);
+
+        assertEquals(62.5, manager.getFreeMemoryPercentage());
+        int sharedFrame = parent.getPagesTable().getPageFrame(1);
+        assertEquals(sharedFrame, child.getPagesTable().getPageFrame(1));
+        assertEquals(2, manager.getFrameReferences(sharedFrame));
+        assertEquals(original, manager.read(2, 20));
+
+        manager.write(2, 20, (byte) (original + 1));
+
+        int childFrame = child.getPagesTable().getPageFrame(1);
+        assertNotEquals(sharedFrame, childFrame);
+        assertEquals(1, manager.getFrameReferences(sharedFrame));
+        assertEquals(1, manager.getFrameReferences(childFrame));
+        assertEquals(2, manager.getFrameOwner(childFrame));
+        assertEquals(original, manager.read(1, 20));
+        assertEquals((byte) (original + 1), manager.read(2, 20));
+        assertEquals(50.0, manager.getFreeMemoryPercentage());
+    }
+
+    @Test
+    void encerrarPaiTransfereQuadrosCompartilhadosAoFilho() {
+        MemoryManager manager = new MemoryManager(64, 16, 64);
+        Process parent = manager.createProcess(1, 32);
+        manager.forkProcess(1, 2);
+        int frame = parent.getPagesTable().getPageFrame(0);
+
+        manager.destroyProcess(1);
+
+        assertEquals(2, manager.getFrameOwner(frame));
+        assertEquals(1, manager.getFrameReferences(frame));
+        assertEquals(new FrameMapping(2, 0, false, false, false), manager.getFrameMapping(frame).orElseThrow());
+        assertEquals(50.0, manager.getFreeMemoryPercentage());
+        manager.destroyProcess(2);
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+    }
+
+    @Test
+    void posseDoQuadroCompartilhadoSegueOsMapeadoresRestantes() {
+        MemoryManager manager = new MemoryManager(128, 16, 64);
+        Process parent = manager.createProcess(1, 32);
+        manager.forkProcess(1, 2);
+        manager.forkProcess(2, 3);
+        int frame = parent.getPagesTable().getPageFrame(1);
+        assertEquals(3, manager.getFrameReferences(frame));
+
+        manager.destroyProcess(1);
+
+        int heir = manager.getFrameOwner(frame);
+        assertNotEquals(1, heir);
+        assertEquals(2, manager.getFrameReferences(frame));
+        assertEquals(new FrameMapping(heir, 1, false, false, true), manager.getFrameMapping(frame).orElseThrow());
+
+        manager.shrinkProcess(heir, 1);
+
+        int survivor = heir == 2 ? 3 : 2;
+        assertEquals(new FrameMapping(survivor, 1, false, false, false), manager.getFrameMapping(frame).orElseThrow());
+        assertEquals(1, manager.getFrameReferences(frame));
+        manager.destroyProcess(survivor);
+        assertEquals(0, manager.getFrameReferences(frame));
+    }
+
+    @Test
+    void copiaNaEscritaFalhaSemQuadrosLivresNoModoAntecipado() {
+        MemoryManager manager = new MemoryManager(32, 16, 32);
+        manager.createProcess(1, 32);
+        manager.forkProcess(1, 2);
+
+        assertThrows(IllegalStateException.class, () -> manager.write(2, 0, (byte) 1));
+        assertThrows(IllegalArgumentException.class, () -> manager.forkProcess(1, 2));
+    }
+
+    @Test
+    void despejoDeQuadroCompartilhadoPreservaAmbosOsProcessos() {
+        try (MemoryManager manager = MemoryManager.builder(32, 16, 64)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            manager.createProcess(1, 64);
+            manager.write(1, 0, (byte) 9);
+            manager.forkProcess(1, 2);
+
+            manager.write(2, 0, (byte) 5);
+            for (int page = 1; page < 4; page++) {
+                manager.read(1, page * 16);
+            }
+
+            assertEquals((byte) 9, manager.read(1, 0));
+            assertEquals((byte) 5, manager.read(2, 0));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugePagesTest {
+
+    @Test
+    void paginaGrandeUsaQuadrosContiguosEUmaEntradaDaTlb() {
+        MemoryManager manager = MemoryManager.builder(1024, 16, 512).hugePages(64, 0).build();
+        Process process = manager.createProcess(1, 160, PageContent.seeded(7), 2);
+        PagesTable table = process.getPagesTable();
+
+        int firstFrame = table.getPageFrame(0);
+        int secondFrame = table.getPageFrame(4);
+        assertEquals(0, firstFrame % 4);
+        assertEquals(0, secondFrame % 4);
+        for (int page = 0; page < 4; page++) {
+            assertTrue(table.isHugePage(page));
+            assertEquals(firstFrame + page, table.getPageFrame(page));
+            assertEquals(secondFrame + page, table.getPageFrame(4 + page));
+        }
+        assertFalse(table.isHugePage(8));
+        assertEquals(1, manager.getFrameOwner(firstFrame + 3));
+
+        manager.getTlb().resetStatistics();
+        for (int address = 0; address < 64; address++) {
+            manager.read(1, address);
+        }
+        assertEquals(1, manager.getTlb().getMisses());
+        assertEquals(63, manager.getTlb().getHits());
+        assertEquals(manager.getPhysicalMemory().getFrameStartAddress(firstFrame) + 50, manager.translate(1, 50));
+    }
+
+    @Test
+    void encerrarDevolvePaginasGrandesAReserva() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 256).hugePages(64, 2).build();
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+
+        manager.createProcess(1, 128, PageContent.zeroFill(), 2);
+        manager.write(1, 70, (byte) 9);
+        assertEquals(50.0, manager.getFreeMemoryPercentage());
+
+        manager.destroyProcess(1);
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+        Process again = manager.createProcess(2, 128, PageContent.zeroFill(), 2);
+        assertEquals(0, manager.read(2, 70));
+        assertTrue(again.getPagesTable().isHugePage(7));
+    }
+
+    @Test
+    void reservaEDivididaQuandoFaltamQuadrosComuns() {
+        MemoryManager manager = MemoryManager.builder(128, 16, 128).hugePages(64, 2).build();
+
+        manager.createProcess(1, 128);
+
+        assertEquals(0.0, manager.getFreeMemoryPercentage());
+        assertThrows(IllegalStateException.class, () -> manager.createProcess(2, 64, PageContent.random(), 1));
+    }
+
+    @Test
+    void forkCopiaPaginasGrandesECompartilhaAsComuns() {
+        MemoryManager manager = MemoryManager.builder(512, 16, 256).hugePages(64, 0).build();
+        Process parent = manager.createProcess(1, 96, PageContent.seeded(3), 1);
+        byte original = manager.read(1, 10);
+
+        Process child = manager.forkProcess(1, 2);
+
+        assertNotEquals(parent.getPagesTable().getPageFrame(0), child.getPagesTable().getPageFrame(0));
+        assertTrue(child.getPagesTable().isHugePage(0));
+        assertEquals(original, manager.read(2, 10));
+        assertEquals(parent.getPagesTable().getPageFrame(5), child.getPagesTable().getPageFrame(5));
+        manager.write(2, 10, (byte) (original + 1));
+        assertEquals(original, manager.read(1, 10));
+    }
+
+    @Test
+    void rejeitaPaginasGrandesInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> MemoryManager.builder(256, 16, 256).hugePages(48, 0).build());
+        MemoryManager withoutHugePages = new MemoryManager(256, 16, 256);
+        assertThrows(IllegalArgumentException.class,
+                () -> withoutHugePages.createProcess(1, 64, PageContent.random(), 1));
+        MemoryManager manager = MemoryManager.builder(256, 16, 256).hugePages(64, 0).build();
+        assertThrows(IllegalArgumentException.class, () -> manager.createProcess(1, 48, PageContent.random(), 1));
+
+        PagesTable table = PagesTable.withHugePages(8, 4);
+        table.mapHugePage(1, 8);
+        assertThrows(IllegalStateException.class, () -> table.mapPageToFrame(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.mapHugePage(0, 2));
+    }
+}
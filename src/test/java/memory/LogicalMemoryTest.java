@@ -0,0 +1,61 @@
+package memory;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class LogicalMemoryTest {
+
+    @Test
+    void conteudoComSementeEReconstruidoSemArmazenamento() {
+        LogicalMemory memory = new LogicalMemory(64 * 1024, 4096, PageContent.seeded(42));
+        LogicalMemory same = new LogicalMemory(64 * 1024, 4096, PageContent.seeded(42));
+
+        assertArrayEquals(memory.readPage(5), same.readPage(5));
+        assertArrayEquals(memory.readPage(5), memory.readPage(5));
+        assertFalse(Arrays.equals(memory.readPage(5), memory.readPage(6)));
+        assertEquals(0, memory.getBackingBytes());
+    }
+
+    @Test
+    void paginasZeradasSoGanhamArmazenamentoQuandoEscritas() {
+        LogicalMemory memory = new LogicalMemory(10_000, 4096, PageContent.zeroFill());
+
+        assertArrayEquals(new byte[4096], memory.readPage(1));
+        assertEquals(0, memory.getBackingBytes());
+
+        memory.writePage(2, new byte[]{7, 8});
+        byte[] lastPage = memory.readPage(2);
+        assertEquals(10_000 - 2 * 4096, lastPage.length);
+        assertEquals(7, lastPage[0]);
+        assertEquals(0, lastPage[2]);
+        assertEquals(lastPage.length, memory.getBackingBytes());
+    }
+
+    @Test
+    void preenchimentoParaleloNaoDependeDaQuantidadeDeThreads() {
+        int size = ArrayPageSource.PARALLEL_FILL_THRESHOLD * 2;
+        LogicalMemory parallel = new LogicalMemory(size, 4096, PageContent.random(7));
+        LogicalMemory small = new LogicalMemory(4096 * 3, 4096, PageContent.random(7));
+
+        assertArrayEquals(small.readPage(2), parallel.readPage(2));
+        assertEquals(size, parallel.getBackingBytes());
+    }
+
+    @Test
+    void gerenciadorCarregaPaginasGeradasNosQuadros() {
+        MemoryManager manager = new MemoryManager(64, 16, 64);
+        Process process = manager.createProcess(1, 40, PageContent.seeded(3));
+        Process zeros = manager.createProcess(2, 16, PageContent.zeroFill());
+
+        for (int address = 0; address < 40; address++) {
+            assertEquals(process.getLogicalMemory().readPage(address / 16)[address % 16], manager.read(1, address));
+        }
+        assertEquals(0, manager.read(2, 5));
+        assertEquals(0, zeros.getLogicalMemory().getBackingBytes());
+    }
+}
@@ -0,0 +1,67 @@
+package memory;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemoryBanksTest {
+
+    @Test
+    void preferidoAlocaNoBancoEscolhido() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 128).banks(4, Placement.preferred(2)).build();
+        Process process = manager.createProcess(1, 64);
+
+        for (int page = 0; page < process.getPageCount(); page++) {
+            assertEquals(2, manager.getFrameBank(process.getPagesTable().getPageFrame(page)));
+        }
+        List<BankStatistics> statistics = manager.getBankStatistics();
+        assertEquals(4, statistics.size());
+        assertEquals(1.0, statistics.get(2).utilization());
+        assertEquals(0.0, statistics.get(0).utilization());
+        assertEquals(4, statistics.get(2).allocations());
+    }
+
+    @Test
+    void intercaladoAlternaBancosEntrePaginas() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 128).banks(2, Placement.local()).build();
+        Process process = manager.createProcess(3, 128, PageContent.random(), Placement.interleave());
+
+        for (int page = 0; page < process.getPageCount(); page++) {
+            int bank = manager.getFrameBank(process.getPagesTable().getPageFrame(page));
+            assertEquals((3 + page) % 2, bank);
+        }
+        assertEquals(Placement.interleave(), manager.forkProcess(3, 4).getPlacement());
+    }
+
+    @Test
+    void bancoCheioEmprestaQuadrosDoProximo() {
+        MemoryManager manager = MemoryManager.builder(128, 16, 128)
+                .demandPaging(new FifoReplacementPolicy())
+                .banks(2, Placement.preferred(0))
+                .build();
+        manager.createProcess(1, 96);
+        for (int address = 0; address < 96; address += 16) {
+            manager.read(1, address);
+        }
+
+        BankStatistics home = manager.getBankStatistics().get(0);
+        BankStatistics other = manager.getBankStatistics().get(1);
+        assertEquals(0, home.freeFrames());
+        assertEquals(2, other.allocations());
+        assertEquals(2, other.stolen());
+        assertEquals(0, manager.getEvictions());
+    }
+
+    @Test
+    void rejeitaBancoInexistente() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MemoryManager.builder(256, 16, 128).banks(2, Placement.preferred(2)).build());
+        MemoryManager manager = MemoryManager.builder(256, 16, 128).banks(2, Placement.local()).build();
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.createProcess(1, 16, PageContent.random(), Placement.preferred(5)));
+        assertThrows(IllegalArgumentException.class, () -> MemoryManager.builder(64, 16, 64).banks(8, Placement.local()).build());
+    }
+}
@@ -0,0 +1,128 @@
+package memory;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryCompactorTest {
+
+    @Test
+    void juntaQuadrosLivresEmPassosLimitados() {
+        MemoryManager manager = new MemoryManager(256, 16, 64);
+        for (int pid = 1; pid <= 8; pid++) {
+            manager.createProcess(pid, 32, PageContent.zeroFill());
+            manager.write(pid, 0, (byte) pid);
+            manager.write(pid, 16, (byte) -pid);
+        }
+        for (int pid = 2; pid <= 8; pid += 2) {
+            manager.destroyProcess(pid);
+        }
+        MemoryCompactor compactor = new MemoryCompactor(manager);
+
+        CompactionReport first = compactor.step(3);
+        assertEquals(3, first.framesMigrated());
+        assertEquals(0.75, first.fragmentationBefore());
+        assertFalse(first.complete());
+
+        CompactionReport rest = compactor.compact(1, Duration.ofSeconds(10));
+        assertEquals(1, rest.framesMigrated());
+        assertTrue(rest.complete());
+        assertEquals(0.0, rest.fragmentationAfter());
+        assertEquals(4, compactor.getTotalFramesMigrated());
+
+        assertEquals(new FrameMapping(7, 1, true, true, false), manager.getFrameMapping(2).orElseThrow());
+        assertEquals(new FrameMapping(5, 0, true, true, false), manager.getFrameMapping(7).orElseThrow());
+        for (int frame = 8; frame < 16; frame++) {
+            assertTrue(manager.getFrameMapping(frame).isEmpty());
+        }
+        for (int pid = 1; pid <= 7; pid += 2) {
+            assertEquals((byte) pid, manager.read(pid, 0));
+            assertEquals((byte) -pid, manager.read(pid, 16));
+        }
+        assertEquals(new CompactionReport(0, 1, 0.0, 0.0, true), compactor.step(8));
+    }
+
+    @Test
+    void fragmentacaoDoRelatorioEMedidaDentroDeCadaBanco() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 64)
+                .banks(2, Placement.interleave())
+                .build();
+        for (int pid = 1; pid <= 8; pid++) {
+            manager.createProcess(pid, 32, PageContent.zeroFill());
+        }
+        for (int pid = 2; pid <= 8; pid += 2) {
+            manager.destroyProcess(pid);
+        }
+
+        CompactionReport report = new MemoryCompactor(manager).compact(16, Duration.ofSeconds(10));
+
+        assertEquals(0.75, report.fragmentationBefore());
+        assertEquals(0.0, report.fragmentationAfter());
+        for (BankStatistics bank : manager.getBankStatistics()) {
+            assertEquals(4, bank.largestFreeRange());
+            assertEquals(0.0, bank.fragmentationIndex());
+        }
+        // os bancos compactados deixam dois intervalos livres, um no fim de cada banco
+        assertEquals(0.5, manager.getFragmentationIndex());
+    }
+
+    @Test
+    void mantemCompartilhamentoEOrdemDeSubstituicao() {
+        MemoryManager manager = MemoryManager.builder(128, 16, 256)
+                .demandPaging(new LruReplacementPolicy())
+                .build();
+        manager.createProcess(1, 64, PageContent.zeroFill());
+        manager.createProcess(2, 64, PageContent.seeded(9));
+        for (int page = 0; page < 4; page++) {
+            manager.read(1, page * 16);
+        }
+        byte firstByte = manager.read(2, 0);
+        for (int page = 1; page < 4; page++) {
+            manager.read(2, page * 16);
+        }
+        manager.destroyProcess(1);
+        manager.forkProcess(2, 3);
+
+        CompactionReport report = new MemoryCompactor(manager).compact(2, Duration.ofSeconds(10));
+
+        assertEquals(4, report.framesMigrated());
+        PagesTable child = manager.findProcess(3).orElseThrow().getPagesTable();
+        int frame = child.getPageFrame(0);
+        assertTrue(frame < 4);
+        assertEquals(frame, manager.findProcess(2).orElseThrow().getPagesTable().getPageFrame(0));
+        assertEquals(2, manager.getFrameReferences(frame));
+        assertTrue(manager.getFrameMapping(frame).orElseThrow().shared());
+
+        // a página 0 continua sendo a menos recente depois de mudar de quadro
+        manager.createProcess(4, 96);
+        for (int page = 0; page < 5; page++) {
+            manager.read(4, page * 16);
+        }
+        assertFalse(child.isMapped(0));
+        assertEquals(frame, manager.findProcess(4).orElseThrow().getPagesTable().getPageFrame(4));
+        manager.write(3, 0, (byte) (firstByte + 1));
+        assertEquals(firstByte, manager.read(2, 0));
+    }
+
+    @Test
+    void naoMovePaginasGrandesEExigeParametrosValidos() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 64).hugePages(64, 0).build();
+        manager.createProcess(1, 32);
+        manager.createProcess(2, 64, PageContent.zeroFill(), 1);
+        manager.createProcess(3, 32);
+        manager.destroyProcess(1);
+        MemoryCompactor compactor = new MemoryCompactor(manager);
+
+        assertEquals(2, compactor.compact(8, Duration.ZERO).framesMigrated());
+        assertEquals(4, manager.findProcess(2).orElseThrow().getPagesTable().getPageFrame(0));
+        assertEquals(0, manager.findProcess(3).orElseThrow().getPagesTable().getPageFrame(1));
+        assertThrows(IllegalArgumentException.class, () -> compactor.step(0));
+        assertThrows(IllegalArgumentException.class, () -> compactor.compact(1, Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new MemoryCompactor(null));
+    }
+}
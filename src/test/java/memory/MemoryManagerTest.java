@@ -1,10 +1,14 @@
 package memory;
 
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MemoryManagerTest {
 
@@ -66,6 +70,98 @@ class MemoryManagerTest {
 
         assertEquals(75.0, manager.getFreeMemoryPercentage());
     }
+
+    @Test
+    void traduzEnderecoVirtualUsandoTlb() {
+        MemoryManager manager = new MemoryManager(64, 16, 64,
+                new TranslationLookasideBuffer(2, 2, TlbEvictionPolicy.LRU));
+        Process process = manager.createProcess(1, 30);
+        int frame = process.getPagesTable().getPageFrame(1);
+
+        assertEquals(frame * 16 + 4, manager.translate(1, 20));
+        assertEquals(frame * 16 + 5, manager.translate(1, 21));
+        assertEquals(1, manager.getTlb().getMisses());
+        assertEquals(1, manager.getTlb().getHits());
+
+        assertEquals(process.getLogicalMemory().readPage(1)[4], manager.read(1, 20));
+        manager.write(1, 20, (byte) 0x5A);
+        assertEquals((byte) 0x5A, manager.read(1, 20));
+        assertThrows(IllegalArgumentException.class, () -> manager.translate(1, 30));
+        assertThrows(IllegalArgumentException.class, () -> manager.translate(2, 0));
+    }
+
+    @Test
+    void consultaEspeculativaSoContaAcertoConfirmado() {
+        TranslationLookasideBuffer tlb = new TranslationLookasideBuffer(2, 2, TlbEvictionPolicy.LRU);
+        tlb.insert(1, 0, 3);
+
+        assertEquals(3, tlb.probe(1, 0));
+        assertEquals(TranslationLookasideBuffer.MISS, tlb.probe(1, 1));
+        assertEquals(0, tlb.getHits());
+        assertEquals(0, tlb.getMisses());
+        tlb.recordHit();
+        assertEquals(1, tlb.getHits());
+
+        MemoryManager manager = new MemoryManager(64, 16, 64, tlb);
+        manager.createProcess(2, 32);
+        tlb.resetStatistics();
+        for (int address = 0; address < 32; address++) {
+            manager.read(2, address);
+        }
+        assertEquals(2, tlb.getMisses());
+        assertEquals(30, tlb.getHits());
+    }
+
+    @Test
+    void memoriaForaDoHeapGuardaPaginasDoProcesso() {
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 64)
+                .physicalMemoryBackend(PhysicalMemoryBackend.OFF_HEAP)
+                .build()) {
+            Process process = manager.createProcess(1, 20);
+            int frame = process.getPagesTable().getPageFrame(1);
+
+            assertEquals(64L, manager.getPhysicalMemory().getTotalSize());
+            assertArrayEquals(process.getLogicalMemory().readPage(1),
+                    slice(manager.getPhysicalMemory().readFrame(frame), 4));
+            manager.write(1, 19, (byte) 0x7F);
+            assertEquals((byte) 0x7F, manager.read(1, 19));
+        }
+    }
+
+    @Test
+    void leituraDeQuadroSemCopiaRefleteConteudoAtual() {
+        MemoryManager manager = new MemoryManager(64, 16, 64);
+        Process process = manager.createProcess(1, 16);
+        int frame = process.getPagesTable().getPageFrame(0);
+        PhysicalMemory physicalMemory = manager.getPhysicalMemory();
+
+        byte[] buffer = new byte[20];
+        physicalMemory.readInto(frame, buffer, 4);
+        assertArrayEquals(process.getLogicalMemory().readPage(0), slice(buffer, 4, 20));
+
+        ByteBuffer view = physicalMemory.frameView(frame);
+        manager.write(1, 3, (byte) 0x42);
+        assertEquals(16, view.remaining());
+        assertEquals((byte) 0x42, view.get(3));
+        assertThrows(ReadOnlyBufferException.class, () -> view.put(0, (byte) 1));
+    }
+
+    @Test
+    void encerrarProcessoDevolveQuadros() {
+        MemoryManager manager = new MemoryManager(64, 16, 64);
+        manager.createProcess(1, 48);
+        manager.createProcess(2, 16);
+        assertEquals(0.0, manager.getFreeMemoryPercentage());
+
+        manager.destroyProcess(1);
+
+        assertEquals(75.0, manager.getFreeMemoryPercentage());
+        assertTrue(manager.findProcess(1).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> manager.read(1, 0));
+        assertEquals(3, manager.createProcess(3, 48).getPageCount());
+        assertThrows(IllegalArgumentException.class, () -> manager.destroyProcess(1));
+    }
+
     private byte[] slice(byte[] source, int length) {
         return slice(source, 0, length);
     }
@@ -0,0 +1,174 @@
+package memory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryMetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void contaProcessosQuadrosELatencias() {
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 64).metrics().build()) {
+            MemoryMetrics metrics = manager.getMetrics().orElseThrow();
+
+            manager.createProcess(1, 32);
+            assertThrows(IllegalStateException.class, () -> manager.createProcess(2, 64));
+            manager.read(1, 5);
+            manager.write(1, 20, (byte) 1);
+            manager.destroyProcess(1);
+
+            assertEquals(1, metrics.getProcessesCreated());
+            assertEquals(1, metrics.getProcessCreationFailures());
+            assertEquals(1, metrics.getProcessesDestroyed());
+            assertEquals(2, metrics.getFramesAllocated());
+            assertEquals(2, metrics.getFramesReleased());
+            assertEquals(2, metrics.getCreateProcessLatency().getCount());
+            assertEquals(2, metrics.getTranslationLatency().getCount());
+            assertTrue(metrics.getTranslationLatencyP99() <= metrics.getTranslationLatencyMax());
+        }
+    }
+
+    @Test
+    void forkContaComoProcessoCriado() {
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 64).metrics().build()) {
+            MemoryMetrics metrics = manager.getMetrics().orElseThrow();
+
+            manager.createProcess(1, 32);
+            manager.forkProcess(1, 2);
+            assertThrows(IllegalArgumentException.class, () -> manager.forkProcess(9, 3));
+
+            assertEquals(2, metrics.getProcessesCreated());
+            assertEquals(metrics.getProcessCount(), metrics.getProcessesCreated() - metrics.getProcessesDestroyed());
+            assertEquals(1, metrics.getProcessCreationFailures());
+            assertEquals(3, metrics.getCreateProcessLatency().getCount());
+        }
+    }
+
+    @Test
+    void semMetricasNaoHaInstrumentacao() {
+        try (MemoryManager manager = new MemoryManager(64, 16, 64)) {
+            assertFalse(manager.getMetrics().isPresent());
+        }
+    }
+
+    @Test
+    void indiceDeFragmentacaoConsideraMaiorIntervaloLivre() {
+        try (MemoryManager manager = new MemoryManager(64, 16, 16)) {
+            for (int pid = 1; pid <= 4; pid++) {
+                manager.createProcess(pid, 16);
+            }
+            assertEquals(0.0, manager.getFragmentationIndex());
+
+            manager.destroyProcess(1);
+            manager.destroyProcess(3);
+            assertEquals(0.5, manager.getFragmentationIndex());
+        }
+    }
+
+    @Test
+    void histogramaEstimaPercentisDentroDaFaixa() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean());
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 500 && median <= 625, "mediana estimada: " + median);
+        assertEquals(1000, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    void publicaMBeanERemoveAoFechar() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 64).metrics().build()) {
+            name = manager.getMetrics().orElseThrow().registerMBean();
+            manager.createProcess(7, 16);
+
+            assertEquals(1L, server.getAttribute(name, "ProcessesCreated"));
+            assertEquals(75.0, server.getAttribute(name, "FreeMemoryPercentage"));
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void emiteEventosJfr() throws Exception {
+        Path dump = directory.resolve("memory.jfr");
+        try (Recording recording = new Recording();
+             MemoryManager manager = MemoryManager.builder(32, 16, 64)
+                     .demandPaging(new FifoReplacementPolicy())
+                     .metrics()
+                     .build()) {
+            recording.enable("memory.ProcessCreation");
+            recording.enable("memory.PageFault");
+            recording.start();
+            manager.createProcess(1, 64);
+            for (int address = 0; address < 64; address += 16) {
+                manager.read(1, address);
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.stream().filter(e -> e.getEventType().getName().equals("memory.ProcessCreation")).count());
+        List<RecordedEvent> faults = events.stream()
+                .filter(e -> e.getEventType().getName().equals("memory.PageFault"))
+                .toList();
+        assertEquals(4, faults.size());
+        assertEquals(2, faults.stream().filter(e -> e.getBoolean("evicted")).count());
+    }
+
+    @Test
+    void eventoPeriodicoSoEhEmitidoDepoisDeAtivado() throws Exception {
+        AtomicBoolean enabled = new AtomicBoolean();
+        AtomicBoolean emittedBeforeEnabled = new AtomicBoolean();
+        CompletableFuture<RecordedEvent> first = new CompletableFuture<>();
+        try (RecordingStream stream = new RecordingStream();
+             MemoryManager manager = MemoryManager.builder(64, 16, 64).metrics().build()) {
+            stream.enable("memory.Statistics").withPeriod(Duration.ofMillis(10));
+            stream.onEvent("memory.Statistics", event -> {
+                if (!enabled.get()) {
+                    emittedBeforeEnabled.set(true);
+                }
+                first.complete(event);
+            });
+            stream.startAsync();
+            manager.createProcess(1, 32);
+            Thread.sleep(100);
+            enabled.set(true);
+            manager.getMetrics().orElseThrow().enableStatisticsEvent();
+
+            RecordedEvent statistics = first.get(30, TimeUnit.SECONDS);
+            assertFalse(emittedBeforeEnabled.get());
+            assertEquals(1, statistics.getInt("processes"));
+            assertEquals(0.5, statistics.getDouble("freeMemory"));
+        }
+    }
+}
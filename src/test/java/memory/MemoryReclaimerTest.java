@@ -0,0 +1,154 @@
+package memory;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemoryReclaimerTest {
+
+    @Test
+    void recuperaQuadrosFriosAteAMarcaSuperior() {
+        try (MemoryManager manager = MemoryManager.builder(128, 16, 256)
+                .demandPaging(new LruReplacementPolicy())
+                .build()) {
+            manager.createProcess(1, 256, PageContent.seeded(5));
+            for (int page = 0; page < 8; page++) {
+                manager.write(1, page * 16, (byte) page);
+            }
+            MemoryReclaimer reclaimer = new MemoryReclaimer(manager, 2, 4, 3);
+
+            assertEquals(4, reclaimer.reclaim());
+            assertEquals(8, reclaimer.getWorkingSetSizes().get(1));
+            assertEquals(50.0, manager.getFreeMemoryPercentage());
+            assertEquals(4, manager.getEvictions());
+
+            manager.read(1, 7 * 16);
+            assertEquals(0, reclaimer.reclaim());
+            for (int page = 0; page < 8; page++) {
+                assertEquals(page, manager.read(1, page * 16));
+            }
+        }
+    }
+
+    @Test
+    void ponteiroDoRelogioPoupaQuadrosReferenciadosNaUltimaAmostra() {
+        try (MemoryManager manager = MemoryManager.builder(128, 16, 256)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            manager.createProcess(1, 256);
+            MemoryReclaimer reclaimer = new MemoryReclaimer(manager, 3, 5, 2);
+            for (int page = 0; page < 5; page++) {
+                manager.read(1, page * 16);
+            }
+            assertEquals(0, reclaimer.reclaim());
+
+            for (int page : new int[]{0, 1, 5, 6}) {
+                manager.read(1, page * 16);
+            }
+            assertEquals(4, reclaimer.reclaim());
+
+            PagesTable table = manager.findProcess(1).orElseThrow().getPagesTable();
+            for (int page : new int[]{2, 3, 4}) {
+                assertFalse(table.isMapped(page));
+            }
+            for (int page : new int[]{1, 5, 6}) {
+                assertTrue(table.isMapped(page));
+            }
+        }
+    }
+
+    @Test
+    void threadVirtualAcordaAbaixoDaMarcaInferior() throws InterruptedException {
+        try (MemoryManager manager = MemoryManager.builder(128, 16, 256)
+                .demandPaging(new ClockReplacementPolicy())
+                .build();
+             MemoryReclaimer reclaimer = new MemoryReclaimer(manager, 3, 5, 2)) {
+            manager.createProcess(1, 256);
+            reclaimer.start(Duration.ofHours(1));
+
+            for (int page = 0; page < 6; page++) {
+                manager.read(1, page * 16);
+            }
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (reclaimer.getFramesReclaimed() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(reclaimer.getFramesReclaimed() > 0);
+            assertThrows(IllegalStateException.class, () -> reclaimer.start(Duration.ofSeconds(1)));
+            assertThrows(IllegalStateException.class,
+                    () -> new MemoryReclaimer(manager, 1, 2, 1).start(Duration.ofSeconds(1)));
+            reclaimer.stop();
+        }
+    }
+
+    @Test
+    void criacaoSobDemandaConviveComRecuperadorForaDoModoConcorrente() {
+        try (MemoryManager manager = MemoryManager.builder(128, 16, 64)
+                .demandPaging(new ClockReplacementPolicy())
+                .build();
+             MemoryReclaimer reclaimer = new MemoryReclaimer(manager, 3, 5, 2)) {
+            reclaimer.start(Duration.ofMillis(1));
+
+            for (int pid = 0; pid < 500; pid++) {
+                manager.createProcess(pid, 64, PageContent.zeroFill());
+                manager.write(pid, 17, (byte) pid);
+                manager.write(pid, 49, (byte) pid);
+                if (pid >= 4) {
+                    assertEquals((byte) (pid - 4), manager.read(pid - 4, 17));
+                    manager.destroyProcess(pid - 4);
+                }
+            }
+            reclaimer.stop();
+
+            assertEquals(4, manager.listProcesses().size());
+        }
+    }
+
+    @Test
+    void passadaQueFalhaNaoEncerraAThread() throws InterruptedException {
+        SwapSpace swap = SwapSpace.createTemporary(16);
+        swap.close();
+        try (MemoryManager manager = MemoryManager.builder(128, 16, 256)
+                .demandPaging(new FifoReplacementPolicy())
+                .swapSpace(swap)
+                .build();
+             MemoryReclaimer reclaimer = new MemoryReclaimer(manager, 3, 5, 2)) {
+            manager.createProcess(1, 256);
+            reclaimer.start(Duration.ofMillis(1));
+            for (int page = 0; page < 6; page++) {
+                manager.read(1, page * 16);
+            }
+
+            RuntimeException first = awaitFailure(reclaimer, null);
+            assertTrue(first instanceof UncheckedIOException);
+            assertNotSame(first, awaitFailure(reclaimer, first));
+            reclaimer.stop();
+        }
+    }
+
+    private static RuntimeException awaitFailure(MemoryReclaimer reclaimer, RuntimeException previous)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (reclaimer.getLastReclaimFailure() == previous && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return reclaimer.getLastReclaimFailure();
+    }
+
+    @Test
+    void exigePaginacaoSobDemandaEMarcasValidas() {
+        MemoryManager eager = new MemoryManager(128, 16, 128);
+        assertThrows(IllegalArgumentException.class, () -> new MemoryReclaimer(eager, 1, 2, 1));
+        MemoryManager demand = MemoryManager.builder(128, 16, 128).demandPaging(new FifoReplacementPolicy()).build();
+        assertThrows(IllegalArgumentException.class, () -> new MemoryReclaimer(demand, 4, 4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MemoryReclaimer(demand, 1, 9, 1));
+    }
+}
@@ -0,0 +1,161 @@
+package memory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemorySnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restauraProcessosQuadrosEConteudo() {
+        Path file = directory.resolve("full.snap");
+        try (MemoryManager manager = new MemoryManager(256, 16, 64)) {
+            manager.createProcess(1, 40);
+            manager.createProcess(2, 32, PageContent.seeded(9));
+            manager.createProcess(3, 16, PageContent.zeroFill()).getLogicalMemory().writePage(0, new byte[]{5});
+            manager.forkProcess(1, 4);
+            manager.write(4, 3, (byte) 99);
+
+            MemorySnapshot.write(manager, file);
+
+            try (MemoryManager restored = MemorySnapshot.restore(MemoryManager.builder(256, 16, 64), file)) {
+                assertSameState(manager, restored);
+                assertEquals(5, restored.findProcess(3).orElseThrow().getLogicalMemory().readPage(0)[0]);
+                restored.write(1, 0, (byte) 1);
+                assertEquals(1, restored.read(1, 0));
+            }
+        }
+    }
+
+    @Test
+    void incrementalGravaApenasQuadrosAlterados() throws IOException {
+        Path base = directory.resolve("base.snap");
+        Path increment = directory.resolve("increment.snap");
+        try (MemoryManager manager = new MemoryManager(1024, 64, 512)) {
+            manager.createProcess(1, 512, PageContent.seeded(1));
+            MemorySnapshot.write(manager, base);
+
+            manager.write(1, 130, (byte) 42);
+            manager.createProcess(2, 64, PageContent.seeded(2));
+            MemorySnapshot.writeIncremental(manager, increment);
+
+            assertTrue(Files.size(increment) < Files.size(base));
+            try (MemoryManager restored = MemorySnapshot.restore(MemoryManager.builder(1024, 64, 512), base, increment)) {
+                assertSameState(manager, restored);
+                assertEquals(42, restored.read(1, 130));
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> MemorySnapshot.restore(MemoryManager.builder(1024, 64, 512), increment));
+            assertThrows(IllegalArgumentException.class,
+                    () -> MemorySnapshot.restore(MemoryManager.builder(2048, 64, 512), base));
+        }
+    }
+
+    @Test
+    void incrementalQueFalhaNaoEsqueceQuadrosAlterados() {
+        Path base = directory.resolve("base.snap");
+        Path increment = directory.resolve("increment.snap");
+        try (MemoryManager manager = new MemoryManager(1024, 64, 512)) {
+            manager.createProcess(1, 512, PageContent.seeded(1));
+            MemorySnapshot.write(manager, base);
+
+            manager.write(1, 130, (byte) 42);
+            assertThrows(UncheckedIOException.class,
+                    () -> MemorySnapshot.writeIncremental(manager, directory.resolve("ausente/increment.snap")));
+            MemorySnapshot.writeIncremental(manager, increment);
+
+            try (MemoryManager restored = MemorySnapshot.restore(MemoryManager.builder(1024, 64, 512), base, increment)) {
+                assertEquals(42, restored.read(1, 130));
+            }
+        }
+    }
+
+    @Test
+    void restauraPaginasNaAreaDeTroca() {
+        Path file = directory.resolve("demand.snap");
+        try (MemoryManager manager = MemoryManager.builder(64, 16, 128)
+                .demandPaging(new LruReplacementPolicy())
+                .build()) {
+            manager.createProcess(1, 128, PageContent.random(3));
+            for (int address = 0; address < 128; address += 16) {
+                manager.write(1, address, (byte) address);
+            }
+            MemorySnapshot.write(manager, file);
+
+            try (MemoryManager restored = MemorySnapshot.restore(MemoryManager.builder(64, 16, 128)
+                    .demandPaging(new LruReplacementPolicy()), file)) {
+                assertEquals(manager.getEvictions(), restored.getEvictions());
+                for (int address = 0; address < 128; address++) {
+                    assertEquals(manager.read(1, address), restored.read(1, address));
+                }
+            }
+        }
+    }
+
+    @Test
+    void restauraPaginasGrandes() {
+        Path file = directory.resolve("huge.snap");
+        try (MemoryManager manager = MemoryManager.builder(512, 16, 256).hugePages(64, 2).build()) {
+            manager.createProcess(1, 96, PageContent.seeded(4), 1);
+            manager.write(1, 20, (byte) 7);
+            MemorySnapshot.write(manager, file);
+
+            try (MemoryManager restored = MemorySnapshot.restore(
+                    MemoryManager.builder(512, 16, 256).hugePages(64, 2), file)) {
+                assertSameState(manager, restored);
+                assertTrue(restored.findProcess(1).orElseThrow().getPagesTable().isHugePage(3));
+                restored.destroyProcess(1);
+                assertEquals(100.0, restored.getFreeMemoryPercentage());
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> MemorySnapshot.restore(MemoryManager.builder(512, 16, 256), file));
+        }
+    }
+
+    @Test
+    void restauraProcessoQueCresceuSemCarregarPaginas() {
+        Path file = directory.resolve("grown.snap");
+        try (MemoryManager manager = MemoryManager.builder(256, 16, 128)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            manager.createProcess(1, 40, PageContent.seeded(6));
+            manager.growProcess(1, 3);
+
+            MemorySnapshot.write(manager, file);
+
+            try (MemoryManager restored = MemorySnapshot.restore(MemoryManager.builder(256, 16, 128)
+                    .demandPaging(new FifoReplacementPolicy()), file)) {
+                assertSameState(manager, restored);
+                assertEquals(0, restored.read(1, 47));
+                assertEquals(0, restored.read(1, 95));
+            }
+        }
+    }
+
+    private static void assertSameState(MemoryManager expected, MemoryManager actual) {
+        assertEquals(expected.getFreeMemoryPercentage(), actual.getFreeMemoryPercentage());
+        for (int frame = 0; frame < expected.getPhysicalMemory().getNumberOfFrames(); frame++) {
+            assertEquals(expected.getFrameOwner(frame), actual.getFrameOwner(frame));
+            assertEquals(expected.getFrameReferences(frame), actual.getFrameReferences(frame));
+            assertEquals(expected.getPhysicalMemory().frameView(frame), actual.getPhysicalMemory().frameView(frame));
+        }
+        for (Process process : expected.listProcesses()) {
+            Process restored = actual.findProcess(process.getPid()).orElseThrow();
+            for (int address = 0; address < process.getSizeInBytes(); address++) {
+                assertEquals(expected.read(process.getPid(), address), actual.read(process.getPid(), address));
+            }
+            assertEquals(process.getSizeInBytes(), restored.getSizeInBytes());
+        }
+    }
+}
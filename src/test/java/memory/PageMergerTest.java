@@ -0,0 +1,99 @@
+package memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PageMergerTest {
+
+    @Test
+    void mesclaQuadrosIdenticosEntreProcessos() {
+        MemoryManager manager = new MemoryManager(128, 16, 32);
+        manager.createProcess(1, 32);
+        manager.createProcess(2, 32);
+        manager.createProcess(3, 16);
+        for (int pid = 1; pid <= 2; pid++) {
+            for (int address = 0; address < 32; address++) {
+                manager.write(pid, address, (byte) 0);
+            }
+        }
+
+        MergeReport report = new PageMerger(manager).scan();
+
+        assertEquals(5, report.framesScanned());
+        assertEquals(3, report.pagesMerged());
+        assertEquals(48, report.bytesSaved());
+        assertEquals(75.0, manager.getFreeMemoryPercentage());
+        int zeroFrame = manager.findProcess(1).orElseThrow().getPagesTable().getPageFrame(0);
+        assertEquals(4, manager.getFrameReferences(zeroFrame));
+
+        manager.write(2, 17, (byte) 3);
+        assertEquals((byte) 3, manager.read(2, 17));
+        assertEquals(0, manager.read(1, 17));
+        assertEquals(3, manager.getFrameReferences(zeroFrame));
+    }
+
+    @Test
+    void encerraProcessoComPaginasMescladasEntreSi() {
+        MemoryManager manager = new MemoryManager(256, 16, 64);
+        manager.createProcess(1, 64, PageContent.zeroFill());
+        manager.createProcess(2, 64, PageContent.zeroFill());
+        new PageMerger(manager).scan();
+        int zeroFrame = manager.findProcess(1).orElseThrow().getPagesTable().getPageFrame(0);
+        assertEquals(8, manager.getFrameReferences(zeroFrame));
+
+        manager.shrinkProcess(2, 1);
+        manager.destroyProcess(1);
+        assertEquals(3, manager.getFrameReferences(zeroFrame));
+        assertEquals(2, manager.getFrameOwner(zeroFrame));
+        manager.destroyProcess(2);
+
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+    }
+
+    @Test
+    void passosRetomamAPassadaENaoResumemQuadrosInalterados() {
+        MemoryManager manager = new MemoryManager(256, 16, 64);
+        manager.createProcess(1, 64, PageContent.zeroFill());
+        PageMerger merger = new PageMerger(manager);
+
+        assertEquals(new MergeReport(2, 1, 16, false), merger.step(2));
+        assertEquals(new MergeReport(2, 2, 32, true), merger.scan());
+        assertEquals(new MergeReport(0, 0, 0, true), merger.scan());
+
+        manager.createProcess(2, 64, PageContent.zeroFill());
+        manager.write(1, 20, (byte) 1);
+
+        assertEquals(new MergeReport(5, 4, 64, true), merger.scan());
+        assertEquals(7, merger.getTotalPagesMerged());
+        assertEquals(1, manager.read(1, 20));
+        assertEquals(0, manager.read(2, 20));
+    }
+
+    @Test
+    void varreduraPeriodicaConviveComCriacaoSobDemanda() {
+        try (MemoryManager manager = MemoryManager.builder(256, 16, 64)
+                .demandPaging(new FifoReplacementPolicy())
+                .build();
+             PageMerger merger = new PageMerger(manager)) {
+            merger.start(1, TimeUnit.MILLISECONDS);
+
+            for (int pid = 0; pid < 500; pid++) {
+                manager.createProcess(pid, 64, PageContent.zeroFill());
+                manager.read(pid, 17);
+                manager.write(pid, 49, (byte) pid);
+                if (pid >= 4) {
+                    assertEquals((byte) (pid - 4), manager.read(pid - 4, 49));
+                    manager.destroyProcess(pid - 4);
+                }
+            }
+            merger.stop();
+
+            assertEquals(4, manager.listProcesses().size());
+            assertNull(merger.getLastScanFailure());
+        }
+    }
+}
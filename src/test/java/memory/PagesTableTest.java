@@ -0,0 +1,70 @@
+package memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagesTableTest {
+
+    @Test
+    void tabelaLinearMapeiaEDesmapeiaPaginas() {
+        verificaMapeamento(PagesTable.dense(4096));
+    }
+
+    @Test
+    void tabelaEsparsaMapeiaEDesmapeiaPaginas() {
+        verificaMapeamento(PagesTable.sparse(4096));
+    }
+
+    @Test
+    void tabelaEsparsaSuportaEspacoGrandeSemAlocarTudo() {
+        PagesTable table = PagesTable.sparse(Integer.MAX_VALUE);
+        table.mapPageToFrame(Integer.MAX_VALUE - 1, 3);
+
+        assertEquals(3, table.getPageFrame(Integer.MAX_VALUE - 1));
+        assertFalse(table.isMapped(0));
+        assertEquals(Integer.MAX_VALUE, table.size());
+    }
+
+    @Test
+    void tabelasCrescemEEncolhemMantendoEntradas() {
+        verificaRedimensionamento(PagesTable.dense(1500));
+        verificaRedimensionamento(PagesTable.sparse(1500));
+    }
+
+    private void verificaRedimensionamento(PagesTable table) {
+        table.mapPageToFrame(3, 9);
+        table.mapPageToFrame(1499, 4);
+
+        table.resize(5000);
+        assertEquals(5000, table.size());
+        assertEquals(9, table.getPageFrame(3));
+        assertEquals(4, table.getPageFrame(1499));
+        assertFalse(table.isMapped(4999));
+        table.mapPageToFrame(4999, 2);
+
+        table.resize(1499);
+        assertThrows(IllegalArgumentException.class, () -> table.isMapped(1499));
+        table.resize(5000);
+        assertFalse(table.isMapped(1499));
+        assertFalse(table.isMapped(4999));
+        assertEquals(9, table.getPageFrame(3));
+    }
+
+    private void verificaMapeamento(PagesTable table) {
+        assertFalse(table.isMapped(1500));
+        assertThrows(IllegalStateException.class, () -> table.getPageFrame(1500));
+
+        table.mapPageToFrame(1500, 7);
+        assertTrue(table.isMapped(1500));
+        assertEquals(7, table.getPageFrame(1500));
+
+        assertEquals(7, table.unmapPage(1500));
+        assertEquals(PagesTable.UNMAPPED, table.unmapPage(1500));
+        assertFalse(table.isMapped(1500));
+        assertThrows(IllegalArgumentException.class, () -> table.mapPageToFrame(4096, 1));
+    }
+}
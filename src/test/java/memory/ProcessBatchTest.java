@@ -0,0 +1,110 @@
+package memory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProcessBatchTest {
+
+    @Test
+    void criaLoteComMesmoConteudoDaCriacaoIndividual() {
+        MemoryManager batch = new MemoryManager(2048, 16, 512);
+        MemoryManager single = new MemoryManager(2048, 16, 512);
+        List<Process> created = batch.createProcesses(List.of(
+                ProcessSpec.of(1, 512, PageContent.seeded(1)),
+                ProcessSpec.of(2, 500, PageContent.seeded(2)),
+                ProcessSpec.of(3, 512, PageContent.seeded(3))));
+        single.createProcess(1, 512, PageContent.seeded(1));
+        single.createProcess(2, 500, PageContent.seeded(2));
+        single.createProcess(3, 512, PageContent.seeded(3));
+
+        assertEquals(List.of(1, 2, 3), created.stream().map(Process::getPid).toList());
+        for (Process process : created) {
+            for (int address = 0; address < process.getSizeInBytes(); address++) {
+                assertEquals(single.read(process.getPid(), address), batch.read(process.getPid(), address));
+            }
+            for (int page = 0; page < process.getPageCount(); page++) {
+                assertEquals(process.getPid(), batch.getFrameOwner(process.getPagesTable().getPageFrame(page)));
+            }
+        }
+        assertEquals(single.getFreeMemoryPercentage(), batch.getFreeMemoryPercentage());
+    }
+
+    @Test
+    void loteSemQuadrosSuficientesNaoCriaNenhumProcesso() {
+        MemoryManager manager = new MemoryManager(256, 16, 128);
+        manager.createProcess(9, 64);
+
+        assertThrows(IllegalStateException.class, () -> manager.createProcesses(List.of(
+                ProcessSpec.of(1, 128),
+                ProcessSpec.of(2, 128))));
+        assertEquals(1, manager.listProcesses().size());
+        assertEquals(75.0, manager.getFreeMemoryPercentage());
+        assertTrue(manager.findProcess(1).isEmpty());
+    }
+
+    @Test
+    void rejeitaPidRepetidoOuExistenteSemAlocar() {
+        MemoryManager manager = MemoryManager.builder(256, 16, 128).banks(2, Placement.local()).build();
+        manager.createProcess(5, 16);
+
+        assertThrows(IllegalArgumentException.class, () -> manager.createProcesses(List.of(
+                ProcessSpec.of(1, 16), ProcessSpec.of(1, 32))));
+        assertThrows(IllegalArgumentException.class, () -> manager.createProcesses(List.of(
+                ProcessSpec.of(2, 16), ProcessSpec.of(5, 32))));
+        assertEquals(15, manager.getBankStatistics().stream().mapToInt(BankStatistics::freeFrames).sum());
+
+        List<Process> created = manager.createProcesses(List.of(
+                new ProcessSpec(6, 64, PageContent.zeroFill(), 0, Placement.preferred(1)),
+                ProcessSpec.of(7, 32)));
+        assertEquals(Placement.preferred(1), created.get(0).getPlacement());
+        assertEquals(Placement.local(), created.get(1).getPlacement());
+        for (int page = 0; page < created.get(0).getPageCount(); page++) {
+            assertEquals(1, manager.getFrameBank(created.get(0).getPagesTable().getPageFrame(page)));
+        }
+    }
+
+    @Test
+    void fusaoConcorrenteNaoLiberaQuadrosDeLoteAindaNaoPublicado() throws Exception {
+        MemoryManager manager = MemoryManager.builder(4096, 16, 256).concurrent(2).build();
+        PageMerger merger = new PageMerger(manager);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<Void> scans = CompletableFuture.runAsync(() -> {
+            while (running.get()) {
+                merger.scan();
+            }
+        });
+        try {
+            for (int round = 0; round < 200; round++) {
+                List<Process> created = manager.createProcesses(List.of(
+                        ProcessSpec.of(1, 256, PageContent.zeroFill()),
+                        ProcessSpec.of(2, 256, PageContent.zeroFill())));
+                manager.withExclusiveAccess(() -> {
+                    for (Process process : created) {
+                        for (int page = 0; page < process.getPageCount(); page++) {
+                            int frame = process.getPagesTable().getPageFrame(page);
+                            assertFalse(manager.isFrameFree(frame));
+                            assertTrue(manager.getFrameReferences(frame) > 0);
+                        }
+                    }
+                    return null;
+                });
+                assertEquals(0, manager.read(1, 255));
+                assertEquals(0, manager.read(2, 255));
+                manager.destroyProcess(1);
+                manager.destroyProcess(2);
+            }
+        } finally {
+            running.set(false);
+            scans.get();
+        }
+        assertEquals(100.0, manager.getFreeMemoryPercentage());
+    }
+}
@@ -0,0 +1,74 @@
+package memory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProcessResizeTest {
+
+    @Test
+    void crescerMantemQuadrosEZeraPaginasNovas() {
+        MemoryManager manager = new MemoryManager(256, 16, 128);
+        Process process = manager.createProcess(1, 40, PageContent.seeded(3));
+        PagesTable table = process.getPagesTable();
+        int firstFrame = table.getPageFrame(0);
+        byte lastOriginal = manager.read(1, 39);
+        manager.write(1, 0, (byte) 7);
+
+        assertSame(process, manager.growProcess(1, 2));
+
+        assertEquals(5, process.getPageCount());
+        assertEquals(80, process.getSizeInBytes());
+        assertEquals(firstFrame, table.getPageFrame(0));
+        assertEquals(7, manager.read(1, 0));
+        assertEquals(lastOriginal, manager.read(1, 39));
+        for (int address = 40; address < 80; address++) {
+            assertEquals(0, manager.read(1, address));
+        }
+        assertEquals(68.75, manager.getFreeMemoryPercentage());
+        assertThrows(IllegalArgumentException.class, () -> manager.growProcess(1, 4));
+    }
+
+    @Test
+    void encolherLiberaQuadrosESlotsDoFim() {
+        try (MemoryManager manager = MemoryManager.builder(32, 16, 128)
+                .demandPaging(new FifoReplacementPolicy())
+                .build()) {
+            Process process = manager.createProcess(1, 96, PageContent.seeded(4));
+            byte first = manager.read(1, 0);
+            for (int page = 1; page < 6; page++) {
+                manager.write(1, page * 16, (byte) page);
+            }
+
+            manager.shrinkProcess(1, 3);
+
+            assertEquals(3, process.getPageCount());
+            assertThrows(IllegalArgumentException.class, () -> manager.read(1, 3 * 16));
+            assertEquals(first, manager.read(1, 0));
+            assertEquals(2, manager.read(1, 2 * 16));
+            manager.growProcess(1, 1);
+            assertEquals(0, manager.read(1, 3 * 16));
+            assertThrows(IllegalArgumentException.class, () -> manager.shrinkProcess(1, 4));
+        }
+    }
+
+    @Test
+    void filhoCresceSemAlterarPai() {
+        MemoryManager manager = new MemoryManager(256, 16, 128);
+        Process parent = manager.createProcess(1, 32, PageContent.seeded(9));
+        Process child = manager.forkProcess(1, 2);
+
+        manager.growProcess(2, 2);
+        manager.write(2, 40, (byte) 5);
+        manager.shrinkProcess(2, 3);
+
+        assertEquals(2, parent.getPageCount());
+        assertEquals(1, child.getPageCount());
+        assertEquals(2, manager.getFrameReferences(parent.getPagesTable().getPageFrame(0)));
+        assertEquals(1, manager.getFrameReferences(parent.getPagesTable().getPageFrame(1)));
+        assertEquals(manager.read(1, 0), manager.read(2, 0));
+        assertEquals(87.5, manager.getFreeMemoryPercentage());
+    }
+}
@@ -0,0 +1,96 @@
+package memory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceReplayerTest {
+    private static final String TRACE = """
+            # pid 1 percorre suas quatro páginas duas vezes
+            C 1 64
+            R 1 0
+            R 1 16
+            W 1 32 7
+            R 1 48
+            R 1 0
+            R 1 16
+            R 1 32
+            R 1 48
+            X 1
+            R 1 0
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reproduzTraceEmTextoSobVariasConfiguracoes() throws IOException {
+        Path trace = Files.writeString(directory.resolve("trace.txt"), TRACE);
+        ReplayConfiguration twoFrames = new ReplayConfiguration("fifo-2", 32, 16, 64,
+                FifoReplacementPolicy::new, 4, 2);
+        ReplayConfiguration fourFrames = new ReplayConfiguration("fifo-4", 64, 16, 64,
+                FifoReplacementPolicy::new, 4, 2);
+
+        List<ReplayReport> reports = new TraceReplayer().replayAll(trace, List.of(twoFrames, fourFrames));
+
+        assertEquals(11, reports.get(0).events());
+        assertEquals(9, reports.get(0).accesses());
+        assertEquals(1, reports.get(0).failedEvents());
+        assertEquals(8, reports.get(0).pageFaults());
+        assertEquals(4, reports.get(1).pageFaults());
+        assertEquals(0.5, reports.get(1).tlbHitRate());
+    }
+
+    @Test
+    void formatoBinarioEquivaleAoTexto() throws IOException {
+        Path text = Files.writeString(directory.resolve("trace.txt"), TRACE);
+        Path binary = directory.resolve("trace.bin");
+        try (TraceReader reader = TraceReader.open(text);
+             BinaryTraceWriter writer = new BinaryTraceWriter(binary)) {
+            while (reader.next()) {
+                writer.copy(reader);
+            }
+        }
+
+        try (TraceReader expected = TraceReader.open(text);
+             TraceReader actual = TraceReader.open(binary)) {
+            assertTrue(actual instanceof BinaryTraceReader);
+            while (expected.next()) {
+                assertTrue(actual.next());
+                assertEquals(expected.type(), actual.type());
+                assertEquals(expected.pid(), actual.pid());
+                assertEquals(expected.argument(), actual.argument());
+                assertEquals(expected.value(), actual.value());
+            }
+            assertFalse(actual.next());
+        }
+    }
+
+    @Test
+    void textoRejeitaNumerosForaDoIntervaloELixoNoFimDaLinha() throws IOException {
+        Path limits = Files.writeString(directory.resolve("limits.txt"), "R -2147483648 2147483647\r\n");
+        try (TraceReader reader = TraceReader.open(limits)) {
+            assertTrue(reader.next());
+            assertEquals(Integer.MIN_VALUE, reader.pid());
+            assertEquals(Integer.MAX_VALUE, reader.argument());
+            assertFalse(reader.next());
+        }
+
+        for (String line : List.of("R 1 2147483648", "R 1 -2147483649", "R 1 5abc", "W 1 5 7 8", "X 1 2")) {
+            Path trace = Files.writeString(directory.resolve("invalid.txt"), "C 1 64\n" + line + "\n");
+            try (TraceReader reader = TraceReader.open(trace)) {
+                assertTrue(reader.next());
+                assertThrows(IllegalArgumentException.class, reader::next, line);
+            }
+        }
+    }
+}